@@ -0,0 +1,22 @@
+#!/bin/sh
+# Mide el tiempo desde que se lanza la aplicacion hasta la primera respuesta 200 de /execute
+# Uso: time-to-first-execute.sh <comando para arrancar la aplicacion...>
+#   scripts/time-to-first-execute.sh java -jar target/gematica-1.0.jar
+#   (cd target/app && ../../scripts/time-to-first-execute.sh java -XX:SharedArchiveFile=gematica.jsa \
+#       -Dspring.aot.enabled=true -Dspring.profiles.active=prod -jar gematica.jar)
+url=${GEMATICA_URL:-http://localhost:8080/geomatica/api/v1/command/execute}
+start=$(date +%s%N)
+"$@" >/dev/null 2>&1 &
+pid=$!
+trap 'kill "$pid" 2>/dev/null' EXIT
+while kill -0 "$pid" 2>/dev/null; do
+    code=$(curl -s -o /dev/null -w '%{http_code}' -H 'Content-Type: application/json' \
+        -d '{"command":"echo","arguments":"listo"}' "$url")
+    if [ "$code" = "200" ]; then
+        echo "Primera ejecucion exitosa en $(( ($(date +%s%N) - start) / 1000000 )) ms"
+        exit 0
+    fi
+    sleep 0.01
+done
+echo "La aplicacion termino antes de responder" >&2
+exit 1
@@ -0,0 +1,60 @@
+package app.sencico.edu.pe.gematica.benchmark;
+
+import app.sencico.edu.pe.gematica.service.builtin.BuiltinCommandRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la ruta rápida de comandos integrados con la creación de un proceso
+ * {@code /bin/sh -c} equivalente (latencia y throughput).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuiltinCommandBenchmark {
+    
+    @Param({"hostname", "whoami", "pwd", "echo Hola Mundo", "uname -snrvmo", "ls"})
+    private String command;
+    
+    private BuiltinCommandRegistry registry;
+    
+    @Setup
+    public void setUp() {
+        registry = new BuiltinCommandRegistry(true,
+                List.of("hostname", "whoami", "pwd", "date", "echo", "uname", "ls"), false);
+        if (registry.tryExecute(command, null, "LINUX", null) == null) {
+            throw new IllegalStateException("Comando sin ruta rápida en este entorno: " + command);
+        }
+    }
+    
+    @Benchmark
+    public List<String> builtin() {
+        return registry.tryExecute(command, null, "LINUX", null);
+    }
+    
+    @Benchmark
+    public byte[] processBuilder() throws Exception {
+        Process process = new ProcessBuilder("/bin/sh", "-c", command).start();
+        try (InputStream in = process.getInputStream()) {
+            byte[] output = in.readAllBytes();
+            process.waitFor();
+            return output;
+        }
+    }
+}
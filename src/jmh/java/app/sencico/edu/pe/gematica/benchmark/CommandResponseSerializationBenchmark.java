@@ -0,0 +1,76 @@
+package app.sencico.edu.pe.gematica.benchmark;
+
+import app.sencico.edu.pe.gematica.dto.CommandResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de {@link CommandResponse} con salidas de 1 KB, 1 MB y 50 MB,
+ * usando un ObjectMapper equivalente al de Spring MVC (indentado, fechas ISO).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class CommandResponseSerializationBenchmark {
+    
+    @Param({"1024", "1048576", "52428800"})
+    private int outputBytes;
+    
+    private ObjectMapper objectMapper;
+    private CommandResponse response;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .indentOutput(true)
+                .build();
+        
+        // Salida tipo "ls -la": líneas de ~80 caracteres
+        String line = "-rw-r--r--  1 usuario grupo   4096 ene 15 10:30 archivo_de_ejemplo_con_nombre_largo.txt\n";
+        StringBuilder output = new StringBuilder(outputBytes + line.length());
+        while (output.length() < outputBytes) {
+            output.append(line);
+        }
+        output.setLength(outputBytes);
+        
+        response = new CommandResponse();
+        response.setStatus("SUCCESS");
+        response.setExitCode(0);
+        response.setOutput(output.toString());
+        response.setErrorOutput("");
+        response.setExecutedCommand("/bin/sh -c ls -la");
+        response.setOperatingSystem("Linux 6.1");
+        response.setExecutionTime(12L);
+        response.setExecutedAt(LocalDateTime.now());
+        response.setWorkingDirectory("/tmp");
+        response.setMessage("Comando ejecutado exitosamente");
+    }
+    
+    @Benchmark
+    public void serialize() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), response);
+    }
+    
+    @Benchmark
+    public byte[] serializeToBytes() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
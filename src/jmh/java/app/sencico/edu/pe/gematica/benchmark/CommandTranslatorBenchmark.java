@@ -0,0 +1,64 @@
+package app.sencico.edu.pe.gematica.benchmark;
+
+import app.sencico.edu.pe.gematica.service.CommandTranslator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Traducción de comandos para cada familia soportada por {@link CommandTranslator},
+ * en ambos sentidos (Unix → Windows y Windows → Unix).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandTranslatorBenchmark {
+    
+    @Param({
+        "ping|-c 4 -s 64 google.com",
+        "ls|-la -R",
+        "ps|aux",
+        "ifconfig|-a",
+        "grep|-i -n error app.log",
+        "cat|archivo.txt",
+        "rm|-rf temp",
+        "cp|-r origen destino",
+        "mv|-f origen destino",
+        "clear|-x",
+        "hostname|-f"
+    })
+    private String commandLine;
+    
+    @Param({"WINDOWS", "LINUX"})
+    private String targetOS;
+    
+    private CommandTranslator translator;
+    private String command;
+    private String arguments;
+    
+    @Setup
+    public void setUp() {
+        translator = new CommandTranslator();
+        String[] parts = commandLine.split("\\|", 2);
+        command = parts[0];
+        arguments = parts[1];
+    }
+    
+    @Benchmark
+    public CommandTranslator.CommandTranslation translate() {
+        return translator.translateCommand(command, arguments, targetOS);
+    }
+}
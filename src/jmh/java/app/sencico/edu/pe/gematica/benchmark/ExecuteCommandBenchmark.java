@@ -0,0 +1,71 @@
+package app.sencico.edu.pe.gematica.benchmark;
+
+import app.sencico.edu.pe.gematica.dto.CommandRequest;
+import app.sencico.edu.pe.gematica.dto.CommandResponse;
+import app.sencico.edu.pe.gematica.service.CommandExecutorBenchmarks;
+import app.sencico.edu.pe.gematica.service.CommandExecutorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ejecución completa de {@link CommandExecutorService#executeCommand(CommandRequest)} contra
+ * binarios locales triviales: traducción, creación del proceso, captura y espera.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class ExecuteCommandBenchmark {
+    
+    @Param({"true|", "echo|Hola Mundo", "seq|1 10000", "ls|-la /usr/bin"})
+    private String commandLine;
+    
+    private ExecutorService executor;
+    private CommandExecutorService service;
+    private CommandRequest request;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        service = CommandExecutorBenchmarks.newService(executor);
+        
+        String[] parts = commandLine.split("\\|", 2);
+        request = new CommandRequest();
+        request.setCommand(parts[0]);
+        request.setArguments(parts[1].isEmpty() ? null : parts[1]);
+        request.setOperatingSystem("AUTO");
+        request.setTimeout(30);
+        
+        CommandResponse response = service.executeCommand(request);
+        if (!"SUCCESS".equals(response.getStatus())) {
+            throw new IllegalStateException("El comando no está disponible en este entorno: " + commandLine);
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Benchmark
+    public CommandResponse executeCommand() {
+        return service.executeCommand(request);
+    }
+}
@@ -0,0 +1,51 @@
+package app.sencico.edu.pe.gematica.service;
+
+import app.sencico.edu.pe.gematica.config.EnvironmentProperties;
+import app.sencico.edu.pe.gematica.config.LaneProperties;
+import app.sencico.edu.pe.gematica.config.OutputSpillProperties;
+import app.sencico.edu.pe.gematica.config.WorkingDirectoryProperties;
+import app.sencico.edu.pe.gematica.service.builtin.BuiltinCommandRegistry;
+import app.sencico.edu.pe.gematica.service.catalog.CommandCatalog;
+import app.sencico.edu.pe.gematica.service.output.OutputStore;
+import app.sencico.edu.pe.gematica.service.parser.OutputParserFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Construye un {@link CommandExecutorService} fuera del contexto de Spring para los benchmarks,
+ * con los mismos valores por defecto que application.yml y sin comandos integrados.
+ */
+public final class CommandExecutorBenchmarks {
+    
+    private CommandExecutorBenchmarks() {
+    }
+    
+    public static CommandExecutorService newService(ExecutorService executor) {
+        CommandExecutorService service = new CommandExecutorService(
+                new CommandTranslator(),
+                new OutputParserFactory(),
+                new BuiltinCommandRegistry(false, List.of(), false),
+                new WorkingDirectoryRegistry(new WorkingDirectoryProperties()),
+                new EnvironmentTemplateRegistry(new EnvironmentProperties()),
+                new ExecutionTracker(new SimpleMeterRegistry()),
+                new ExecutionScheduler(new LaneProperties(), new SimpleMeterRegistry()),
+                new CommandCatalog(new CommandTranslator(), false, true),
+                new OutputStore(memoryOnlyOutputs()),
+                executor);
+        ReflectionTestUtils.setField(service, "maxTimeout", 300);
+        ReflectionTestUtils.setField(service, "pollIntervalMillis", 100L);
+        ReflectionTestUtils.setField(service, "heartbeatIntervalMillis", 15000L);
+        ReflectionTestUtils.setField(service, "drainTimeoutMillis", 2000L);
+        return service;
+    }
+    
+    // La captura queda en memoria como en la medición original
+    private static OutputSpillProperties memoryOnlyOutputs() {
+        OutputSpillProperties properties = new OutputSpillProperties();
+        properties.setEnabled(false);
+        return properties;
+    }
+}
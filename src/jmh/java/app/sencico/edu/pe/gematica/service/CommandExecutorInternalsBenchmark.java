@@ -0,0 +1,90 @@
+package app.sencico.edu.pe.gematica.service;
+
+import app.sencico.edu.pe.gematica.service.parser.OutputParserFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métodos internos de {@link CommandExecutorService} sin crear procesos: construcción de la
+ * línea de comandos y captura de salida sobre streams sintéticos. Está en el paquete
+ * {@code service} porque {@code buildCommand} y {@code readStream} son package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandExecutorInternalsBenchmark {
+    
+    @Param({"100", "10000", "100000"})
+    private int lines;
+    
+    @Param({"16", "120", "4096"})
+    private int lineLength;
+    
+    private ExecutorService executor;
+    private CommandExecutorService service;
+    private byte[] stream;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        service = CommandExecutorBenchmarks.newService(executor);
+        
+        StringBuilder line = new StringBuilder(lineLength + 1);
+        for (int i = 0; i < lineLength; i++) {
+            line.append((char) ('a' + i % 26));
+        }
+        line.append('\n');
+        stream = line.toString().repeat(lines).getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Benchmark
+    public List<String> buildCommandLinux() {
+        return service.buildCommand("ls", "-la /tmp", "LINUX");
+    }
+    
+    @Benchmark
+    public List<String> buildCommandWindows() {
+        return service.buildCommand("dir", "/a C:\\temp", "WINDOWS");
+    }
+    
+    @Benchmark
+    public String readStream() throws Exception {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(stream)));
+        return service.readStream(reader, new ExecutionContext(null), true, null);
+    }
+    
+    @Benchmark
+    public String readStreamStructured() throws Exception {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(stream)));
+        return service.readStream(reader, new ExecutionContext(null), true,
+                new OutputParserFactory().createParser("ls"));
+    }
+}
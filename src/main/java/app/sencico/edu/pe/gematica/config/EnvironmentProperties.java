@@ -0,0 +1,112 @@
+package app.sencico.edu.pe.gematica.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plantillas de variables de entorno para los procesos ({@code app.command.environment})
+ */
+@ConfigurationProperties(prefix = "app.command.environment")
+public class EnvironmentProperties {
+    
+    /**
+     * Plantilla aplicada cuando la petición no indica una. Vacío = entorno completo de la JVM.
+     */
+    private String defaultTemplate;
+    
+    /**
+     * Plantillas disponibles por nombre
+     */
+    private Map<String, Template> templates = new LinkedHashMap<>();
+    
+    /**
+     * Variables que una petición puede definir o reemplazar. Admite prefijos con "*" (ej. "APP_*").
+     */
+    private List<String> allowedOverrides = new ArrayList<>();
+    
+    /**
+     * Variables que nunca se pueden reemplazar desde una petición, aunque coincidan con allowed-overrides
+     */
+    private List<String> deniedOverrides = new ArrayList<>(List.of("LD_PRELOAD", "LD_LIBRARY_PATH", "DYLD_*"));
+    
+    public String getDefaultTemplate() {
+        return defaultTemplate;
+    }
+    
+    public void setDefaultTemplate(String defaultTemplate) {
+        this.defaultTemplate = defaultTemplate;
+    }
+    
+    public Map<String, Template> getTemplates() {
+        return templates;
+    }
+    
+    public void setTemplates(Map<String, Template> templates) {
+        this.templates = templates;
+    }
+    
+    public List<String> getAllowedOverrides() {
+        return allowedOverrides;
+    }
+    
+    public void setAllowedOverrides(List<String> allowedOverrides) {
+        this.allowedOverrides = allowedOverrides;
+    }
+    
+    public List<String> getDeniedOverrides() {
+        return deniedOverrides;
+    }
+    
+    public void setDeniedOverrides(List<String> deniedOverrides) {
+        this.deniedOverrides = deniedOverrides;
+    }
+    
+    /**
+     * Definición de una plantilla de entorno
+     */
+    public static class Template {
+        
+        /**
+         * Parte del entorno de la JVM (true) o de un entorno vacío (false)
+         */
+        private boolean inherit = true;
+        
+        /**
+         * Variables que se agregan o reemplazan (PATH, LANG, variables propias)
+         */
+        private Map<String, String> variables = new LinkedHashMap<>();
+        
+        /**
+         * Variables heredadas que se eliminan
+         */
+        private List<String> remove = new ArrayList<>();
+        
+        public boolean isInherit() {
+            return inherit;
+        }
+        
+        public void setInherit(boolean inherit) {
+            this.inherit = inherit;
+        }
+        
+        public Map<String, String> getVariables() {
+            return variables;
+        }
+        
+        public void setVariables(Map<String, String> variables) {
+            this.variables = variables;
+        }
+        
+        public List<String> getRemove() {
+            return remove;
+        }
+        
+        public void setRemove(List<String> remove) {
+            this.remove = remove;
+        }
+    }
+}
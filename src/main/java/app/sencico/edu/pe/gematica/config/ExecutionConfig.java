@@ -0,0 +1,31 @@
+package app.sencico.edu.pe.gematica.config;
+
+import app.sencico.edu.pe.gematica.controller.CommandController;
+import app.sencico.edu.pe.gematica.service.CommandExecutorService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutionConfig {
+    
+    /**
+     * Hilos virtuales para leer stdout/stderr de los procesos y atender los endpoints de streaming
+     */
+    @Bean(name = "executionExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService executionExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+    
+    /**
+     * Con spring.main.lazy-initialization (perfil prod) la ruta de /execute se sigue creando
+     * al arrancar, para que la primera ejecución no pague la inicialización
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerExecutionPath() {
+        return LazyInitializationExcludeFilter.forBeanTypes(CommandController.class, CommandExecutorService.class);
+    }
+}
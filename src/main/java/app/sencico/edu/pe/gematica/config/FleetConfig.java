@@ -0,0 +1,28 @@
+package app.sencico.edu.pe.gematica.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.ExecutorService;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.fleet", name = "enabled", havingValue = "true")
+public class FleetConfig {
+    
+    /**
+     * Cliente HTTP compartido con los nodos. Con HTTP/1.1 el cliente del JDK mantiene un pool
+     * de conexiones keep-alive por nodo, así que los heartbeats y las ejecuciones reutilizan sockets.
+     */
+    @Bean
+    public HttpClient fleetHttpClient(FleetProperties properties,
+                                      @Qualifier("executionExecutor") ExecutorService executionExecutor) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .executor(executionExecutor)
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package app.sencico.edu.pe.gematica.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Modo coordinador: nodos ejecutores remotos y su monitoreo ({@code app.fleet})
+ */
+@ConfigurationProperties(prefix = "app.fleet")
+public class FleetProperties {
+    
+    /**
+     * Activa el modo coordinador (endpoints /api/v1/fleet)
+     */
+    private boolean enabled;
+    
+    /**
+     * Nodos iniciales: nombre -> URL base del nodo (ej. "http://host:8080/geomatica")
+     */
+    private Map<String, String> nodes = new LinkedHashMap<>();
+    
+    /**
+     * Hosts a los que se permite registrar nodos con PUT /nodes/{name}. Vacío: solo los nodos
+     * de {@link #nodes}, para que la API no pueda apuntar el coordinador a cualquier URL.
+     */
+    private List<String> allowedHosts = new ArrayList<>();
+    
+    /**
+     * Clave enviada en X-API-Key a los nodos. Cada nodo la declara en app.rate-limit.api-keys
+     * (y en exempt-clients) para que el tráfico del coordinador no agote el límite de un solo
+     * cliente; el coordinador ya aplica el límite fleet-execute a cada cliente real.
+     */
+    private String apiKey;
+    
+    /**
+     * Intervalo entre heartbeats a cada nodo
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(10);
+    
+    /**
+     * Tiempo máximo de respuesta de un heartbeat
+     */
+    private Duration heartbeatTimeout = Duration.ofSeconds(2);
+    
+    /**
+     * Fallos consecutivos tras los cuales un nodo pasa a DOWN
+     */
+    private int unhealthyThreshold = 3;
+    
+    /**
+     * Margen sobre el timeout del comando para esperar la respuesta de un nodo
+     */
+    private Duration nodeTimeoutMargin = Duration.ofSeconds(5);
+    
+    /**
+     * Tiempo máximo para abrir una conexión con un nodo
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public Map<String, String> getNodes() {
+        return nodes;
+    }
+    
+    public void setNodes(Map<String, String> nodes) {
+        this.nodes = nodes;
+    }
+    
+    public List<String> getAllowedHosts() {
+        return allowedHosts;
+    }
+    
+    public void setAllowedHosts(List<String> allowedHosts) {
+        this.allowedHosts = allowedHosts;
+    }
+    
+    public String getApiKey() {
+        return apiKey;
+    }
+    
+    public void setApiKey(String apiKey) {
+        this.apiKey = apiKey;
+    }
+    
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+    
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+    
+    public Duration getHeartbeatTimeout() {
+        return heartbeatTimeout;
+    }
+    
+    public void setHeartbeatTimeout(Duration heartbeatTimeout) {
+        this.heartbeatTimeout = heartbeatTimeout;
+    }
+    
+    public int getUnhealthyThreshold() {
+        return unhealthyThreshold;
+    }
+    
+    public void setUnhealthyThreshold(int unhealthyThreshold) {
+        this.unhealthyThreshold = unhealthyThreshold;
+    }
+    
+    public Duration getNodeTimeoutMargin() {
+        return nodeTimeoutMargin;
+    }
+    
+    public void setNodeTimeoutMargin(Duration nodeTimeoutMargin) {
+        this.nodeTimeoutMargin = nodeTimeoutMargin;
+    }
+    
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+    
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+}
@@ -0,0 +1,77 @@
+package app.sencico.edu.pe.gematica.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Claves de idempotencia de las ejecuciones ({@code app.idempotency})
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * Tiempo que se conserva la respuesta de una ejecución terminada para los reintentos
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+    
+    /**
+     * Claves guardadas como máximo; al llenarse se descartan primero las más antiguas ya terminadas
+     */
+    private int maxEntries = 10_000;
+    
+    /**
+     * Memoria estimada que pueden ocupar las respuestas guardadas; al superarse se descartan
+     * primero las más antiguas. Una respuesta más grande que este límite no se guarda.
+     */
+    private DataSize maxRetainedSize = DataSize.ofMegabytes(256);
+    
+    /**
+     * Longitud máxima de la cabecera Idempotency-Key
+     */
+    private int maxKeyLength = 255;
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public Duration getTtl() {
+        return ttl;
+    }
+    
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+    
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+    
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+    
+    public DataSize getMaxRetainedSize() {
+        return maxRetainedSize;
+    }
+    
+    public void setMaxRetainedSize(DataSize maxRetainedSize) {
+        this.maxRetainedSize = maxRetainedSize;
+    }
+    
+    public int getMaxKeyLength() {
+        return maxKeyLength;
+    }
+    
+    public void setMaxKeyLength(int maxKeyLength) {
+        this.maxKeyLength = maxKeyLength;
+    }
+}
@@ -0,0 +1,121 @@
+package app.sencico.edu.pe.gematica.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Carriles de prioridad para la ejecución de procesos ({@code app.command.lanes})
+ */
+@ConfigurationProperties(prefix = "app.command.lanes")
+public class LaneProperties {
+    
+    /**
+     * Procesos ejecutándose a la vez entre todos los carriles. 0 = dos por núcleo.
+     */
+    private int maxConcurrent;
+    
+    /**
+     * Retry-After de la respuesta 503 cuando no hubo cupo antes del tiempo de espera
+     */
+    private Duration retryAfter = Duration.ofSeconds(5);
+    
+    private Lane interactive = new Lane(8, null, null, null);
+    
+    private Lane normal = new Lane(4, null, null, null);
+    
+    private Lane background = new Lane(1, 10, 3, null);
+    
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+    
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+    
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+    
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+    
+    public Lane getInteractive() {
+        return interactive;
+    }
+    
+    public void setInteractive(Lane interactive) {
+        this.interactive = interactive;
+    }
+    
+    public Lane getNormal() {
+        return normal;
+    }
+    
+    public void setNormal(Lane normal) {
+        this.normal = normal;
+    }
+    
+    public Lane getBackground() {
+        return background;
+    }
+    
+    public void setBackground(Lane background) {
+        this.background = background;
+    }
+    
+    /**
+     * Peso en el reparto de cupos libres y prioridad del proceso en Linux (nice / ionice)
+     */
+    public static class Lane {
+        
+        private int weight;
+        private Integer nice;
+        private Integer ioniceClass;
+        private Integer ioniceLevel;
+        
+        public Lane() {
+        }
+        
+        public Lane(int weight, Integer nice, Integer ioniceClass, Integer ioniceLevel) {
+            this.weight = weight;
+            this.nice = nice;
+            this.ioniceClass = ioniceClass;
+            this.ioniceLevel = ioniceLevel;
+        }
+        
+        public int getWeight() {
+            return weight;
+        }
+        
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+        
+        public Integer getNice() {
+            return nice;
+        }
+        
+        public void setNice(Integer nice) {
+            this.nice = nice;
+        }
+        
+        public Integer getIoniceClass() {
+            return ioniceClass;
+        }
+        
+        public void setIoniceClass(Integer ioniceClass) {
+            this.ioniceClass = ioniceClass;
+        }
+        
+        public Integer getIoniceLevel() {
+            return ioniceLevel;
+        }
+        
+        public void setIoniceLevel(Integer ioniceLevel) {
+            this.ioniceLevel = ioniceLevel;
+        }
+    }
+}
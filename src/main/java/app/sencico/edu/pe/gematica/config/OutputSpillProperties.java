@@ -0,0 +1,115 @@
+package app.sencico.edu.pe.gematica.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Salidas grandes guardadas en disco en lugar del heap ({@code app.outputs})
+ */
+@ConfigurationProperties(prefix = "app.outputs")
+public class OutputSpillProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * Tamaño de stdout a partir del cual la salida se escribe a disco y se devuelve un handle
+     */
+    private DataSize spillThreshold = DataSize.ofMegabytes(8);
+    
+    /**
+     * Directorio de los archivos de salida. Vacío = {@code java.io.tmpdir/gematica-outputs}.
+     * Se vacía al arrancar.
+     */
+    private String directory;
+    
+    /**
+     * Tiempo que se conserva una salida en disco
+     */
+    private Duration ttl = Duration.ofHours(1);
+    
+    /**
+     * Espacio total para salidas; al llenarse la salida se trunca y se marca como truncada
+     */
+    private DataSize quota = DataSize.ofGigabytes(10);
+    
+    /**
+     * Tamaño máximo de una página en GET /api/v1/outputs/{id}
+     */
+    private DataSize maxPageSize = DataSize.ofMegabytes(16);
+    
+    /**
+     * Máximo de líneas en filter.tail: la ventana de tail se retiene en memoria
+     */
+    private int maxTailLines = 10_000;
+    
+    /**
+     * Tiempo máximo que una expresión de filter.include/exclude puede evaluar una línea
+     */
+    private Duration filterMatchTimeout = Duration.ofSeconds(1);
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public DataSize getSpillThreshold() {
+        return spillThreshold;
+    }
+    
+    public void setSpillThreshold(DataSize spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+    
+    public String getDirectory() {
+        return directory;
+    }
+    
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+    
+    public Duration getTtl() {
+        return ttl;
+    }
+    
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+    
+    public DataSize getQuota() {
+        return quota;
+    }
+    
+    public void setQuota(DataSize quota) {
+        this.quota = quota;
+    }
+    
+    public DataSize getMaxPageSize() {
+        return maxPageSize;
+    }
+    
+    public void setMaxPageSize(DataSize maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+    
+    public int getMaxTailLines() {
+        return maxTailLines;
+    }
+    
+    public void setMaxTailLines(int maxTailLines) {
+        this.maxTailLines = maxTailLines;
+    }
+    
+    public Duration getFilterMatchTimeout() {
+        return filterMatchTimeout;
+    }
+    
+    public void setFilterMatchTimeout(Duration filterMatchTimeout) {
+        this.filterMatchTimeout = filterMatchTimeout;
+    }
+}
@@ -0,0 +1,198 @@
+package app.sencico.edu.pe.gematica.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Límites de peticiones por cliente ({@code app.rate-limit})
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * Cabeceras que pueden traer una clave de {@link #apiKeys}, en orden de prioridad
+     */
+    private List<String> clientHeaders = new ArrayList<>(List.of("X-API-Key"));
+    
+    /**
+     * Claves conocidas por nombre de cliente. Solo un valor de cabecera que coincide con una de
+     * ellas identifica al cliente; cualquier otro valor se ignora y se usa la IP, para que cambiar
+     * la cabecera en cada petición no dé un bucket nuevo.
+     */
+    private Map<String, String> apiKeys = new LinkedHashMap<>();
+    
+    /**
+     * Clientes de {@link #apiKeys} sin límite (ej. el coordinador de la flota, que ya limita
+     * a sus propios clientes)
+     */
+    private List<String> exemptClients = new ArrayList<>();
+    
+    /**
+     * Usa el primer salto de X-Forwarded-For como IP del cliente (solo detrás de un proxy confiable)
+     */
+    private boolean trustForwardedFor;
+    
+    /**
+     * Tiempo sin peticiones tras el cual se descarta el estado de un cliente
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    
+    /**
+     * Límite de los endpoints que no tienen uno propio
+     */
+    @Valid
+    private Limit defaultLimit = new Limit(20, Duration.ofSeconds(1));
+    
+    /**
+     * Límites por endpoint: execute, execute-simple, execute-stream, fleet-execute, script-execute
+     */
+    private Map<String, @Valid Limit> endpoints = new LinkedHashMap<>();
+    
+    /**
+     * Límites adicionales por clase de comando (se aplican junto al del endpoint)
+     */
+    private Map<String, @Valid CommandClass> commandClasses = new LinkedHashMap<>();
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public List<String> getClientHeaders() {
+        return clientHeaders;
+    }
+    
+    public void setClientHeaders(List<String> clientHeaders) {
+        this.clientHeaders = clientHeaders;
+    }
+    
+    public Map<String, String> getApiKeys() {
+        return apiKeys;
+    }
+    
+    public void setApiKeys(Map<String, String> apiKeys) {
+        this.apiKeys = apiKeys;
+    }
+    
+    public List<String> getExemptClients() {
+        return exemptClients;
+    }
+    
+    public void setExemptClients(List<String> exemptClients) {
+        this.exemptClients = exemptClients;
+    }
+    
+    public boolean isTrustForwardedFor() {
+        return trustForwardedFor;
+    }
+    
+    public void setTrustForwardedFor(boolean trustForwardedFor) {
+        this.trustForwardedFor = trustForwardedFor;
+    }
+    
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+    
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+    
+    public Limit getDefaultLimit() {
+        return defaultLimit;
+    }
+    
+    public void setDefaultLimit(Limit defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+    
+    public Map<String, Limit> getEndpoints() {
+        return endpoints;
+    }
+    
+    public void setEndpoints(Map<String, Limit> endpoints) {
+        this.endpoints = endpoints;
+    }
+    
+    public Map<String, CommandClass> getCommandClasses() {
+        return commandClasses;
+    }
+    
+    public void setCommandClasses(Map<String, CommandClass> commandClasses) {
+        this.commandClasses = commandClasses;
+    }
+    
+    /**
+     * {@code limit} peticiones por {@code period}, con ráfagas de hasta {@code burst} (por defecto = limit)
+     */
+    public static class Limit {
+        
+        @Min(value = 1, message = "El límite debe ser mayor a 0")
+        private int limit;
+        private Duration period = Duration.ofSeconds(1);
+        @Min(value = 1, message = "La ráfaga debe ser mayor a 0")
+        private Integer burst;
+        
+        public Limit() {
+        }
+        
+        public Limit(int limit, Duration period) {
+            this.limit = limit;
+            this.period = period;
+        }
+        
+        public int getLimit() {
+            return limit;
+        }
+        
+        public void setLimit(int limit) {
+            this.limit = limit;
+        }
+        
+        public Duration getPeriod() {
+            return period;
+        }
+        
+        public void setPeriod(Duration period) {
+            this.period = period;
+        }
+        
+        public Integer getBurst() {
+            return burst;
+        }
+        
+        public void setBurst(Integer burst) {
+            this.burst = burst;
+        }
+    }
+    
+    /**
+     * Grupo de comandos con un límite propio (ej. comandos de red)
+     */
+    public static class CommandClass extends Limit {
+        
+        private List<String> commands = new ArrayList<>();
+        
+        public List<String> getCommands() {
+            return commands;
+        }
+        
+        public void setCommands(List<String> commands) {
+            this.commands = commands;
+        }
+    }
+}
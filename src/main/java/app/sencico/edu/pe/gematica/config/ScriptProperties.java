@@ -0,0 +1,102 @@
+package app.sencico.edu.pe.gematica.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registro de scripts direccionados por contenido ({@code app.scripts})
+ */
+@ConfigurationProperties(prefix = "app.scripts")
+public class ScriptProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * Directorio donde se guardan los scripts y sus metadatos
+     */
+    private String directory = "data/scripts";
+    
+    /**
+     * Tamaño máximo de un script
+     */
+    private DataSize maxSize = DataSize.ofKilobytes(64);
+    
+    /**
+     * Cantidad máxima de scripts registrados
+     */
+    private int maxScripts = 1000;
+    
+    /**
+     * Intérpretes permitidos: sh, bash, cmd, powershell
+     */
+    private List<String> interpreters = new ArrayList<>(List.of("sh", "bash", "cmd", "powershell"));
+    
+    /**
+     * Expresiones regulares que rechazan un script al registrarlo
+     */
+    private List<String> deniedPatterns = new ArrayList<>();
+    
+    /**
+     * Longitud máxima del valor de un parámetro
+     */
+    private int maxParameterLength = 4096;
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public String getDirectory() {
+        return directory;
+    }
+    
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+    
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+    
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+    
+    public int getMaxScripts() {
+        return maxScripts;
+    }
+    
+    public void setMaxScripts(int maxScripts) {
+        this.maxScripts = maxScripts;
+    }
+    
+    public List<String> getInterpreters() {
+        return interpreters;
+    }
+    
+    public void setInterpreters(List<String> interpreters) {
+        this.interpreters = interpreters;
+    }
+    
+    public List<String> getDeniedPatterns() {
+        return deniedPatterns;
+    }
+    
+    public void setDeniedPatterns(List<String> deniedPatterns) {
+        this.deniedPatterns = deniedPatterns;
+    }
+    
+    public int getMaxParameterLength() {
+        return maxParameterLength;
+    }
+    
+    public void setMaxParameterLength(int maxParameterLength) {
+        this.maxParameterLength = maxParameterLength;
+    }
+}
@@ -0,0 +1,209 @@
+package app.sencico.edu.pe.gematica.config;
+
+import app.sencico.edu.pe.gematica.service.ExecutionContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cierra la fase {@code serialize} de las ejecuciones síncronas y, si se pide, añade la cabecera
+ * {@code Server-Timing} con el desglose por fases. La cabecera es opcional en dos niveles: se
+ * activa con {@code app.profiling.server-timing.enabled} y solo se calcula cuando el cliente la
+ * pide con {@code X-Server-Timing: true}.
+ *
+ * <p>El cuerpo no se retiene: la cabecera se escribe justo antes del primer byte del cuerpo,
+ * así que su {@code serialize} mide la serialización JSON hasta que se vacía el primer bloque
+ * del generador (toda la respuesta salvo en salidas grandes, donde es una cota inferior y se
+ * marca como parcial). El evento JFR de la fase se emite al terminar la cadena y cubre la
+ * serialización completa.
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+    
+    public static final String REQUEST_HEADER = "X-Server-Timing";
+    
+    private final boolean headerEnabled;
+    
+    // Constructor para inyección de dependencias
+    public ServerTimingFilter(@Value("${app.profiling.server-timing.enabled:false}") boolean headerEnabled) {
+        this.headerEnabled = headerEnabled;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Solo las ejecuciones síncronas: en SSE la respuesta ya se envió cuando terminan las fases
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !(path.equals("/api/v1/command/execute") || path.equals("/api/v1/command/execute/simple"));
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TimingResponseWrapper wrapper = headerEnabled && "true".equalsIgnoreCase(request.getHeader(REQUEST_HEADER))
+                ? new TimingResponseWrapper(request, response, System.nanoTime())
+                : null;
+        try {
+            chain.doFilter(request, wrapper != null ? wrapper : response);
+        } finally {
+            if (wrapper != null) {
+                // Respuestas sin cuerpo
+                wrapper.beforeBody();
+            }
+            if (request.getAttribute(ExecutionContext.REQUEST_ATTRIBUTE) instanceof ExecutionContext context) {
+                context.endSerializePhase();
+            }
+        }
+    }
+    
+    static String serverTiming(ExecutionContext context, long start, long end) {
+        StringBuilder header = new StringBuilder();
+        for (Map.Entry<String, Long> phase : context.getPhaseTimings().entrySet()) {
+            append(header, phase.getKey(), phase.getValue(), null);
+        }
+        if (context.getFinishedNanos() != 0) {
+            append(header, "serialize", end - context.getFinishedNanos(), "hasta el primer bloque");
+        }
+        append(header, "total", end - start, null);
+        return header.toString();
+    }
+    
+    /**
+     * Escribe Server-Timing al empezar el cuerpo, mientras las cabeceras todavía se pueden modificar
+     */
+    static class TimingResponseWrapper extends HttpServletResponseWrapper {
+        
+        private final HttpServletRequest request;
+        private final long start;
+        private boolean timed;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+        
+        TimingResponseWrapper(HttpServletRequest request, HttpServletResponse response, long start) {
+            super(response);
+            this.request = request;
+            this.start = start;
+        }
+        
+        void beforeBody() {
+            if (timed) {
+                return;
+            }
+            timed = true;
+            long end = System.nanoTime();
+            if (!isCommitted() && request.getAttribute(ExecutionContext.REQUEST_ATTRIBUTE) instanceof ExecutionContext context) {
+                setHeader("Server-Timing", serverTiming(context, start, end));
+            }
+        }
+        
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        beforeBody();
+                        delegate.write(b);
+                    }
+                    
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        beforeBody();
+                        delegate.write(b, off, len);
+                    }
+                    
+                    @Override
+                    public void flush() throws IOException {
+                        beforeBody();
+                        delegate.flush();
+                    }
+                    
+                    @Override
+                    public void close() throws IOException {
+                        beforeBody();
+                        delegate.close();
+                    }
+                    
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+                    
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        delegate.setWriteListener(writeListener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+        
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(super.getWriter()) {
+                    @Override
+                    public void write(int c) {
+                        beforeBody();
+                        super.write(c);
+                    }
+                    
+                    @Override
+                    public void write(char[] buf, int off, int len) {
+                        beforeBody();
+                        super.write(buf, off, len);
+                    }
+                    
+                    @Override
+                    public void write(String s, int off, int len) {
+                        beforeBody();
+                        super.write(s, off, len);
+                    }
+                    
+                    @Override
+                    public void flush() {
+                        beforeBody();
+                        super.flush();
+                    }
+                    
+                    @Override
+                    public void close() {
+                        beforeBody();
+                        super.close();
+                    }
+                };
+            }
+            return writer;
+        }
+        
+        @Override
+        public void flushBuffer() throws IOException {
+            beforeBody();
+            super.flushBuffer();
+        }
+    }
+    
+    private static void append(StringBuilder header, String name, long nanos, String description) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=")
+                .append(String.format(Locale.ROOT, "%.3f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+        if (description != null) {
+            header.append(";desc=\"").append(description).append('"');
+        }
+    }
+}
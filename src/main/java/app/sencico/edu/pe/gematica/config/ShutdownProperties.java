@@ -0,0 +1,38 @@
+package app.sencico.edu.pe.gematica.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Drenado de ejecuciones al apagar la aplicación ({@code app.shutdown})
+ */
+@ConfigurationProperties(prefix = "app.shutdown")
+public class ShutdownProperties {
+    
+    /**
+     * Tiempo que se espera a que terminen las ejecuciones en curso antes de interrumpirlas
+     */
+    private Duration gracePeriod = Duration.ofSeconds(30);
+    
+    /**
+     * Tiempo que se da a las ejecuciones interrumpidas para responder con estado INTERRUPTED
+     */
+    private Duration interruptTimeout = Duration.ofSeconds(5);
+    
+    public Duration getGracePeriod() {
+        return gracePeriod;
+    }
+    
+    public void setGracePeriod(Duration gracePeriod) {
+        this.gracePeriod = gracePeriod;
+    }
+    
+    public Duration getInterruptTimeout() {
+        return interruptTimeout;
+    }
+    
+    public void setInterruptTimeout(Duration interruptTimeout) {
+        this.interruptTimeout = interruptTimeout;
+    }
+}
@@ -0,0 +1,67 @@
+package app.sencico.edu.pe.gematica.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuración del registro de directorios de trabajo ({@code app.workdir})
+ */
+@ConfigurationProperties(prefix = "app.workdir")
+public class WorkingDirectoryProperties {
+    
+    /**
+     * Alias de directorios de trabajo. Se usan en las peticiones como "@alias".
+     */
+    private Map<String, String> aliases = new LinkedHashMap<>();
+    
+    /**
+     * Tiempo máximo que se confía en una validación en caché sin volver a consultar el disco
+     */
+    private Duration cacheTtl = Duration.ofSeconds(60);
+    
+    /**
+     * Validaciones guardadas como máximo (y directorios padre vigilados); al llenarse se
+     * descarta la más antigua
+     */
+    private int maxEntries = 1000;
+    
+    /**
+     * Invalida la caché con eventos de WatchService cuando un directorio se elimina o renombra
+     */
+    private boolean watch = true;
+    
+    public Map<String, String> getAliases() {
+        return aliases;
+    }
+    
+    public void setAliases(Map<String, String> aliases) {
+        this.aliases = aliases;
+    }
+    
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+    
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+    
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+    
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+    
+    public boolean isWatch() {
+        return watch;
+    }
+    
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+}
@@ -1,24 +1,40 @@
 package app.sencico.edu.pe.gematica.controller;
 
+import app.sencico.edu.pe.gematica.dto.CatalogCommand;
 import app.sencico.edu.pe.gematica.dto.CommandRequest;
 import app.sencico.edu.pe.gematica.dto.CommandResponse;
 import app.sencico.edu.pe.gematica.service.CommandExecutorService;
+import app.sencico.edu.pe.gematica.service.ExecutionContext;
+import app.sencico.edu.pe.gematica.service.OutputListener;
+import app.sencico.edu.pe.gematica.service.catalog.CommandCatalog;
+import app.sencico.edu.pe.gematica.service.idempotency.IdempotencyStore;
+import app.sencico.edu.pe.gematica.service.ratelimit.RateLimiter;
 import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+import app.sencico.edu.pe.gematica.exception.ServiceUnavailableException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
 
 @RestController
 @RequestMapping("/api/v1/command")
@@ -28,29 +44,52 @@ public class CommandController {
     
     private static final Logger log = LoggerFactory.getLogger(CommandController.class);
     private final CommandExecutorService commandExecutorService;
+    private final ExecutorService executionExecutor;
+    private final RateLimiter rateLimiter;
+    private final IdempotencyStore idempotencyStore;
+    private final CommandCatalog commandCatalog;
     
     // Constructor para inyección de dependencias
-    public CommandController(CommandExecutorService commandExecutorService) {
+    public CommandController(CommandExecutorService commandExecutorService,
+                             @Qualifier("executionExecutor") ExecutorService executionExecutor,
+                             RateLimiter rateLimiter,
+                             IdempotencyStore idempotencyStore,
+                             CommandCatalog commandCatalog) {
         this.commandExecutorService = commandExecutorService;
+        this.executionExecutor = executionExecutor;
+        this.rateLimiter = rateLimiter;
+        this.idempotencyStore = idempotencyStore;
+        this.commandCatalog = commandCatalog;
     }
     
     @PostMapping("/execute")
     @Operation(
         summary = "Ejecutar comando del sistema",
-        description = "Ejecuta un comando del sistema operativo y devuelve el resultado"
+        description = "Ejecuta un comando del sistema operativo y devuelve el resultado. "
+                + "Si el cliente se desconecta el proceso sigue hasta terminar o vencer timeout/deadline"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Comando ejecutado exitosamente"),
         @ApiResponse(responseCode = "400", description = "Solicitud inválida"),
+        @ApiResponse(responseCode = "429", description = "Límite de peticiones excedido"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     public ResponseEntity<CommandResponse> executeCommand(
-            @Valid @RequestBody CommandRequest request) {
+            @Valid @RequestBody CommandRequest request,
+            @Parameter(description = "Fecha límite de la petición (epoch en milisegundos o ISO-8601)")
+            @RequestHeader(value = ExecutionContext.DEADLINE_HEADER, required = false) String deadline,
+            @Parameter(description = "Clave para que los reintentos no vuelvan a ejecutar el comando")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
         
         log.info("Recibida solicitud para ejecutar comando: {}", request.getCommand());
+        rateLimiter.check(httpRequest, httpResponse, "execute", request.getCommand());
         
         try {
-            CommandResponse response = commandExecutorService.executeCommand(request);
+            ExecutionContext context = new ExecutionContext(ExecutionContext.parseDeadline(deadline));
+            httpRequest.setAttribute(ExecutionContext.REQUEST_ATTRIBUTE, context);
+            CommandResponse response = idempotencyStore.execute(idempotencyKey, httpRequest, httpResponse, request,
+                    () -> commandExecutorService.executeCommand(request, context));
             return ResponseEntity.ok(response);
         } catch (CommandExecutionException e) {
             log.error("Error al ejecutar comando: {}", e.getMessage());
@@ -62,6 +101,9 @@ public class CommandController {
             errorResponse.setExecutedCommand(request.getCommand());
                     
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        } catch (ServiceUnavailableException e) {
+            // Apagado en curso: 503 desde GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             log.error("Error inesperado al ejecutar comando", e);
             
@@ -96,11 +138,22 @@ public class CommandController {
     @GetMapping("/available-commands")
     @Operation(
         summary = "Listar comandos disponibles",
-        description = "Devuelve una lista de comandos comunes disponibles para el sistema operativo actual"
+        description = "Devuelve los ejecutables instalados en el PATH del servidor con su equivalente en el otro sistema operativo. "
+                + "Admite If-None-Match: el catálogo solo cambia cuando se instalan o eliminan ejecutables"
     )
-    public ResponseEntity<List<String>> getAvailableCommands() {
-        List<String> commands = commandExecutorService.getAvailableCommands();
-        return ResponseEntity.ok(commands);
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Catálogo de comandos"),
+        @ApiResponse(responseCode = "304", description = "El catálogo no cambió desde el ETag enviado")
+    })
+    public ResponseEntity<List<CatalogCommand>> getAvailableCommands(WebRequest webRequest) {
+        CommandCatalog.Snapshot snapshot = commandCatalog.snapshot();
+        if (webRequest.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(snapshot.commands());
     }
     
     @GetMapping("/health")
@@ -120,11 +173,13 @@ public class CommandController {
     @PostMapping("/execute/simple")
     @Operation(
         summary = "Ejecutar comando simple",
-        description = "Ejecuta un comando simple especificado como parámetro de consulta"
+        description = "Ejecuta un comando simple especificado como parámetro de consulta. "
+                + "Si el cliente se desconecta el proceso sigue hasta terminar o vencer timeout/deadline"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Comando ejecutado exitosamente"),
         @ApiResponse(responseCode = "400", description = "Comando inválido"),
+        @ApiResponse(responseCode = "429", description = "Límite de peticiones excedido"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     public ResponseEntity<CommandResponse> executeSimpleCommand(
@@ -133,18 +188,32 @@ public class CommandController {
             @Parameter(description = "Argumentos del comando")
             @RequestParam(required = false) String arguments,
             @Parameter(description = "Tiempo máximo de espera en segundos")
-            @RequestParam(required = false, defaultValue = "30") Integer timeout) {
+            @RequestParam(required = false, defaultValue = "30") Integer timeout,
+            @Parameter(description = "Prioridad: INTERACTIVE, NORMAL o BACKGROUND")
+            @RequestParam(required = false, defaultValue = "NORMAL") String priority,
+            @Parameter(description = "Fecha límite de la petición (epoch en milisegundos o ISO-8601)")
+            @RequestHeader(value = ExecutionContext.DEADLINE_HEADER, required = false) String deadline,
+            @Parameter(description = "Clave para que los reintentos no vuelvan a ejecutar el comando")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
         
         log.info("Ejecutando comando simple: {}", command);
+        rateLimiter.check(httpRequest, httpResponse, "execute-simple", command);
         
         CommandRequest request = new CommandRequest();
         request.setCommand(command);
         request.setArguments(arguments);
         request.setTimeout(timeout);
+        request.setPriority(priority);
         
         try {
-            CommandResponse response = commandExecutorService.executeCommand(request);
+            ExecutionContext context = new ExecutionContext(ExecutionContext.parseDeadline(deadline));
+            httpRequest.setAttribute(ExecutionContext.REQUEST_ATTRIBUTE, context);
+            CommandResponse response = idempotencyStore.execute(idempotencyKey, httpRequest, httpResponse, request,
+                    () -> commandExecutorService.executeCommand(request, context));
             return ResponseEntity.ok(response);
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error al ejecutar comando simple", e);
             
@@ -157,4 +226,66 @@ public class CommandController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
         }
     }
+    
+    @PostMapping(value = "/execute/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Ejecutar comando con salida en streaming",
+        description = "Ejecuta un comando y envía stdout/stderr como eventos SSE. Si el cliente se desconecta el proceso se cancela"
+    )
+    public SseEmitter executeCommandStream(
+            @Valid @RequestBody CommandRequest request,
+            @Parameter(description = "Fecha límite de la petición (epoch en milisegundos o ISO-8601)")
+            @RequestHeader(value = ExecutionContext.DEADLINE_HEADER, required = false) String deadline,
+            HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
+        
+        log.info("Ejecutando comando en streaming: {}", request.getCommand());
+        rateLimiter.check(httpRequest, httpResponse, "execute-stream", request.getCommand());
+        
+        SseEmitter emitter = new SseEmitter(0L);
+        OutputListener listener = new OutputListener() {
+            @Override
+            public void onStdout(String line) throws IOException {
+                emitter.send(SseEmitter.event().name("stdout").data(line));
+            }
+            
+            @Override
+            public void onStderr(String line) throws IOException {
+                emitter.send(SseEmitter.event().name("stderr").data(line));
+            }
+            
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        };
+        // La salida ya viaja en los eventos, no se acumula en la respuesta final
+        ExecutionContext context = new ExecutionContext(ExecutionContext.parseDeadline(deadline), listener, false);
+        emitter.onTimeout(() -> context.cancel("client_disconnect"));
+        emitter.onError(e -> context.cancel("client_disconnect"));
+        emitter.onCompletion(() -> context.cancel("client_disconnect"));
+        
+        executionExecutor.execute(() -> {
+            try {
+                CommandResponse response = commandExecutorService.executeCommand(request, context);
+                emitter.send(SseEmitter.event().name("result").data(response, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (CommandExecutionException | ServiceUnavailableException e) {
+                sendError(emitter, e.getMessage());
+            } catch (Exception e) {
+                log.error("Error inesperado al ejecutar comando en streaming", e);
+                sendError(emitter, "Error inesperado: " + e.getMessage());
+            }
+        });
+        return emitter;
+    }
+    
+    private void sendError(SseEmitter emitter, String message) {
+        try {
+            emitter.send(SseEmitter.event().name("error").data(message));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // El cliente ya se desconectó
+            emitter.completeWithError(e);
+        }
+    }
 }
@@ -0,0 +1,237 @@
+package app.sencico.edu.pe.gematica.controller;
+
+import app.sencico.edu.pe.gematica.dto.FileInfo;
+import app.sencico.edu.pe.gematica.service.FileTransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/v1/files")
+@Tag(name = "File Transfer", description = "API para leer, seguir y subir archivos sin ejecutar comandos")
+@CrossOrigin(origins = "*")
+public class FileController {
+    
+    private static final Logger log = LoggerFactory.getLogger(FileController.class);
+    private final FileTransferService fileTransferService;
+    
+    // Constructor para inyección de dependencias
+    public FileController(FileTransferService fileTransferService) {
+        this.fileTransferService = fileTransferService;
+    }
+    
+    @GetMapping("/info")
+    @Operation(
+        summary = "Obtener metadatos de un archivo",
+        description = "Devuelve tamaño, fecha de modificación y ETag del archivo"
+    )
+    public ResponseEntity<FileInfo> getFileInfo(
+            @Parameter(description = "Ruta del archivo, relativa al directorio de trabajo", required = true)
+            @RequestParam String path,
+            @Parameter(description = "Directorio de trabajo")
+            @RequestParam(required = false) String workingDirectory) throws IOException {
+        Path file = fileTransferService.resolveExisting(workingDirectory, path);
+        return ResponseEntity.ok(fileTransferService.describe(file));
+    }
+    
+    @GetMapping("/content")
+    @Operation(
+        summary = "Descargar archivo",
+        description = "Descarga el archivo sin crear procesos. Soporta Range/If-Range, ETag/If-None-Match y Last-Modified/If-Modified-Since"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Archivo completo"),
+        @ApiResponse(responseCode = "206", description = "Rango parcial del archivo"),
+        @ApiResponse(responseCode = "304", description = "El archivo no cambió"),
+        @ApiResponse(responseCode = "400", description = "Ruta inválida"),
+        @ApiResponse(responseCode = "416", description = "Rango no satisfacible")
+    })
+    public void downloadFile(
+            @Parameter(description = "Ruta del archivo, relativa al directorio de trabajo", required = true)
+            @RequestParam String path,
+            @Parameter(description = "Directorio de trabajo")
+            @RequestParam(required = false) String workingDirectory,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        
+        Path file = fileTransferService.resolveExisting(workingDirectory, path);
+        FileInfo info = fileTransferService.describe(file);
+        long size = info.getSize();
+        long lastModified = info.getLastModified().toEpochMilli();
+        
+        response.setHeader(HttpHeaders.ETAG, info.getEtag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        
+        if (isNotModified(request, info.getEtag(), lastModified)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        
+        String contentType = Files.probeContentType(file);
+        response.setContentType(contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        
+        long start = 0;
+        long length = size;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRangeMatches(request, ifRange.trim(), info.getEtag(), lastModified))) {
+            long[] bounds = parseRange(range, size);
+            if (bounds == null) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                length = bounds[1] - bounds[0] + 1;
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + bounds[0] + "-" + bounds[1] + "/" + size);
+            }
+        }
+        
+        log.info("Descargando archivo: {} (bytes {}-{})", file, start, start + length - 1);
+        fileTransferService.transfer(file, start, length, request, response);
+    }
+    
+    @GetMapping(value = "/follow", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Seguir archivo (tail -f)",
+        description = "Envía por Server-Sent Events cada línea nueva que se agrega al archivo. "
+                + "Las líneas muy largas llegan en trozos (eventos partial) seguidos del final (evento line)"
+    )
+    public SseEmitter followFile(
+            @Parameter(description = "Ruta del archivo, relativa al directorio de trabajo", required = true)
+            @RequestParam String path,
+            @Parameter(description = "Directorio de trabajo")
+            @RequestParam(required = false) String workingDirectory,
+            @Parameter(description = "Posición inicial en bytes (por defecto el final del archivo)")
+            @RequestParam(required = false, defaultValue = "-1") long offset,
+            @Parameter(description = "Duración máxima del seguimiento en segundos")
+            @RequestParam(required = false, defaultValue = "1800") long timeout) throws IOException {
+        
+        Path file = fileTransferService.resolveExisting(workingDirectory, path);
+        log.info("Siguiendo archivo: {}", file);
+        return fileTransferService.follow(file, offset, timeout * 1000);
+    }
+    
+    @PutMapping("/content")
+    @Operation(
+        summary = "Subir archivo",
+        description = "Escribe el cuerpo de la petición en el archivo destino, directo a disco"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Archivo guardado"),
+        @ApiResponse(responseCode = "400", description = "Ruta inválida o archivo existente")
+    })
+    public ResponseEntity<FileInfo> uploadFile(
+            @Parameter(description = "Ruta del archivo, relativa al directorio de trabajo", required = true)
+            @RequestParam String path,
+            @Parameter(description = "Directorio de trabajo")
+            @RequestParam(required = false) String workingDirectory,
+            @Parameter(description = "Reemplazar el archivo si ya existe")
+            @RequestParam(required = false, defaultValue = "false") boolean overwrite,
+            HttpServletRequest request) throws IOException {
+        
+        FileInfo info = fileTransferService.upload(workingDirectory, path, overwrite, request.getInputStream());
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(info.getEtag()).body(info);
+    }
+    
+    private static boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String value = candidate.trim();
+                // Comparación débil: se ignora el prefijo W/
+                if ("*".equals(value) || stripWeak(value).equals(stripWeak(etag))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // Las fechas HTTP tienen resolución de segundos
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+    
+    /**
+     * If-Range exige comparación fuerte (RFC 9110, 13.1.5): un ETag débil nunca coincide y se
+     * envía el archivo completo. Una fecha coincide con Last-Modified solo si el archivo no cambió
+     * en el último segundo; si no, la fecha no es un validador fuerte.
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, String ifRange, String etag, long lastModified) {
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return !etag.startsWith("W/") && ifRange.equals(etag);
+        }
+        long date;
+        try {
+            date = request.getDateHeader(HttpHeaders.IF_RANGE);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return date >= 0 && lastModified / 1000 == date / 1000
+                && System.currentTimeMillis() - lastModified >= 1000;
+    }
+    
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+    
+    /**
+     * Interpreta un único rango "bytes=inicio-fin". Devuelve {inicio, fin}, un arreglo
+     * vacío si se debe enviar el archivo completo o null si el rango no es satisfacible.
+     */
+    private static long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.contains(",")) {
+            // Unidades desconocidas o varios rangos: se envía el archivo completo
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, size - suffix);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                end = dash == spec.length() - 1 ? size - 1 : Math.min(Long.parseLong(spec.substring(dash + 1)), size - 1);
+            }
+            if (start >= size || start > end) {
+                return null;
+            }
+            return new long[] {start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
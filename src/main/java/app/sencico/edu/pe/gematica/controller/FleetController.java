@@ -0,0 +1,138 @@
+package app.sencico.edu.pe.gematica.controller;
+
+import app.sencico.edu.pe.gematica.dto.FleetCommandRequest;
+import app.sencico.edu.pe.gematica.dto.FleetResponse;
+import app.sencico.edu.pe.gematica.dto.NodeInfo;
+import app.sencico.edu.pe.gematica.service.fleet.FleetExecutorService;
+import app.sencico.edu.pe.gematica.service.fleet.PeerRegistry;
+import app.sencico.edu.pe.gematica.service.ratelimit.RateLimiter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/fleet")
+@Tag(name = "Fleet Coordinator", description = "API para ejecutar comandos en varios nodos ejecutores")
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(prefix = "app.fleet", name = "enabled", havingValue = "true")
+public class FleetController {
+    
+    private static final Logger log = LoggerFactory.getLogger(FleetController.class);
+    private final PeerRegistry peerRegistry;
+    private final FleetExecutorService fleetExecutorService;
+    private final RateLimiter rateLimiter;
+    
+    // Constructor para inyección de dependencias
+    public FleetController(PeerRegistry peerRegistry, FleetExecutorService fleetExecutorService,
+                           RateLimiter rateLimiter) {
+        this.peerRegistry = peerRegistry;
+        this.fleetExecutorService = fleetExecutorService;
+        this.rateLimiter = rateLimiter;
+    }
+    
+    @GetMapping("/nodes")
+    @Operation(
+        summary = "Listar nodos",
+        description = "Devuelve los nodos registrados con su estado según los heartbeats"
+    )
+    public ResponseEntity<List<NodeInfo>> getNodes() {
+        return ResponseEntity.ok(peerRegistry.getNodes());
+    }
+    
+    @PutMapping("/nodes/{name}")
+    @Operation(
+        summary = "Registrar nodo",
+        description = "Registra o reemplaza un nodo ejecutor. El host debe estar en app.fleet.allowed-hosts"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Nodo registrado"),
+        @ApiResponse(responseCode = "400", description = "URL inválida o host no permitido")
+    })
+    public ResponseEntity<NodeInfo> registerNode(
+            @Parameter(description = "Nombre del nodo", required = true)
+            @PathVariable String name,
+            @Parameter(description = "URL base del nodo", required = true, example = "http://10.0.0.11:8080/geomatica")
+            @RequestParam String url) {
+        return ResponseEntity.ok(peerRegistry.register(name, url));
+    }
+    
+    @DeleteMapping("/nodes/{name}")
+    @Operation(
+        summary = "Eliminar nodo",
+        description = "Quita un nodo del registro"
+    )
+    public ResponseEntity<Void> removeNode(@PathVariable String name) {
+        return peerRegistry.remove(name) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+    
+    @PostMapping("/execute")
+    @Operation(
+        summary = "Ejecutar comando en varios nodos",
+        description = "Ejecuta el comando en paralelo en los nodos seleccionados y devuelve el resultado de cada uno. " +
+                "Los nodos que fallan o exceden su timeout se informan sin afectar a los demás"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resultados por nodo (pueden incluir fallos parciales)"),
+        @ApiResponse(responseCode = "400", description = "Solicitud inválida o nodo no registrado"),
+        @ApiResponse(responseCode = "429", description = "Límite de peticiones excedido")
+    })
+    public ResponseEntity<FleetResponse> execute(@Valid @RequestBody FleetCommandRequest request,
+                                                 HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
+        log.info("Recibida solicitud de ejecución en flota: {}", request.getCommand().getCommand());
+        rateLimiter.check(httpRequest, httpResponse, "fleet-execute", request.getCommand().getCommand());
+        return ResponseEntity.ok(fleetExecutorService.execute(request));
+    }
+    
+    @PostMapping(value = "/execute/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Ejecutar comando en varios nodos con resultados en streaming",
+        description = "Envía un evento 'node' a medida que cada nodo termina y un evento 'summary' al final (sin repetir los resultados)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream de eventos por nodo y resumen final"),
+        @ApiResponse(responseCode = "400", description = "Solicitud inválida, nodo no registrado o sin nodos disponibles (antes de abrir el stream)"),
+        @ApiResponse(responseCode = "429", description = "Límite de peticiones excedido")
+    })
+    public SseEmitter executeStream(@Valid @RequestBody FleetCommandRequest request,
+                                    HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
+        log.info("Recibida solicitud de ejecución en flota (streaming): {}", request.getCommand().getCommand());
+        rateLimiter.check(httpRequest, httpResponse, "fleet-execute", request.getCommand().getCommand());
+        
+        // Nodos inexistentes o sin nodos disponibles: 400 antes de abrir el stream
+        FleetExecutorService.FleetPlan plan = fleetExecutorService.plan(request);
+        SseEmitter emitter = new SseEmitter(0L);
+        fleetExecutorService.fanOut(plan, result -> {
+            try {
+                emitter.send(SseEmitter.event().name("node").data(result, MediaType.APPLICATION_JSON));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((summary, error) -> {
+            try {
+                summary.setResults(null);
+                emitter.send(SseEmitter.event().name("summary").data(summary, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                // El cliente ya se desconectó
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+}
@@ -0,0 +1,96 @@
+package app.sencico.edu.pe.gematica.controller;
+
+import app.sencico.edu.pe.gematica.service.FileTransferService;
+import app.sencico.edu.pe.gematica.service.output.OutputStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Optional;
+
+@RestController
+@RequestMapping(OutputStore.BASE_PATH)
+@Tag(name = "Command Outputs", description = "API para descargar por páginas las salidas grandes guardadas en disco")
+@CrossOrigin(origins = "*")
+public class OutputController {
+    
+    private static final Logger log = LoggerFactory.getLogger(OutputController.class);
+    
+    // Cabeceras de paginación
+    private static final String SIZE_HEADER = "X-Output-Size";
+    private static final String NEXT_OFFSET_HEADER = "X-Next-Offset";
+    
+    private final OutputStore outputStore;
+    private final FileTransferService fileTransferService;
+    
+    // Constructor para inyección de dependencias
+    public OutputController(OutputStore outputStore, FileTransferService fileTransferService) {
+        this.outputStore = outputStore;
+        this.fileTransferService = fileTransferService;
+    }
+    
+    @GetMapping("/{id}")
+    @Operation(
+        summary = "Descargar página de una salida",
+        description = "Devuelve los bytes [offset, offset + length) de la salida con sendfile/FileChannel, sin cargarla en memoria. " +
+                "X-Next-Offset indica dónde empieza la siguiente página y el ETag es el SHA-256 de la salida"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de la salida"),
+        @ApiResponse(responseCode = "404", description = "La salida no existe o venció"),
+        @ApiResponse(responseCode = "416", description = "offset fuera de la salida")
+    })
+    public void getOutput(
+            @PathVariable String id,
+            @Parameter(description = "Primer byte de la página")
+            @RequestParam(required = false, defaultValue = "0") long offset,
+            @Parameter(description = "Bytes de la página (por defecto y como máximo app.outputs.max-page-size)")
+            @RequestParam(required = false) Long length,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        
+        Optional<OutputStore.StoredOutput> stored = outputStore.get(id);
+        if (stored.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        OutputStore.StoredOutput output = stored.get();
+        response.setHeader(SIZE_HEADER, String.valueOf(output.size()));
+        response.setHeader(HttpHeaders.ETAG, "\"" + output.sha256() + "\"");
+        if (offset < 0 || (offset >= output.size() && output.size() > 0) || (length != null && length <= 0)) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + output.size());
+            return;
+        }
+        
+        long pageLength = Math.min(length != null ? length : Long.MAX_VALUE, outputStore.getMaxPageSize());
+        pageLength = Math.min(pageLength, output.size() - offset);
+        long next = offset + pageLength;
+        if (next < output.size()) {
+            response.setHeader(NEXT_OFFSET_HEADER, String.valueOf(next));
+        }
+        response.setContentType("text/plain;charset=UTF-8");
+        log.debug("Descargando salida {} (bytes {}-{})", id, offset, next - 1);
+        fileTransferService.transfer(output.path(), offset, pageLength, request, response);
+    }
+    
+    @DeleteMapping("/{id}")
+    @Operation(
+        summary = "Eliminar salida",
+        description = "Borra la salida antes de que venza y libera su espacio de la cuota"
+    )
+    public ResponseEntity<Void> deleteOutput(@PathVariable String id) {
+        return outputStore.delete(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
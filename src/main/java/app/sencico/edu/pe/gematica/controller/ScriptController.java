@@ -0,0 +1,130 @@
+package app.sencico.edu.pe.gematica.controller;
+
+import app.sencico.edu.pe.gematica.dto.CommandRequest;
+import app.sencico.edu.pe.gematica.dto.CommandResponse;
+import app.sencico.edu.pe.gematica.dto.ScriptExecutionRequest;
+import app.sencico.edu.pe.gematica.dto.ScriptInfo;
+import app.sencico.edu.pe.gematica.dto.ScriptUploadRequest;
+import app.sencico.edu.pe.gematica.service.CommandExecutorService;
+import app.sencico.edu.pe.gematica.service.ExecutionContext;
+import app.sencico.edu.pe.gematica.service.ratelimit.RateLimiter;
+import app.sencico.edu.pe.gematica.service.script.PreparedScript;
+import app.sencico.edu.pe.gematica.service.script.ScriptRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/scripts")
+@Tag(name = "Script Registry", description = "API para registrar scripts una vez y ejecutarlos por su hash con parámetros")
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(prefix = "app.scripts", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ScriptController {
+    
+    private static final Logger log = LoggerFactory.getLogger(ScriptController.class);
+    private final ScriptRegistry scriptRegistry;
+    private final CommandExecutorService commandExecutorService;
+    private final RateLimiter rateLimiter;
+    
+    // Constructor para inyección de dependencias
+    public ScriptController(ScriptRegistry scriptRegistry, CommandExecutorService commandExecutorService,
+                            RateLimiter rateLimiter) {
+        this.scriptRegistry = scriptRegistry;
+        this.commandExecutorService = commandExecutorService;
+        this.rateLimiter = rateLimiter;
+    }
+    
+    @PostMapping
+    @Operation(
+        summary = "Registrar script",
+        description = "Guarda el script en disco identificado por el SHA-256 de su intérprete y contenido. " +
+                "Registrar de nuevo el mismo contenido devuelve el script existente"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Script registrado"),
+        @ApiResponse(responseCode = "200", description = "El script ya estaba registrado"),
+        @ApiResponse(responseCode = "400", description = "Script inválido o rechazado por las políticas")
+    })
+    public ResponseEntity<ScriptInfo> register(@Valid @RequestBody ScriptUploadRequest request) {
+        ScriptRegistry.Registration registration = scriptRegistry.register(request);
+        return ResponseEntity.status(registration.created() ? HttpStatus.CREATED : HttpStatus.OK)
+                .body(registration.script());
+    }
+    
+    @GetMapping
+    @Operation(
+        summary = "Listar scripts",
+        description = "Devuelve los scripts registrados"
+    )
+    public ResponseEntity<List<ScriptInfo>> list() {
+        return ResponseEntity.ok(scriptRegistry.list());
+    }
+    
+    @GetMapping("/{id}")
+    @Operation(
+        summary = "Obtener script",
+        description = "Devuelve los metadatos de un script registrado"
+    )
+    public ResponseEntity<ScriptInfo> get(@PathVariable String id) {
+        ScriptInfo script = scriptRegistry.get(id);
+        return script != null ? ResponseEntity.ok(script) : ResponseEntity.notFound().build();
+    }
+    
+    @DeleteMapping("/{id}")
+    @Operation(
+        summary = "Eliminar script",
+        description = "Quita el script del registro y borra sus archivos"
+    )
+    public ResponseEntity<Void> delete(@PathVariable String id) {
+        return scriptRegistry.delete(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+    
+    @PostMapping("/{id}/execute")
+    @Operation(
+        summary = "Ejecutar script",
+        description = "Ejecuta un script registrado. Los parámetros llegan como variables de entorno (y como argumentos, salvo en cmd), " +
+                "nunca se sustituyen en el texto del script"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Script ejecutado"),
+        @ApiResponse(responseCode = "400", description = "Script inexistente o parámetros inválidos"),
+        @ApiResponse(responseCode = "429", description = "Límite de peticiones excedido")
+    })
+    public ResponseEntity<CommandResponse> execute(
+            @PathVariable String id,
+            @Valid @RequestBody ScriptExecutionRequest request,
+            @Parameter(description = "Fecha límite de la petición (epoch en milisegundos o ISO-8601)")
+            @RequestHeader(value = ExecutionContext.DEADLINE_HEADER, required = false) String deadline,
+            HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
+        
+        log.info("Recibida solicitud para ejecutar script: {}", id);
+        // Los comandos que invoca el script cuentan para su clase (p. ej. network)
+        rateLimiter.check(httpRequest, httpResponse, "script-execute", scriptRegistry.content(id));
+        
+        PreparedScript script = scriptRegistry.prepare(id, request.getParams());
+        ScriptInfo info = scriptRegistry.get(id);
+        CommandRequest commandRequest = new CommandRequest();
+        commandRequest.setCommand(info != null && info.getName() != null ? info.getName() : "script:" + id);
+        commandRequest.setTimeout(request.getTimeout());
+        commandRequest.setWorkingDirectory(request.getWorkingDirectory());
+        commandRequest.setEnvironmentTemplate(request.getEnvironmentTemplate());
+        commandRequest.setPriority(request.getPriority());
+        commandRequest.setFilter(request.getFilter());
+        
+        ExecutionContext context = new ExecutionContext(ExecutionContext.parseDeadline(deadline));
+        return ResponseEntity.ok(commandExecutorService.executeScript(commandRequest, script, context));
+    }
+}
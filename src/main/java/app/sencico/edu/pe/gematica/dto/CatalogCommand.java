@@ -0,0 +1,77 @@
+package app.sencico.edu.pe.gematica.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+
+@Schema(description = "Ejecutable disponible en el PATH del servidor")
+public class CatalogCommand {
+    
+    @Schema(description = "Nombre del comando", example = "ls")
+    private String name;
+    
+    @Schema(description = "Ruta absoluta del ejecutable que se usa (el primero en el PATH)", example = "/usr/bin/ls")
+    private String path;
+    
+    @Schema(description = "Tamaño del ejecutable en bytes", example = "138216")
+    private Long size;
+    
+    @Schema(description = "Última modificación del ejecutable")
+    private Instant lastModified;
+    
+    @Schema(description = "Comando equivalente en el otro sistema operativo, si se traduce", example = "dir")
+    private String equivalent;
+    
+    // Constructor sin parámetros
+    public CatalogCommand() {
+    }
+    
+    // Constructor con todos los parámetros
+    public CatalogCommand(String name, String path, Long size, Instant lastModified, String equivalent) {
+        this.name = name;
+        this.path = path;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.equivalent = equivalent;
+    }
+    
+    // Getters y Setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getPath() {
+        return path;
+    }
+    
+    public void setPath(String path) {
+        this.path = path;
+    }
+    
+    public Long getSize() {
+        return size;
+    }
+    
+    public void setSize(Long size) {
+        this.size = size;
+    }
+    
+    public Instant getLastModified() {
+        return lastModified;
+    }
+    
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
+    
+    public String getEquivalent() {
+        return equivalent;
+    }
+    
+    public void setEquivalent(String equivalent) {
+        this.equivalent = equivalent;
+    }
+}
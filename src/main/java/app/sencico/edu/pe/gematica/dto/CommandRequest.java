@@ -1,9 +1,12 @@
 package app.sencico.edu.pe.gematica.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.util.Map;
+
 @Schema(description = "Objeto de solicitud para ejecutar comandos del sistema")
 public class CommandRequest {
     
@@ -39,11 +42,43 @@ public class CommandRequest {
     )
     @Pattern(regexp = "^(WINDOWS|LINUX|MAC|AUTO)$", message = "Sistema operativo debe ser WINDOWS, LINUX, MAC o AUTO")
     private String operatingSystem = "AUTO";
+    
+    @Schema(
+        description = "Formato de la salida (opcional). RAW devuelve el texto tal cual; STRUCTURED agrega registros tipados para ps/tasklist, netstat, ping, df, ls/dir e ifconfig/ipconfig",
+        example = "RAW"
+    )
+    @Pattern(regexp = "^(RAW|STRUCTURED)$", message = "El formato debe ser RAW o STRUCTURED")
+    private String format = "RAW";
+    
+    @Schema(
+        description = "Plantilla de entorno configurada en app.command.environment.templates (opcional)",
+        example = "minimal"
+    )
+    private String environmentTemplate;
+    
+    @Schema(
+        description = "Variables de entorno adicionales (opcional). Solo se permiten las de app.command.environment.allowed-overrides",
+        example = "{\"LANG\": \"C\"}"
+    )
+    private Map<String, String> environment;
+    
+    @Schema(
+        description = "Prioridad de ejecución (opcional). INTERACTIVE para peticiones de operadores, BACKGROUND para tareas largas por lotes",
+        example = "NORMAL"
+    )
+    @Pattern(regexp = "^(INTERACTIVE|NORMAL|BACKGROUND)$", message = "La prioridad debe ser INTERACTIVE, NORMAL o BACKGROUND")
+    private String priority = "NORMAL";
+    
+    @Schema(description = "Filtro de la salida estándar (opcional): grep, head/tail, máximo de líneas y rango de bytes, sin pipes del shell")
+    @Valid
+    private OutputFilter filter;
 
     // Constructor sin parámetros
 	public CommandRequest() {
 		this.timeout = 30;
 		this.operatingSystem = "AUTO";
+		this.format = "RAW";
+		this.priority = "NORMAL";
 	}
 
 	// Constructor con todos los parámetros
@@ -95,4 +130,44 @@ public class CommandRequest {
 		this.operatingSystem = operatingSystem;
 	}
 
+	public String getFormat() {
+		return format;
+	}
+
+	public void setFormat(String format) {
+		this.format = format;
+	}
+
+	public String getEnvironmentTemplate() {
+		return environmentTemplate;
+	}
+
+	public void setEnvironmentTemplate(String environmentTemplate) {
+		this.environmentTemplate = environmentTemplate;
+	}
+
+	public Map<String, String> getEnvironment() {
+		return environment;
+	}
+
+	public void setEnvironment(Map<String, String> environment) {
+		this.environment = environment;
+	}
+
+	public String getPriority() {
+		return priority;
+	}
+
+	public void setPriority(String priority) {
+		this.priority = priority;
+	}
+
+	public OutputFilter getFilter() {
+		return filter;
+	}
+
+	public void setFilter(OutputFilter filter) {
+		this.filter = filter;
+	}
+
 }
@@ -36,6 +36,18 @@ public class CommandResponse {
     @Schema(description = "Directorio de trabajo usado")
     private String workingDirectory;
     
+    @Schema(description = "Salida interpretada en registros tipados (solo con format = STRUCTURED)")
+    private StructuredOutput structuredOutput;
+    
+    @Schema(description = "Líneas leídas, filtradas y descartadas (solo si la petición incluye filter)")
+    private FilterStats filterStats;
+    
+    @Schema(description = "Salida estándar guardada en disco cuando supera app.outputs.spill-threshold (output queda vacío)")
+    private OutputHandle outputHandle;
+    
+    @Schema(description = "Salida de error guardada en disco cuando supera app.outputs.spill-threshold (errorOutput queda vacío)")
+    private OutputHandle errorOutputHandle;
+    
     // Constructor sin parámetros
     public CommandResponse() {
     }
@@ -136,5 +148,36 @@ public class CommandResponse {
     public void setWorkingDirectory(String workingDirectory) {
         this.workingDirectory = workingDirectory;
     }
+    
+    public StructuredOutput getStructuredOutput() {
+        return structuredOutput;
+    }
+    
+    public void setStructuredOutput(StructuredOutput structuredOutput) {
+        this.structuredOutput = structuredOutput;
+    }
+    
+    public FilterStats getFilterStats() {
+        return filterStats;
+    }
+    
+    public void setFilterStats(FilterStats filterStats) {
+        this.filterStats = filterStats;
+    }
+    
+    public OutputHandle getOutputHandle() {
+        return outputHandle;
+    }
+    
+    public void setOutputHandle(OutputHandle outputHandle) {
+        this.outputHandle = outputHandle;
+    }
+    
+    public OutputHandle getErrorOutputHandle() {
+        return errorOutputHandle;
+    }
+    
+    public void setErrorOutputHandle(OutputHandle errorOutputHandle) {
+        this.errorOutputHandle = errorOutputHandle;
+    }
 }
-
@@ -0,0 +1,65 @@
+package app.sencico.edu.pe.gematica.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+
+@Schema(description = "Metadatos de un archivo servido o recibido por los endpoints de archivos")
+public class FileInfo {
+    
+    @Schema(description = "Ruta absoluta del archivo", example = "/var/log/app.log")
+    private String path;
+    
+    @Schema(description = "Tamaño en bytes", example = "1048576")
+    private Long size;
+    
+    @Schema(description = "Fecha de última modificación")
+    private Instant lastModified;
+    
+    @Schema(description = "ETag fuerte calculado a partir del tamaño y la fecha de modificación", example = "\"186a0-17a2c3b4d5e6f000\"")
+    private String etag;
+    
+    // Constructor sin parámetros
+    public FileInfo() {
+    }
+    
+    // Constructor con todos los parámetros
+    public FileInfo(String path, Long size, Instant lastModified, String etag) {
+        this.path = path;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.etag = etag;
+    }
+    
+    // Getters y Setters
+    public String getPath() {
+        return path;
+    }
+    
+    public void setPath(String path) {
+        this.path = path;
+    }
+    
+    public Long getSize() {
+        return size;
+    }
+    
+    public void setSize(Long size) {
+        this.size = size;
+    }
+    
+    public Instant getLastModified() {
+        return lastModified;
+    }
+    
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
+    
+    public String getEtag() {
+        return etag;
+    }
+    
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+}
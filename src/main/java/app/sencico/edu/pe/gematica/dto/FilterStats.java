@@ -0,0 +1,76 @@
+package app.sencico.edu.pe.gematica.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado del filtro de salida")
+public class FilterStats {
+    
+    @Schema(description = "Líneas leídas de la salida estándar", example = "120000")
+    private long totalLines;
+    
+    @Schema(description = "Líneas que pasaron include/exclude", example = "342")
+    private long matchedLines;
+    
+    @Schema(description = "Líneas devueltas en output después de head/tail/maxLines y el rango de bytes", example = "100")
+    private long returnedLines;
+    
+    @Schema(description = "Líneas descartadas (totalLines - returnedLines)", example = "119900")
+    private long droppedLines;
+    
+    @Schema(description = "Bytes (UTF-8) devueltos en output", example = "8192")
+    private long returnedBytes;
+    
+    // Constructor sin parámetros
+    public FilterStats() {
+    }
+    
+    // Constructor con todos los parámetros
+    public FilterStats(long totalLines, long matchedLines, long returnedLines, long droppedLines, long returnedBytes) {
+        this.totalLines = totalLines;
+        this.matchedLines = matchedLines;
+        this.returnedLines = returnedLines;
+        this.droppedLines = droppedLines;
+        this.returnedBytes = returnedBytes;
+    }
+    
+    // Getters y Setters
+    public long getTotalLines() {
+        return totalLines;
+    }
+    
+    public void setTotalLines(long totalLines) {
+        this.totalLines = totalLines;
+    }
+    
+    public long getMatchedLines() {
+        return matchedLines;
+    }
+    
+    public void setMatchedLines(long matchedLines) {
+        this.matchedLines = matchedLines;
+    }
+    
+    public long getReturnedLines() {
+        return returnedLines;
+    }
+    
+    public void setReturnedLines(long returnedLines) {
+        this.returnedLines = returnedLines;
+    }
+    
+    public long getDroppedLines() {
+        return droppedLines;
+    }
+    
+    public void setDroppedLines(long droppedLines) {
+        this.droppedLines = droppedLines;
+    }
+    
+    public long getReturnedBytes() {
+        return returnedBytes;
+    }
+    
+    public void setReturnedBytes(long returnedBytes) {
+        this.returnedBytes = returnedBytes;
+    }
+}
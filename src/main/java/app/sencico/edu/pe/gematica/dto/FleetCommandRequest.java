@@ -0,0 +1,53 @@
+package app.sencico.edu.pe.gematica.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Solicitud para ejecutar un comando en varios nodos de la flota")
+public class FleetCommandRequest {
+    
+    @Schema(description = "Nodos destino. Vacío = todos los nodos que no estén DOWN", example = "[\"nodo-01\", \"nodo-02\"]")
+    private List<String> nodes;
+    
+    @Valid
+    @NotNull(message = "El comando no puede estar vacío")
+    @Schema(description = "Comando a ejecutar en cada nodo", required = true)
+    private CommandRequest command;
+    
+    @Min(value = 1, message = "El timeout por nodo debe ser mayor a 0")
+    @Schema(description = "Tiempo máximo de espera por nodo en segundos (por defecto, timeout del comando + margen configurado)", example = "35")
+    private Integer nodeTimeout;
+    
+    // Constructor sin parámetros
+    public FleetCommandRequest() {
+    }
+    
+    // Getters y Setters
+    public List<String> getNodes() {
+        return nodes;
+    }
+    
+    public void setNodes(List<String> nodes) {
+        this.nodes = nodes;
+    }
+    
+    public CommandRequest getCommand() {
+        return command;
+    }
+    
+    public void setCommand(CommandRequest command) {
+        this.command = command;
+    }
+    
+    public Integer getNodeTimeout() {
+        return nodeTimeout;
+    }
+    
+    public void setNodeTimeout(Integer nodeTimeout) {
+        this.nodeTimeout = nodeTimeout;
+    }
+}
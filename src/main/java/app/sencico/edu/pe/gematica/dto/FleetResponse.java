@@ -0,0 +1,68 @@
+package app.sencico.edu.pe.gematica.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Resultado agregado de un comando ejecutado en varios nodos")
+public class FleetResponse {
+    
+    @Schema(description = "Cantidad de nodos seleccionados", example = "3")
+    private Integer nodes;
+    
+    @Schema(description = "Nodos donde el comando terminó con SUCCESS", example = "2")
+    private Integer succeeded;
+    
+    @Schema(description = "Nodos con error, timeout o inalcanzables", example = "1")
+    private Integer failed;
+    
+    @Schema(description = "Tiempo total en milisegundos", example = "350")
+    private Long executionTime;
+    
+    @Schema(description = "Resultado por nodo, en orden de finalización")
+    private List<NodeResult> results;
+    
+    // Constructor sin parámetros
+    public FleetResponse() {
+    }
+    
+    // Getters y Setters
+    public Integer getNodes() {
+        return nodes;
+    }
+    
+    public void setNodes(Integer nodes) {
+        this.nodes = nodes;
+    }
+    
+    public Integer getSucceeded() {
+        return succeeded;
+    }
+    
+    public void setSucceeded(Integer succeeded) {
+        this.succeeded = succeeded;
+    }
+    
+    public Integer getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(Integer failed) {
+        this.failed = failed;
+    }
+    
+    public Long getExecutionTime() {
+        return executionTime;
+    }
+    
+    public void setExecutionTime(Long executionTime) {
+        this.executionTime = executionTime;
+    }
+    
+    public List<NodeResult> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<NodeResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,101 @@
+package app.sencico.edu.pe.gematica.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+
+@Schema(description = "Estado de un nodo ejecutor registrado en el coordinador")
+public class NodeInfo {
+    
+    @Schema(description = "Nombre del nodo", example = "nodo-01")
+    private String name;
+    
+    @Schema(description = "URL base del nodo", example = "http://10.0.0.11:8080/geomatica")
+    private String url;
+    
+    @Schema(description = "Estado según los heartbeats: UNKNOWN, UP o DOWN", example = "UP")
+    private String status;
+    
+    @Schema(description = "Último heartbeat exitoso")
+    private Instant lastHeartbeat;
+    
+    @Schema(description = "Latencia del último heartbeat en milisegundos", example = "3")
+    private Long latencyMillis;
+    
+    @Schema(description = "Fallos consecutivos de comunicación", example = "0")
+    private Integer consecutiveFailures;
+    
+    @Schema(description = "Último error de comunicación")
+    private String lastError;
+    
+    // Constructor sin parámetros
+    public NodeInfo() {
+    }
+    
+    // Constructor con todos los parámetros
+    public NodeInfo(String name, String url, String status, Instant lastHeartbeat, Long latencyMillis, Integer consecutiveFailures, String lastError) {
+        this.name = name;
+        this.url = url;
+        this.status = status;
+        this.lastHeartbeat = lastHeartbeat;
+        this.latencyMillis = latencyMillis;
+        this.consecutiveFailures = consecutiveFailures;
+        this.lastError = lastError;
+    }
+    
+    // Getters y Setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getUrl() {
+        return url;
+    }
+    
+    public void setUrl(String url) {
+        this.url = url;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public Instant getLastHeartbeat() {
+        return lastHeartbeat;
+    }
+    
+    public void setLastHeartbeat(Instant lastHeartbeat) {
+        this.lastHeartbeat = lastHeartbeat;
+    }
+    
+    public Long getLatencyMillis() {
+        return latencyMillis;
+    }
+    
+    public void setLatencyMillis(Long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+    
+    public Integer getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+    
+    public void setConsecutiveFailures(Integer consecutiveFailures) {
+        this.consecutiveFailures = consecutiveFailures;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
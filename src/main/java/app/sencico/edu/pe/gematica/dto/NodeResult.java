@@ -0,0 +1,78 @@
+package app.sencico.edu.pe.gematica.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado de un comando en un nodo de la flota")
+public class NodeResult {
+    
+    @Schema(description = "Nombre del nodo", example = "nodo-01")
+    private String node;
+    
+    @Schema(description = "SUCCESS, ERROR, TIMEOUT o UNREACHABLE", example = "SUCCESS")
+    private String status;
+    
+    @Schema(description = "Código HTTP devuelto por el nodo (vacío si no respondió)", example = "200")
+    private Integer httpStatus;
+    
+    @Schema(description = "Tiempo total de la llamada al nodo en milisegundos", example = "120")
+    private Long elapsedMillis;
+    
+    @Schema(description = "Descripción del fallo de comunicación, si lo hubo")
+    private String error;
+    
+    @Schema(description = "Respuesta del nodo")
+    private CommandResponse response;
+    
+    // Constructor sin parámetros
+    public NodeResult() {
+    }
+    
+    // Getters y Setters
+    public String getNode() {
+        return node;
+    }
+    
+    public void setNode(String node) {
+        this.node = node;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public Integer getHttpStatus() {
+        return httpStatus;
+    }
+    
+    public void setHttpStatus(Integer httpStatus) {
+        this.httpStatus = httpStatus;
+    }
+    
+    public Long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public void setElapsedMillis(Long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+    
+    public CommandResponse getResponse() {
+        return response;
+    }
+    
+    public void setResponse(CommandResponse response) {
+        this.response = response;
+    }
+}
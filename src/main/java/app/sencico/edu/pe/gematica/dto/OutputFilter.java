@@ -0,0 +1,104 @@
+package app.sencico.edu.pe.gematica.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Filtro y proyección de la salida estándar, aplicados en el servidor mientras se lee la salida")
+public class OutputFilter {
+    
+    @Schema(description = "Expresión regular: solo se conservan las líneas que la contienen (equivale a grep/findstr)", example = "ERROR|WARN")
+    @Size(max = 512, message = "La expresión include no puede superar 512 caracteres")
+    private String include;
+    
+    @Schema(description = "Expresión regular: se descartan las líneas que la contienen (equivale a grep -v)", example = "^\\s*$")
+    @Size(max = 512, message = "La expresión exclude no puede superar 512 caracteres")
+    private String exclude;
+    
+    @Schema(description = "Conservar solo las primeras N líneas que pasan el filtro (equivale a head)", example = "100")
+    @Min(value = 0, message = "head no puede ser negativo")
+    private Integer head;
+    
+    @Schema(description = "Conservar solo las últimas N líneas que pasan el filtro (equivale a tail)", example = "50")
+    @Min(value = 0, message = "tail no puede ser negativo")
+    private Integer tail;
+    
+    @Schema(description = "Máximo de líneas devueltas después de head/tail", example = "1000")
+    @Min(value = 0, message = "maxLines no puede ser negativo")
+    private Integer maxLines;
+    
+    @Schema(description = "Primer byte (UTF-8) devuelto del resultado filtrado", example = "0")
+    @Min(value = 0, message = "byteOffset no puede ser negativo")
+    private Long byteOffset;
+    
+    @Schema(description = "Cantidad máxima de bytes (UTF-8) devueltos desde byteOffset", example = "65536")
+    @Min(value = 0, message = "byteLength no puede ser negativo")
+    private Long byteLength;
+    
+    // Constructor sin parámetros
+    public OutputFilter() {
+    }
+    
+    // Getters y Setters
+    public String getInclude() {
+        return include;
+    }
+    
+    public void setInclude(String include) {
+        this.include = include;
+    }
+    
+    public String getExclude() {
+        return exclude;
+    }
+    
+    public void setExclude(String exclude) {
+        this.exclude = exclude;
+    }
+    
+    public Integer getHead() {
+        return head;
+    }
+    
+    public void setHead(Integer head) {
+        this.head = head;
+    }
+    
+    public Integer getTail() {
+        return tail;
+    }
+    
+    public void setTail(Integer tail) {
+        this.tail = tail;
+    }
+    
+    public Integer getMaxLines() {
+        return maxLines;
+    }
+    
+    public void setMaxLines(Integer maxLines) {
+        this.maxLines = maxLines;
+    }
+    
+    public Long getByteOffset() {
+        return byteOffset;
+    }
+    
+    public void setByteOffset(Long byteOffset) {
+        this.byteOffset = byteOffset;
+    }
+    
+    public Long getByteLength() {
+        return byteLength;
+    }
+    
+    public void setByteLength(Long byteLength) {
+        this.byteLength = byteLength;
+    }
+    
+    @Override
+    public String toString() {
+        return "OutputFilter{include=" + include + ", exclude=" + exclude + ", head=" + head + ", tail=" + tail
+                + ", maxLines=" + maxLines + ", byteOffset=" + byteOffset + ", byteLength=" + byteLength + "}";
+    }
+}
@@ -0,0 +1,90 @@
+package app.sencico.edu.pe.gematica.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Salida guardada en disco por superar el umbral de memoria; se descarga por páginas")
+public class OutputHandle {
+    
+    @Schema(description = "Identificador de la salida", example = "5b0e6c1e-4f2a-4b8e-9d7c-2f1a3b4c5d6e")
+    private String id;
+    
+    @Schema(description = "Tamaño de la salida en bytes (UTF-8)", example = "4294967296")
+    private Long size;
+    
+    @Schema(description = "SHA-256 de la salida completa", example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+    private String sha256;
+    
+    @Schema(description = "true si se alcanzó la cuota de disco y el resto de la salida se descartó", example = "false")
+    private Boolean truncated;
+    
+    @Schema(description = "Fecha en que se elimina la salida")
+    private Instant expiresAt;
+    
+    @Schema(description = "Ruta para descargar la salida (admite offset y length)", example = "/geomatica/api/v1/outputs/5b0e6c1e-4f2a-4b8e-9d7c-2f1a3b4c5d6e")
+    private String url;
+    
+    // Constructor sin parámetros
+    public OutputHandle() {
+    }
+    
+    // Constructor con todos los parámetros
+    public OutputHandle(String id, Long size, String sha256, Boolean truncated, Instant expiresAt, String url) {
+        this.id = id;
+        this.size = size;
+        this.sha256 = sha256;
+        this.truncated = truncated;
+        this.expiresAt = expiresAt;
+        this.url = url;
+    }
+    
+    // Getters y Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public Long getSize() {
+        return size;
+    }
+    
+    public void setSize(Long size) {
+        this.size = size;
+    }
+    
+    public String getSha256() {
+        return sha256;
+    }
+    
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+    
+    public Boolean getTruncated() {
+        return truncated;
+    }
+    
+    public void setTruncated(Boolean truncated) {
+        this.truncated = truncated;
+    }
+    
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+    
+    public String getUrl() {
+        return url;
+    }
+    
+    public void setUrl(String url) {
+        this.url = url;
+    }
+}
@@ -0,0 +1,85 @@
+package app.sencico.edu.pe.gematica.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Schema(description = "Ejecución de un script registrado")
+public class ScriptExecutionRequest {
+    
+    @Schema(description = "Valores de los parámetros declarados al registrar el script", example = "{\"ORIGEN\": \"/datos\", \"DESTINO\": \"/respaldo\"}")
+    private Map<String, String> params = new LinkedHashMap<>();
+    
+    @Schema(description = "Tiempo máximo de espera en segundos (por defecto 30)", example = "60")
+    private Integer timeout = 30;
+    
+    @Schema(description = "Directorio de trabajo (opcional)", example = "@proyectos")
+    private String workingDirectory;
+    
+    @Schema(description = "Plantilla de entorno configurada en app.command.environment.templates (opcional)", example = "minimal")
+    private String environmentTemplate;
+    
+    @Schema(description = "Prioridad de ejecución: INTERACTIVE, NORMAL o BACKGROUND", example = "NORMAL")
+    @Pattern(regexp = "^(INTERACTIVE|NORMAL|BACKGROUND)$", message = "La prioridad debe ser INTERACTIVE, NORMAL o BACKGROUND")
+    private String priority = "NORMAL";
+    
+    @Schema(description = "Filtro de la salida estándar (opcional)")
+    @Valid
+    private OutputFilter filter;
+    
+    // Constructor sin parámetros
+    public ScriptExecutionRequest() {
+    }
+    
+    // Getters y Setters
+    public Map<String, String> getParams() {
+        return params;
+    }
+    
+    public void setParams(Map<String, String> params) {
+        this.params = params;
+    }
+    
+    public Integer getTimeout() {
+        return timeout;
+    }
+    
+    public void setTimeout(Integer timeout) {
+        this.timeout = timeout;
+    }
+    
+    public String getWorkingDirectory() {
+        return workingDirectory;
+    }
+    
+    public void setWorkingDirectory(String workingDirectory) {
+        this.workingDirectory = workingDirectory;
+    }
+    
+    public String getEnvironmentTemplate() {
+        return environmentTemplate;
+    }
+    
+    public void setEnvironmentTemplate(String environmentTemplate) {
+        this.environmentTemplate = environmentTemplate;
+    }
+    
+    public String getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+    
+    public OutputFilter getFilter() {
+        return filter;
+    }
+    
+    public void setFilter(OutputFilter filter) {
+        this.filter = filter;
+    }
+}
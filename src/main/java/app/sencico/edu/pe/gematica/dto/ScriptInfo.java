@@ -0,0 +1,91 @@
+package app.sencico.edu.pe.gematica.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "Script registrado")
+public class ScriptInfo {
+    
+    @Schema(description = "Identificador: SHA-256 del intérprete y el contenido", example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+    private String id;
+    
+    @Schema(description = "Nombre descriptivo del script", example = "respaldo-diario")
+    private String name;
+    
+    @Schema(description = "Intérprete", example = "sh")
+    private String interpreter;
+    
+    @Schema(description = "Parámetros que recibe el script", example = "[\"ORIGEN\", \"DESTINO\"]")
+    private List<String> parameters;
+    
+    @Schema(description = "Tamaño del script en bytes", example = "512")
+    private Long size;
+    
+    @Schema(description = "Fecha de registro")
+    private Instant createdAt;
+    
+    // Constructor sin parámetros
+    public ScriptInfo() {
+    }
+    
+    // Constructor con todos los parámetros
+    public ScriptInfo(String id, String name, String interpreter, List<String> parameters, Long size, Instant createdAt) {
+        this.id = id;
+        this.name = name;
+        this.interpreter = interpreter;
+        this.parameters = parameters;
+        this.size = size;
+        this.createdAt = createdAt;
+    }
+    
+    // Getters y Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getInterpreter() {
+        return interpreter;
+    }
+    
+    public void setInterpreter(String interpreter) {
+        this.interpreter = interpreter;
+    }
+    
+    public List<String> getParameters() {
+        return parameters;
+    }
+    
+    public void setParameters(List<String> parameters) {
+        this.parameters = parameters;
+    }
+    
+    public Long getSize() {
+        return size;
+    }
+    
+    public void setSize(Long size) {
+        this.size = size;
+    }
+    
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
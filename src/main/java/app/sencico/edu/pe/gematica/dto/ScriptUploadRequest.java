@@ -0,0 +1,74 @@
+package app.sencico.edu.pe.gematica.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Script a registrar. Se guarda una sola vez y se ejecuta por su hash")
+public class ScriptUploadRequest {
+    
+    @Schema(description = "Nombre descriptivo del script", example = "respaldo-diario")
+    @Size(max = 128, message = "El nombre no puede superar 128 caracteres")
+    private String name;
+    
+    @Schema(description = "Intérprete: sh, bash, cmd o powershell", example = "sh", required = true)
+    @NotBlank(message = "El intérprete no puede estar vacío")
+    @Pattern(regexp = "^(sh|bash|cmd|powershell)$", message = "El intérprete debe ser sh, bash, cmd o powershell")
+    private String interpreter;
+    
+    @Schema(description = "Contenido del script", example = "#!/bin/sh\ncp -r \"$ORIGEN\" \"$DESTINO\"", required = true)
+    @NotBlank(message = "El contenido del script no puede estar vacío")
+    private String content;
+    
+    @Schema(description = "Parámetros que recibe el script. Llegan como variables de entorno con el mismo nombre y, salvo en cmd, también como argumentos $1, $2... en este orden", example = "[\"ORIGEN\", \"DESTINO\"]")
+    private List<String> parameters = new ArrayList<>();
+    
+    // Constructor sin parámetros
+    public ScriptUploadRequest() {
+    }
+    
+    // Constructor con todos los parámetros
+    public ScriptUploadRequest(String name, String interpreter, String content, List<String> parameters) {
+        this.name = name;
+        this.interpreter = interpreter;
+        this.content = content;
+        this.parameters = parameters;
+    }
+    
+    // Getters y Setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getInterpreter() {
+        return interpreter;
+    }
+    
+    public void setInterpreter(String interpreter) {
+        this.interpreter = interpreter;
+    }
+    
+    public String getContent() {
+        return content;
+    }
+    
+    public void setContent(String content) {
+        this.content = content;
+    }
+    
+    public List<String> getParameters() {
+        return parameters;
+    }
+    
+    public void setParameters(List<String> parameters) {
+        this.parameters = parameters;
+    }
+}
@@ -0,0 +1,65 @@
+package app.sencico.edu.pe.gematica.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Salida del comando convertida a registros tipados (format = STRUCTURED)")
+public class StructuredOutput {
+    
+    @Schema(description = "Tipo de esquema de los registros", example = "PROCESS_LIST")
+    private String type;
+    
+    @Schema(description = "Registros obtenidos de la salida del comando")
+    private List<Map<String, Object>> records = new ArrayList<>();
+    
+    @Schema(description = "Datos agregados de la salida (por ejemplo, estadísticas de ping)")
+    private Map<String, Object> summary = new LinkedHashMap<>();
+    
+    @Schema(description = "Cantidad de líneas que no pudieron interpretarse", example = "0")
+    private Integer unparsedLines = 0;
+    
+    // Constructor sin parámetros
+    public StructuredOutput() {
+    }
+    
+    public StructuredOutput(String type) {
+        this.type = type;
+    }
+    
+    // Getters y Setters
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public List<Map<String, Object>> getRecords() {
+        return records;
+    }
+    
+    public void setRecords(List<Map<String, Object>> records) {
+        this.records = records;
+    }
+    
+    public Map<String, Object> getSummary() {
+        return summary;
+    }
+    
+    public void setSummary(Map<String, Object> summary) {
+        this.summary = summary;
+    }
+    
+    public Integer getUnparsedLines() {
+        return unparsedLines;
+    }
+    
+    public void setUnparsedLines(Integer unparsedLines) {
+        this.unparsedLines = unparsedLines;
+    }
+}
@@ -0,0 +1,20 @@
+package app.sencico.edu.pe.gematica.exception;
+
+/**
+ * No hubo cupo para ejecutar antes del tiempo de espera. Se responde 503 con Retry-After; a
+ * diferencia del apagado, la conexión se mantiene.
+ */
+public class CapacityExceededException extends ServiceUnavailableException {
+	private static final long serialVersionUID = 2873041936521846107L;
+	
+	private final long retryAfterSeconds;
+	
+	public CapacityExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
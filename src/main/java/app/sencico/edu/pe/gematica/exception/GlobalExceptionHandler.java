@@ -3,6 +3,7 @@ package app.sencico.edu.pe.gematica.exception;
 import app.sencico.edu.pe.gematica.dto.CommandResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -32,6 +33,45 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
     
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<CommandResponse> handleRateLimitExceededException(RateLimitExceededException ex) {
+        CommandResponse response = new CommandResponse();
+        response.setStatus("ERROR");
+        response.setExitCode(-1);
+        response.setMessage(ex.getMessage());
+        response.setExecutedAt(LocalDateTime.now());
+        
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+    
+    @ExceptionHandler(CapacityExceededException.class)
+    public ResponseEntity<CommandResponse> handleCapacityExceededException(CapacityExceededException ex) {
+        CommandResponse response = new CommandResponse();
+        response.setStatus("ERROR");
+        response.setExitCode(-1);
+        response.setMessage(ex.getMessage());
+        response.setExecutedAt(LocalDateTime.now());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+    
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<CommandResponse> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        CommandResponse response = new CommandResponse();
+        response.setStatus("ERROR");
+        response.setExitCode(-1);
+        response.setMessage(ex.getMessage());
+        response.setExecutedAt(LocalDateTime.now());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.CONNECTION, "close")
+                .body(response);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, Object> errors = new HashMap<>();
@@ -0,0 +1,16 @@
+package app.sencico.edu.pe.gematica.exception;
+
+public class RateLimitExceededException extends RuntimeException {
+	private static final long serialVersionUID = -4120931546720315187L;
+	
+	private final long retryAfterSeconds;
+	
+	public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,9 @@
+package app.sencico.edu.pe.gematica.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+	private static final long serialVersionUID = 6017293544150638211L;
+	
+	public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -2,19 +2,35 @@ package app.sencico.edu.pe.gematica.service;
 
 import app.sencico.edu.pe.gematica.dto.CommandRequest;
 import app.sencico.edu.pe.gematica.dto.CommandResponse;
+import app.sencico.edu.pe.gematica.dto.OutputHandle;
 import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+import app.sencico.edu.pe.gematica.exception.ServiceUnavailableException;
+import app.sencico.edu.pe.gematica.service.builtin.BuiltinCommandRegistry;
+import app.sencico.edu.pe.gematica.service.catalog.CommandCatalog;
+import app.sencico.edu.pe.gematica.service.output.OutputStore;
+import app.sencico.edu.pe.gematica.service.parser.OutputParser;
+import app.sencico.edu.pe.gematica.service.parser.OutputParserFactory;
+import app.sencico.edu.pe.gematica.service.script.PreparedScript;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class CommandExecutorService {
@@ -22,83 +38,266 @@ public class CommandExecutorService {
     private static final Logger log = LoggerFactory.getLogger(CommandExecutorService.class);
     private static final String OS_NAME = System.getProperty("os.name").toLowerCase();
     private final CommandTranslator commandTranslator;
+    private final OutputParserFactory outputParserFactory;
+    private final BuiltinCommandRegistry builtinCommandRegistry;
+    private final WorkingDirectoryRegistry workingDirectoryRegistry;
+    private final EnvironmentTemplateRegistry environmentTemplateRegistry;
+    private final ExecutionTracker executionTracker;
+    private final ExecutionScheduler executionScheduler;
+    private final CommandCatalog commandCatalog;
+    private final OutputStore outputStore;
+    private final ExecutorService executionExecutor;
+    
+    @Value("${app.command.max-timeout:300}")
+    private int maxTimeout;
+    
+    @Value("${app.command.execution.poll-interval-ms:100}")
+    private long pollIntervalMillis;
+    
+    @Value("${app.command.execution.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMillis;
+    
+    @Value("${app.command.execution.drain-timeout-ms:2000}")
+    private long drainTimeoutMillis;
     
     // Constructor para inyección de dependencias
-    public CommandExecutorService(CommandTranslator commandTranslator) {
+    public CommandExecutorService(CommandTranslator commandTranslator, OutputParserFactory outputParserFactory,
+                                  BuiltinCommandRegistry builtinCommandRegistry,
+                                  WorkingDirectoryRegistry workingDirectoryRegistry,
+                                  EnvironmentTemplateRegistry environmentTemplateRegistry,
+                                  ExecutionTracker executionTracker,
+                                  ExecutionScheduler executionScheduler,
+                                  CommandCatalog commandCatalog,
+                                  OutputStore outputStore,
+                                  @Qualifier("executionExecutor") ExecutorService executionExecutor) {
         this.commandTranslator = commandTranslator;
+        this.outputParserFactory = outputParserFactory;
+        this.builtinCommandRegistry = builtinCommandRegistry;
+        this.workingDirectoryRegistry = workingDirectoryRegistry;
+        this.environmentTemplateRegistry = environmentTemplateRegistry;
+        this.executionTracker = executionTracker;
+        this.executionScheduler = executionScheduler;
+        this.commandCatalog = commandCatalog;
+        this.outputStore = outputStore;
+        this.executionExecutor = executionExecutor;
     }
     
     public CommandResponse executeCommand(CommandRequest request) {
+        return executeCommand(request, new ExecutionContext(null));
+    }
+    
+    public CommandResponse executeCommand(CommandRequest request, ExecutionContext context) {
+        return execute(request, null, context);
+    }
+    
+    /**
+     * Ejecuta un script del registro. Comparte carriles, timeouts, filtros y seguimiento con
+     * los comandos, pero no se traduce ni pasa por los comandos integrados.
+     */
+    public CommandResponse executeScript(CommandRequest request, PreparedScript script, ExecutionContext context) {
+        return execute(request, script, context);
+    }
+    
+    private CommandResponse execute(CommandRequest request, PreparedScript script, ExecutionContext context) {
         long startTime = System.currentTimeMillis();
+        context.setCommand(request.getCommand());
         
         try {
+            // Durante el apagado no se admiten ejecuciones nuevas (el balanceador reintenta en otro nodo)
+            rejectIfDraining();
+            
+            // Tiempo de espera efectivo: timeout de la petición, limitado por max-timeout y X-Request-Deadline
+            long timeoutNanos = effectiveTimeoutNanos(request, context);
+            
             // Detectar sistema operativo
             String operatingSystem = detectOperatingSystem(request.getOperatingSystem());
             
             // Traducir comando según el SO actual
-            CommandTranslator.CommandTranslation translation = commandTranslator.translateCommand(
-                request.getCommand(), 
-                request.getArguments(), 
-                operatingSystem
-            );
-            
-            // Construir el comando según el SO con el comando traducido
-            List<String> command = buildCommand(translation.getCommand(), translation.getArguments(), operatingSystem);
-            
-            // Configurar ProcessBuilder
-            ProcessBuilder processBuilder = new ProcessBuilder(command);
+            PhaseTimer phase = context.startPhase("translate");
+            CommandTranslator.CommandTranslation translation;
+            List<String> command;
+            if (script != null) {
+                // Los scripts registrados ya tienen su línea de comandos preparada
+                translation = new CommandTranslator.CommandTranslation(request.getCommand(), null);
+                command = script.command();
+            } else {
+                translation = commandTranslator.translateCommand(
+                    request.getCommand(), 
+                    request.getArguments(), 
+                    operatingSystem
+                );
+                
+                // Construir el comando según el SO con el comando traducido
+                command = buildCommand(translation.getCommand(), translation.getArguments(), operatingSystem);
+            }
+            phase.end();
             
-            // Establecer directorio de trabajo si se especifica
-            if (request.getWorkingDirectory() != null && !request.getWorkingDirectory().isEmpty()) {
-                File workDir = new File(request.getWorkingDirectory());
-                if (!workDir.exists() || !workDir.isDirectory()) {
-                    throw new CommandExecutionException("El directorio de trabajo no existe: " + request.getWorkingDirectory());
+            phase = context.startPhase("validate");
+            // Parser estructurado (se valida antes de crear el proceso)
+            OutputParser parser = null;
+            if ("STRUCTURED".equalsIgnoreCase(request.getFormat())) {
+                parser = outputParserFactory.createParser(translation.getCommand());
+                if (parser == null) {
+                    throw new CommandExecutionException("El formato STRUCTURED no está disponible para el comando: " + translation.getCommand());
                 }
-                processBuilder.directory(workDir);
             }
             
-            // Combinar error y output streams
-            processBuilder.redirectErrorStream(false);
-            
-            log.info("Ejecutando comando: {} en SO: {}", command, operatingSystem);
-            
-            // Ejecutar el comando
-            Process process = processBuilder.start();
+            // Captura de stdout (pasa a disco si supera app.outputs.spill-threshold) y filtro de la
+            // salida (valida las expresiones regulares antes de crear el proceso)
+            OutputCapture stdoutCapture = context.isCaptureOutput() ? new OutputCapture(outputStore) : null;
+            OutputCapture stderrCapture = context.isCaptureOutput() ? new OutputCapture(outputStore) : null;
+            LineFilter lineFilter = request.getFilter() != null
+                    ? LineFilter.of(request.getFilter(), stdoutCapture, outputStore.getMaxTailLines(),
+                            outputStore.getFilterMatchTimeoutNanos())
+                    : null;
             
-            // Leer la salida
-            String output = readStream(new BufferedReader(new InputStreamReader(process.getInputStream())));
-            String errorOutput = readStream(new BufferedReader(new InputStreamReader(process.getErrorStream())));
+            // Validar directorio de trabajo si se especifica
+            File workDir = workingDirectoryRegistry.resolve(request.getWorkingDirectory());
             
-            // Esperar a que termine con timeout
-            boolean finished = process.waitFor(request.getTimeout(), TimeUnit.SECONDS);
+            // Validar plantilla y variables de entorno
+            environmentTemplateRegistry.validate(request.getEnvironmentTemplate(), request.getEnvironment());
+            phase.end();
             
-            if (!finished) {
-                process.destroyForcibly();
-                throw new CommandExecutionException("El comando excedió el tiempo de espera de " + request.getTimeout() + " segundos");
+            // Ruta rápida: comandos informativos resueltos dentro de la JVM
+            // (solo con el entorno de la JVM, que es el que leen los comandos integrados)
+            boolean customEnvironment = environmentTemplateRegistry.isCustomized(
+                    request.getEnvironmentTemplate(), request.getEnvironment());
+            List<String> builtinOutput = null;
+            if (script == null && !customEnvironment) {
+                builtinOutput = builtinCommandRegistry.tryExecute(
+                        translation.getCommand(), translation.getArguments(), operatingSystem, workDir);
+            }
+            if (builtinOutput != null) {
+                log.info("Ejecutando comando integrado: {} en SO: {}", command, operatingSystem);
+                phase = context.startPhase("builtin");
+                CommandResponse response = buildBuiltinResponse(builtinOutput, parser, lineFilter, command, workDir, context, startTime);
+                phase.end();
+                return response;
             }
             
-            int exitCode = process.exitValue();
-            long executionTime = System.currentTimeMillis() - startTime;
-            
-            // Construir respuesta
-            CommandResponse response = new CommandResponse();
-            response.setStatus(exitCode == 0 ? "SUCCESS" : "ERROR");
-            response.setExitCode(exitCode);
-            response.setOutput(output);
-            response.setErrorOutput(errorOutput);
-            response.setExecutedCommand(String.join(" ", command));
-            response.setOperatingSystem(System.getProperty("os.name") + " " + System.getProperty("os.version"));
-            response.setExecutionTime(executionTime);
-            response.setExecutedAt(LocalDateTime.now());
-            response.setWorkingDirectory(processBuilder.directory() != null ? 
-                    processBuilder.directory().getAbsolutePath() : 
-                    System.getProperty("user.dir"));
-            response.setMessage(exitCode == 0 ? "Comando ejecutado exitosamente" : "El comando terminó con código de error " + exitCode);
-            return response;
+            // Esperar cupo en el carril de prioridad; la espera se descuenta del timeout
+            ExecutionScheduler.Lane lane = ExecutionScheduler.laneOf(request.getPriority());
+            phase = context.startPhase("queue");
+            timeoutNanos -= executionScheduler.acquire(lane, timeoutNanos,
+                    TimeUnit.MILLISECONDS.toNanos(pollIntervalMillis), context);
+            phase.end();
+            try {
+                // Las que esperaban cupo cuando empezó el apagado tampoco llegan a ejecutarse
+                rejectIfDraining();
+                
+                // Sin metacaracteres de shell se ejecuta el binario del catálogo directamente, sin /bin/sh
+                // (con un entorno personalizado el PATH puede ser otro, así que se deja al shell)
+                List<String> directCommand = script != null || customEnvironment ? null : commandCatalog.directCommand(
+                        translation.getCommand(), translation.getArguments(), operatingSystem);
+                if (directCommand != null) {
+                    command = directCommand;
+                }
+                
+                // Configurar ProcessBuilder (en Linux los carriles bajos corren con nice/ionice)
+                ProcessBuilder processBuilder = new ProcessBuilder(executionScheduler.applyNiceness(lane, command));
+                processBuilder.directory(workDir);
+                environmentTemplateRegistry.apply(processBuilder, request.getEnvironmentTemplate(), request.getEnvironment());
+                if (script != null) {
+                    processBuilder.environment().putAll(script.environment());
+                }
+                
+                // Combinar error y output streams
+                processBuilder.redirectErrorStream(false);
+                
+                log.info("Ejecutando comando: {} en SO: {}", command, operatingSystem);
+                
+                // Ejecutar el comando (fork/exec)
+                phase = context.startPhase("spawn");
+                Process process = processBuilder.start();
+                phase.end();
+                context.attach(process);
+                executionTracker.register(context);
+                try {
+                    // Leer stdout y stderr en paralelo (el parser y el filtro procesan cada línea en la misma pasada)
+                    OutputParser stdoutParser = parser;
+                    Future<String> stdout = executionExecutor.submit(() -> readStream(
+                            new BufferedReader(new InputStreamReader(process.getInputStream())), context, true, stdoutParser,
+                            lineFilter, stdoutCapture));
+                    Future<String> stderr = executionExecutor.submit(() -> readStream(
+                            new BufferedReader(new InputStreamReader(process.getErrorStream())), context, false, null,
+                            null, stderrCapture));
+                    
+                    // Esperar a que termine con timeout, atendiendo cancelaciones
+                    long waitStart = System.nanoTime();
+                    phase = context.startPhase("run");
+                    boolean finished = awaitProcess(process, context, timeoutNanos);
+                    phase.end();
+                    
+                    if (!finished) {
+                        long remainingNanos = timeoutNanos - (System.nanoTime() - waitStart);
+                        if (context.isCancelled()) {
+                            executionTracker.recordCancellation(context, process, remainingNanos);
+                            if (ExecutionContext.SHUTDOWN.equals(context.getCancelReason())) {
+                                return buildInterruptedResponse(awaitDrain(stdout, process), awaitDrain(stderr, process),
+                                        command, processBuilder.directory(), startTime);
+                            }
+                            throw new CommandExecutionException("Ejecución cancelada: " + context.getCancelReason());
+                        }
+                        if (context.getDeadline() != null && !Instant.now().isBefore(context.getDeadline())) {
+                            context.cancel("deadline");
+                            executionTracker.recordCancellation(context, process, 0);
+                            throw new CommandExecutionException("La petición superó su fecha límite (" + ExecutionContext.DEADLINE_HEADER + ")");
+                        }
+                        executionTracker.killProcessTree(process);
+                        throw new CommandExecutionException("El comando excedió el tiempo de espera de " + request.getTimeout() + " segundos");
+                    }
+                    
+                    phase = context.startPhase("drain");
+                    String output = awaitDrain(stdout, process);
+                    String errorOutput = awaitDrain(stderr, process);
+                    phase.end();
+                    // El proceso terminó antes de que el ejecutor viera la cancelación del filtro
+                    if (ExecutionContext.FILTER_TIMEOUT.equals(context.getCancelReason())) {
+                        throw new CommandExecutionException("Ejecución cancelada: " + context.getCancelReason());
+                    }
+                    int exitCode = process.exitValue();
+                    long executionTime = System.currentTimeMillis() - startTime;
+                    
+                    // Construir respuesta
+                    CommandResponse response = new CommandResponse();
+                    response.setStatus(exitCode == 0 ? "SUCCESS" : "ERROR");
+                    response.setExitCode(exitCode);
+                    setCapturedOutput(response, output, stdoutCapture);
+                    setCapturedErrorOutput(response, errorOutput, stderrCapture);
+                    response.setExecutedCommand(String.join(" ", command));
+                    response.setOperatingSystem(System.getProperty("os.name") + " " + System.getProperty("os.version"));
+                    response.setExecutionTime(executionTime);
+                    response.setExecutedAt(LocalDateTime.now());
+                    response.setWorkingDirectory(processBuilder.directory() != null ? 
+                            processBuilder.directory().getAbsolutePath() : 
+                            System.getProperty("user.dir"));
+                    response.setMessage(exitCode == 0 ? "Comando ejecutado exitosamente" : "El comando terminó con código de error " + exitCode);
+                    if (parser != null) {
+                        phase = context.startPhase("parse");
+                        response.setStructuredOutput(parser.finish());
+                        phase.end();
+                    }
+                    if (lineFilter != null) {
+                        response.setFilterStats(lineFilter.stats());
+                    }
+                    return response;
+                } finally {
+                    executionTracker.unregister(context);
+                    // Sin efecto si la salida ya se publicó
+                    if (stdoutCapture != null) {
+                        stdoutCapture.discard();
+                        stderrCapture.discard();
+                    }
+                }
+            } finally {
+                executionScheduler.release(lane);
+            }
                     
         } catch (CommandExecutionException e) {
             log.error("Error al ejecutar comando: {}", e.getMessage());
             throw e;
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error inesperado al ejecutar comando", e);
             long executionTime = System.currentTimeMillis() - startTime;
@@ -113,7 +312,173 @@ public class CommandExecutorService {
             errorResponse.setMessage("Error al ejecutar comando: " + e.getMessage());
             errorResponse.setWorkingDirectory(request.getWorkingDirectory());
             return errorResponse;
+        } finally {
+            context.markFinished();
+        }
+    }
+    
+    /**
+     * Calcula el tiempo de espera: el menor entre el timeout de la petición,
+     * app.command.max-timeout y lo que falta para X-Request-Deadline
+     */
+    private long effectiveTimeoutNanos(CommandRequest request, ExecutionContext context) {
+        return effectiveTimeoutNanos(request.getTimeout(), maxTimeout, context.getDeadline(), Instant.now());
+    }
+    
+    static long effectiveTimeoutNanos(Integer requestedTimeout, int maxTimeout, Instant deadline, Instant now) {
+        int requested = requestedTimeout != null ? requestedTimeout : 30;
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(Math.min(requested, maxTimeout));
+        if (deadline != null) {
+            long untilDeadline = Duration.between(now, deadline).toNanos();
+            if (untilDeadline <= 0) {
+                throw new CommandExecutionException("La fecha límite de la petición ya venció (" + ExecutionContext.DEADLINE_HEADER + ")");
+            }
+            timeoutNanos = Math.min(timeoutNanos, untilDeadline);
+        }
+        return timeoutNanos;
+    }
+    
+    /**
+     * Espera al proceso revisando la cancelación cada poll-interval y enviando
+     * heartbeats al listener. Devuelve false si se canceló o venció el tiempo.
+     */
+    private boolean awaitProcess(Process process, ExecutionContext context, long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        long pollNanos = TimeUnit.MILLISECONDS.toNanos(pollIntervalMillis);
+        long heartbeatNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMillis);
+        long nextHeartbeat = System.nanoTime() + heartbeatNanos;
+        while (!context.isCancelled()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            if (process.waitFor(Math.min(remaining, pollNanos), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            if (System.nanoTime() >= nextHeartbeat) {
+                nextHeartbeat = System.nanoTime() + heartbeatNanos;
+                try {
+                    context.getListener().heartbeat();
+                } catch (IOException e) {
+                    context.cancel("client_disconnect");
+                }
+            }
         }
+        return false;
+    }
+    
+    /**
+     * Espera a que termine la lectura de un stream. Si un proceso nieto en segundo plano
+     * mantiene abierto el pipe, se cierra el stream tras drain-timeout.
+     */
+    private String awaitDrain(Future<String> drain, Process process) throws InterruptedException, IOException {
+        try {
+            return drain.get(drainTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Un proceso en segundo plano mantiene abierta la salida; se cierra el stream");
+            process.getInputStream().close();
+            process.getErrorStream().close();
+            try {
+                return drain.get(drainTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException ex) {
+                return "";
+            }
+        } catch (ExecutionException e) {
+            throw new IOException("Error al leer la salida del comando", e.getCause());
+        }
+    }
+    
+    private void rejectIfDraining() {
+        if (executionTracker.isDraining()) {
+            throw new ServiceUnavailableException("El servidor se está apagando y no admite ejecuciones nuevas");
+        }
+    }
+    
+    /**
+     * Respuesta de una ejecución interrumpida por el apagado, con la salida leída hasta ese momento
+     * (si la salida ya había pasado a disco se descarta)
+     */
+    private CommandResponse buildInterruptedResponse(String output, String errorOutput, List<String> command,
+                                                     File workDir, long startTime) {
+        CommandResponse response = new CommandResponse();
+        response.setStatus("INTERRUPTED");
+        response.setExitCode(-1);
+        response.setOutput(output);
+        response.setErrorOutput(errorOutput);
+        response.setExecutedCommand(String.join(" ", command));
+        response.setOperatingSystem(System.getProperty("os.name") + " " + System.getProperty("os.version"));
+        response.setExecutionTime(System.currentTimeMillis() - startTime);
+        response.setExecutedAt(LocalDateTime.now());
+        response.setWorkingDirectory(workDir != null ? workDir.getAbsolutePath() : System.getProperty("user.dir"));
+        response.setMessage("La ejecución se interrumpió porque el servidor se está apagando; se puede reintentar en otro nodo");
+        return response;
+    }
+    
+    /**
+     * Asigna stdout a la respuesta, o el handle si la salida pasó a disco
+     */
+    private void setCapturedOutput(CommandResponse response, String output, OutputCapture capture) throws IOException {
+        OutputHandle handle = capture != null ? capture.finish() : null;
+        if (handle != null) {
+            response.setOutputHandle(handle);
+            response.setOutput(null);
+        } else {
+            response.setOutput(output);
+        }
+    }
+    
+    /**
+     * Asigna stderr a la respuesta, o el handle si la salida de error pasó a disco
+     */
+    private void setCapturedErrorOutput(CommandResponse response, String errorOutput, OutputCapture capture) throws IOException {
+        OutputHandle handle = capture != null ? capture.finish() : null;
+        if (handle != null) {
+            response.setErrorOutputHandle(handle);
+            response.setErrorOutput(null);
+        } else {
+            response.setErrorOutput(errorOutput);
+        }
+    }
+    
+    private CommandResponse buildBuiltinResponse(List<String> lines, OutputParser parser, LineFilter lineFilter,
+                                                 List<String> command, File workDir, ExecutionContext context,
+                                                 long startTime) throws IOException {
+        StringBuilder output = new StringBuilder();
+        for (String line : lines) {
+            boolean kept = lineFilter == null || lineFilter.test(line);
+            if (lineFilter == null) {
+                output.append(line).append(System.lineSeparator());
+            }
+            if (parser != null) {
+                parser.accept(line);
+            }
+            if (kept) {
+                context.getListener().onStdout(line);
+            }
+        }
+        
+        CommandResponse response = new CommandResponse();
+        response.setStatus("SUCCESS");
+        response.setExitCode(0);
+        if (lineFilter != null) {
+            setCapturedOutput(response, lineFilter.finish(), lineFilter.getCapture());
+        } else {
+            response.setOutput(context.isCaptureOutput() ? output.toString() : null);
+        }
+        response.setErrorOutput(context.isCaptureOutput() ? "" : null);
+        response.setExecutedCommand(String.join(" ", command));
+        response.setOperatingSystem(System.getProperty("os.name") + " " + System.getProperty("os.version"));
+        response.setExecutionTime(System.currentTimeMillis() - startTime);
+        response.setExecutedAt(LocalDateTime.now());
+        response.setWorkingDirectory(workDir != null ? workDir.getAbsolutePath() : System.getProperty("user.dir"));
+        response.setMessage("Comando ejecutado exitosamente");
+        if (parser != null) {
+            response.setStructuredOutput(parser.finish());
+        }
+        if (lineFilter != null) {
+            response.setFilterStats(lineFilter.stats());
+        }
+        return response;
     }
     
     private String detectOperatingSystem(String requestedOS) {
@@ -129,7 +494,7 @@ public class CommandExecutorService {
         return requestedOS;
     }
     
-    private List<String> buildCommand(String command, String arguments, String operatingSystem) {
+    List<String> buildCommand(String command, String arguments, String operatingSystem) {
         List<String> commandList = new ArrayList<>();
         
         switch (operatingSystem.toUpperCase()) {
@@ -163,55 +528,59 @@ public class CommandExecutorService {
         return commandList;
     }
     
-    private String readStream(BufferedReader reader) throws IOException {
-        StringBuilder output = new StringBuilder();
-        String line;
-        while ((line = reader.readLine()) != null) {
-            output.append(line).append(System.lineSeparator());
-        }
-        return output.toString();
+    String readStream(BufferedReader reader, ExecutionContext context, boolean stdout,
+                              OutputParser parser) throws IOException {
+        return readStream(reader, context, stdout, parser, null,
+                context.isCaptureOutput() ? new OutputCapture(null) : null);
     }
     
-    public List<String> getAvailableCommands() {
-        List<String> commands = new ArrayList<>();
-        
-        if (OS_NAME.contains("win")) {
-            // Comandos comunes de Windows
-            commands.add("ping google.com -n 4 | Hace 4 pings a google.com");
-            commands.add("dir /b | Lista archivos y directorios (formato simple)");
-            commands.add("ipconfig /all | Muestra configuración completa de red");
-            commands.add("netstat -an | Muestra todas las conexiones y puertos");
-            commands.add("tasklist /v | Lista procesos con información detallada");
-            commands.add("systeminfo | Información completa del sistema");
-            commands.add("echo Hola Mundo | Muestra texto en pantalla");
-            commands.add("type archivo.txt | Muestra contenido de archivo");
-            commands.add("hostname | Muestra nombre del equipo");
-            commands.add("whoami | Muestra usuario actual");
-            commands.add("date /t | Muestra fecha actual");
-            commands.add("time /t | Muestra hora actual");
-            commands.add("cls | Limpia la pantalla");
-        } else {
-            // Comandos comunes de Unix/Linux/Mac
-            commands.add("ping google.com -c 4 | Hace 4 pings a google.com");
-            commands.add("ls -la | Lista archivos detallada incluyendo ocultos");
-            commands.add("pwd | Muestra directorio actual");
-            commands.add("ifconfig -a | Muestra toda la configuración de red");
-            commands.add("netstat -an | Muestra todas las conexiones y puertos");
-            commands.add("ps aux | Lista todos los procesos del sistema");
-            commands.add("uname -a | Información completa del sistema");
-            commands.add("echo 'Hola Mundo' | Muestra texto en pantalla");
-            commands.add("cat archivo.txt | Muestra contenido de archivo");
-            commands.add("hostname | Muestra nombre del equipo");
-            commands.add("whoami | Muestra usuario actual");
-            commands.add("date | Muestra fecha y hora actual");
-            commands.add("clear | Limpia la pantalla");
+    /**
+     * Lee un stream del proceso línea a línea, entregando cada línea al parser y al
+     * listener de la ejecución. Si el listener falla (cliente desconectado) se cancela
+     * la ejecución y se sigue drenando sin notificar. Con filtro solo se retiene lo que
+     * el filtro devuelve; el parser sigue recibiendo todas las líneas. Devuelve null si la
+     * salida pasó a disco (el handle se obtiene de la captura).
+     */
+    String readStream(BufferedReader reader, ExecutionContext context, boolean stdout,
+                              OutputParser parser, LineFilter filter, OutputCapture capture) throws IOException {
+        OutputListener listener = context.getListener();
+        String line;
+        try (reader) {
+            while ((line = reader.readLine()) != null) {
+                boolean kept;
+                try {
+                    kept = filter == null || filter.test(line);
+                } catch (LineFilter.MatchTimeoutException e) {
+                    // Se sigue drenando para que el proceso no se bloquee; el ejecutor lo termina
+                    log.warn("{}; se cancela la ejecución {}", e.getMessage(), context.getId());
+                    context.cancel(ExecutionContext.FILTER_TIMEOUT);
+                    filter = null;
+                    capture = null;
+                    parser = null;
+                    kept = false;
+                }
+                if (filter == null && capture != null) {
+                    capture.append(line);
+                }
+                if (parser != null) {
+                    parser.accept(line);
+                }
+                if (kept && listener != OutputListener.NONE && !context.isCancelled()) {
+                    try {
+                        if (stdout) {
+                            listener.onStdout(line);
+                        } else {
+                            listener.onStderr(line);
+                        }
+                    } catch (IOException e) {
+                        context.cancel("client_disconnect");
+                    }
+                }
+            }
         }
-        
-        // Agregar nota sobre traducción automática
-        commands.add("---");
-        commands.add("NOTA: Los comandos se traducen automáticamente entre sistemas operativos");
-        commands.add("Ejemplo: 'ping -c 4' en Linux se convierte a 'ping -n 4' en Windows");
-        
-        return commands;
+        if (filter != null) {
+            return filter.finish();
+        }
+        return capture != null ? capture.text() : null;
     }
 }
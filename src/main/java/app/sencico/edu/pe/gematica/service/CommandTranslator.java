@@ -4,7 +4,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -18,6 +17,30 @@ public class CommandTranslator {
     
     private static final String OS_NAME = System.getProperty("os.name").toLowerCase();
     
+    private static final Map<String, String> EQUIVALENCIES = Map.ofEntries(
+        // Windows -> Unix/Linux
+        Map.entry("dir", "ls"),
+        Map.entry("type", "cat"),
+        Map.entry("del", "rm"),
+        Map.entry("copy", "cp"),
+        Map.entry("move", "mv"),
+        Map.entry("cls", "clear"),
+        Map.entry("ipconfig", "ifconfig"),
+        Map.entry("tasklist", "ps"),
+        Map.entry("findstr", "grep"),
+        
+        // Unix/Linux -> Windows
+        Map.entry("ls", "dir"),
+        Map.entry("cat", "type"),
+        Map.entry("rm", "del"),
+        Map.entry("cp", "copy"),
+        Map.entry("mv", "move"),
+        Map.entry("clear", "cls"),
+        Map.entry("ifconfig", "ipconfig"),
+        Map.entry("ps", "tasklist"),
+        Map.entry("grep", "findstr")
+    );
+    
     /**
      * Traduce el comando y argumentos al formato correcto según el SO actual
      */
@@ -281,34 +304,9 @@ public class CommandTranslator {
     }
     
     /**
-     * Mapa de equivalencias de comandos entre sistemas
+     * Mapa de equivalencias de comandos entre sistemas (inmutable)
      */
     public Map<String, String> getCommandEquivalencies() {
-        Map<String, String> equivalencies = new HashMap<>();
-        
-        // Windows -> Unix/Linux
-        equivalencies.put("dir", "ls");
-        equivalencies.put("type", "cat");
-        equivalencies.put("del", "rm");
-        equivalencies.put("copy", "cp");
-        equivalencies.put("move", "mv");
-        equivalencies.put("cls", "clear");
-        equivalencies.put("ipconfig", "ifconfig");
-        equivalencies.put("tasklist", "ps");
-        equivalencies.put("findstr", "grep");
-        
-        // Unix/Linux -> Windows
-        equivalencies.put("ls", "dir");
-        equivalencies.put("cat", "type");
-        equivalencies.put("rm", "del");
-        equivalencies.put("cp", "copy");
-        equivalencies.put("mv", "move");
-        equivalencies.put("clear", "cls");
-        equivalencies.put("ifconfig", "ipconfig");
-        equivalencies.put("ps", "tasklist");
-        equivalencies.put("grep", "findstr");
-        
-        return equivalencies;
+        return EQUIVALENCIES;
     }
 }
-
@@ -0,0 +1,144 @@
+package app.sencico.edu.pe.gematica.service;
+
+import app.sencico.edu.pe.gematica.config.EnvironmentProperties;
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Plantillas de entorno precalculadas al arrancar. Aplicar una plantilla a
+ * ProcessBuilder solo copia un mapa inmutable, sin recalcular variables.
+ */
+@Component
+public class EnvironmentTemplateRegistry {
+    
+    private static final Logger log = LoggerFactory.getLogger(EnvironmentTemplateRegistry.class);
+    private static final Pattern VARIABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    
+    // Variables que leen las rutas rápidas (catálogo del PATH y comandos integrados de la JVM)
+    private static final List<String> FAST_PATH_VARIABLES = List.of("PATH", "TZ", "LANG", "LC_ALL", "HOME", "USER");
+    
+    private final EnvironmentProperties properties;
+    private final Map<String, Map<String, String>> snapshots = new HashMap<>();
+    private final boolean defaultMatchesJvm;
+    
+    // Constructor para inyección de dependencias
+    public EnvironmentTemplateRegistry(EnvironmentProperties properties) {
+        this.properties = properties;
+        Map<String, String> jvmEnvironment = System.getenv();
+        properties.getTemplates().forEach((name, template) -> {
+            Map<String, String> environment = template.isInherit() ? new HashMap<>(jvmEnvironment) : new HashMap<>();
+            template.getRemove().forEach(environment::remove);
+            environment.putAll(template.getVariables());
+            snapshots.put(name, Map.copyOf(environment));
+        });
+        String defaultTemplate = properties.getDefaultTemplate();
+        if (defaultTemplate != null && !defaultTemplate.isEmpty() && !snapshots.containsKey(defaultTemplate)) {
+            throw new IllegalStateException("La plantilla de entorno por defecto no existe: " + defaultTemplate);
+        }
+        defaultMatchesJvm = effectiveTemplate(null) == null
+                || matchesJvm(snapshots.get(defaultTemplate), jvmEnvironment);
+        if (!defaultMatchesJvm) {
+            log.info("La plantilla por defecto '{}' cambia {}: se desactivan los comandos integrados y la ejecución sin shell",
+                    defaultTemplate, FAST_PATH_VARIABLES);
+        }
+        log.info("Plantillas de entorno cargadas: {}", snapshots.keySet());
+    }
+    
+    /**
+     * Indica si la petición usa un entorno distinto al de la JVM. La plantilla por defecto
+     * solo cuenta si cambia alguna de las variables que leen las rutas rápidas; elegirla por
+     * nombre equivale a no indicar plantilla.
+     */
+    public boolean isCustomized(String templateName, Map<String, String> overrides) {
+        if (overrides != null && !overrides.isEmpty()) {
+            return true;
+        }
+        String template = effectiveTemplate(templateName);
+        if (template == null) {
+            return false;
+        }
+        return !template.equals(properties.getDefaultTemplate()) || !defaultMatchesJvm;
+    }
+    
+    /**
+     * Valida la plantilla y las variables de la petición antes de crear el proceso
+     */
+    public void validate(String templateName, Map<String, String> overrides) {
+        String template = effectiveTemplate(templateName);
+        if (template != null && !snapshots.containsKey(template)) {
+            throw new CommandExecutionException("La plantilla de entorno no existe: " + template);
+        }
+        if (overrides == null) {
+            return;
+        }
+        for (Map.Entry<String, String> variable : overrides.entrySet()) {
+            String name = variable.getKey();
+            if (!VARIABLE_NAME.matcher(name).matches()) {
+                throw new CommandExecutionException("Nombre de variable de entorno inválido: " + name);
+            }
+            if (variable.getValue() == null || variable.getValue().indexOf('\0') >= 0) {
+                throw new CommandExecutionException("Valor inválido para la variable de entorno: " + name);
+            }
+            if (matches(properties.getDeniedOverrides(), name) || !matches(properties.getAllowedOverrides(), name)) {
+                throw new CommandExecutionException("La variable de entorno no se puede modificar por política: " + name);
+            }
+        }
+    }
+    
+    /**
+     * Aplica la plantilla y las variables de la petición al entorno del proceso.
+     * Sin plantilla ni variables se conserva el entorno heredado de la JVM.
+     */
+    public void apply(ProcessBuilder processBuilder, String templateName, Map<String, String> overrides) {
+        String template = effectiveTemplate(templateName);
+        if (template == null && (overrides == null || overrides.isEmpty())) {
+            return;
+        }
+        Map<String, String> environment = processBuilder.environment();
+        if (template != null) {
+            environment.clear();
+            environment.putAll(snapshots.get(template));
+        }
+        if (overrides != null) {
+            environment.putAll(overrides);
+        }
+    }
+    
+    public List<String> getTemplateNames() {
+        return List.copyOf(snapshots.keySet());
+    }
+    
+    private String effectiveTemplate(String templateName) {
+        if (templateName != null && !templateName.isEmpty()) {
+            return templateName;
+        }
+        String defaultTemplate = properties.getDefaultTemplate();
+        return defaultTemplate != null && !defaultTemplate.isEmpty() ? defaultTemplate : null;
+    }
+    
+    private static boolean matchesJvm(Map<String, String> environment, Map<String, String> jvmEnvironment) {
+        for (String variable : FAST_PATH_VARIABLES) {
+            if (!Objects.equals(environment.get(variable), jvmEnvironment.get(variable))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean matches(List<String> patterns, String name) {
+        for (String pattern : patterns) {
+            if (pattern.endsWith("*") ? name.startsWith(pattern.substring(0, pattern.length() - 1)) : pattern.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,163 @@
+package app.sencico.edu.pe.gematica.service;
+
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Estado de una ejecución en curso: fecha límite de la petición, cancelación
+ * y proceso asociado
+ */
+public class ExecutionContext {
+    
+    public static final String DEADLINE_HEADER = "X-Request-Deadline";
+    
+    // Atributo de la petición HTTP con el contexto, para la cabecera Server-Timing
+    public static final String REQUEST_ATTRIBUTE = ExecutionContext.class.getName();
+    
+    // Motivo de cancelación de las ejecuciones que siguen en curso al agotarse el drenado
+    public static final String SHUTDOWN = "shutdown";
+    
+    // Motivo de cancelación cuando una expresión de filter supera el tiempo por línea
+    public static final String FILTER_TIMEOUT = "filter_timeout";
+    
+    private final String id = UUID.randomUUID().toString();
+    private final long startNanos = System.nanoTime();
+    private final Instant deadline;
+    private final OutputListener listener;
+    private final boolean captureOutput;
+    private volatile String cancelReason;
+    private volatile Process process;
+    private volatile String command;
+    private volatile long finishedNanos;
+    private volatile PhaseTimer serializePhase;
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+    
+    public ExecutionContext(Instant deadline) {
+        this(deadline, OutputListener.NONE, true);
+    }
+    
+    public ExecutionContext(Instant deadline, OutputListener listener, boolean captureOutput) {
+        this.deadline = deadline;
+        this.listener = listener;
+        this.captureOutput = captureOutput;
+    }
+    
+    /**
+     * Interpreta X-Request-Deadline: instante ISO-8601 o milisegundos desde epoch
+     */
+    public static Instant parseDeadline(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        String value = header.trim();
+        try {
+            if (value.chars().allMatch(Character::isDigit)) {
+                return Instant.ofEpochMilli(Long.parseLong(value));
+            }
+            return Instant.parse(value);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new CommandExecutionException("Valor inválido en " + DEADLINE_HEADER + ": " + header);
+        }
+    }
+    
+    /**
+     * Solicita la cancelación. El ejecutor la detecta y termina el árbol de procesos.
+     */
+    public void cancel(String reason) {
+        if (cancelReason == null) {
+            cancelReason = reason;
+        }
+    }
+    
+    public boolean isCancelled() {
+        return cancelReason != null;
+    }
+    
+    public String getCancelReason() {
+        return cancelReason;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public long getStartNanos() {
+        return startNanos;
+    }
+    
+    public Instant getDeadline() {
+        return deadline;
+    }
+    
+    public OutputListener getListener() {
+        return listener;
+    }
+    
+    public boolean isCaptureOutput() {
+        return captureOutput;
+    }
+    
+    public Process getProcess() {
+        return process;
+    }
+    
+    void attach(Process process) {
+        this.process = process;
+    }
+    
+    public String getCommand() {
+        return command;
+    }
+    
+    void setCommand(String command) {
+        this.command = command;
+    }
+    
+    /**
+     * Inicia la medición de una fase (JFR + Server-Timing)
+     */
+    PhaseTimer startPhase(String phase) {
+        return new PhaseTimer(this, phase);
+    }
+    
+    synchronized void recordPhase(String phase, long nanos) {
+        phaseNanos.merge(phase, nanos, Long::sum);
+    }
+    
+    /**
+     * Duración de cada fase en nanosegundos, en el orden en que se ejecutaron
+     */
+    public synchronized Map<String, Long> getPhaseTimings() {
+        return new LinkedHashMap<>(phaseNanos);
+    }
+    
+    /**
+     * Momento (System.nanoTime) en que el servicio devolvió la respuesta; 0 si no terminó
+     */
+    public long getFinishedNanos() {
+        return finishedNanos;
+    }
+    
+    void markFinished() {
+        this.finishedNanos = System.nanoTime();
+        // La cierra ServerTimingFilter cuando la respuesta ya se escribió completa
+        this.serializePhase = startPhase("serialize");
+    }
+    
+    /**
+     * Termina la fase serialize (evento JFR) una vez escrita la respuesta. Sin efecto si la
+     * ejecución no llegó a terminar o la fase ya se cerró.
+     */
+    public void endSerializePhase() {
+        PhaseTimer phase = serializePhase;
+        serializePhase = null;
+        if (phase != null) {
+            phase.end();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package app.sencico.edu.pe.gematica.service;
+
+import app.sencico.edu.pe.gematica.config.ShutdownProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drena las ejecuciones al apagar la aplicación. Se detiene antes que el servidor web
+ * (fase más alta que el apagado ordenado de Tomcat): marca readiness como REFUSING_TRAFFIC,
+ * deja de admitir ejecuciones y espera app.shutdown.grace-period a las que están en curso.
+ * Las que siguen corriendo se cancelan y responden con estado INTERRUPTED en lugar de
+ * perder la conexión.
+ */
+@Component
+public class ExecutionDrainer implements SmartLifecycle {
+    
+    private static final Logger log = LoggerFactory.getLogger(ExecutionDrainer.class);
+    private static final long POLL_MILLIS = 100;
+    
+    private final ExecutionTracker executionTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShutdownProperties properties;
+    private volatile boolean running;
+    
+    // Constructor para inyección de dependencias
+    public ExecutionDrainer(ExecutionTracker executionTracker, ApplicationEventPublisher eventPublisher,
+                            ShutdownProperties properties) {
+        this.executionTracker = executionTracker;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+    }
+    
+    @Override
+    public void start() {
+        running = true;
+    }
+    
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        executionTracker.beginDrain();
+        
+        int inFlight = executionTracker.getActive().size();
+        log.info("Apagando: se dejan de admitir ejecuciones, {} en curso (periodo de gracia {})",
+                inFlight, properties.getGracePeriod());
+        Collection<ExecutionContext> remaining = awaitIdle(properties.getGracePeriod().toNanos());
+        
+        int interrupted = remaining.size();
+        if (interrupted > 0) {
+            remaining.forEach(context -> context.cancel(ExecutionContext.SHUTDOWN));
+            // Las ejecuciones canceladas terminan su proceso y responden INTERRUPTED
+            Collection<ExecutionContext> stuck = awaitIdle(properties.getInterruptTimeout().toNanos());
+            if (!stuck.isEmpty()) {
+                log.warn("{} ejecuciones no respondieron tras interrumpirlas", stuck.size());
+            }
+        }
+        log.info("Drenado terminado: {} ejecuciones terminaron dentro del periodo de gracia, {} interrumpidas",
+                Math.max(inFlight - interrupted, 0), interrupted);
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    /**
+     * Fase máxima: se detiene antes que el servidor web y que el resto de componentes
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+    
+    /**
+     * Espera a que no queden ejecuciones en curso; devuelve las que siguen activas al vencer el plazo
+     */
+    private Collection<ExecutionContext> awaitIdle(long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        Collection<ExecutionContext> active = executionTracker.getActive();
+        while (!active.isEmpty() && System.nanoTime() < deadline) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            active = executionTracker.getActive();
+        }
+        return active;
+    }
+}
@@ -0,0 +1,33 @@
+package app.sencico.edu.pe.gematica.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento JFR por cada fase de una ejecución (traducción, validación, cola, fork/exec, ejecución,
+ * drenado de salida...). Con el umbral por defecto solo se registran las fases lentas, así que
+ * se puede dejar activo en grabaciones continuas; para verlo todo usar
+ * {@code jfr configure app.sencico.gematica.ExecutionPhase#threshold=0ms}.
+ */
+@Name("app.sencico.gematica.ExecutionPhase")
+@Label("Command Execution Phase")
+@Category({"Gematica", "Command Execution"})
+@Description("Duración de una fase de la ejecución de un comando")
+@StackTrace(false)
+@Threshold("10 ms")
+class ExecutionPhaseEvent extends Event {
+    
+    @Label("Execution Id")
+    String executionId;
+    
+    @Label("Phase")
+    String phase;
+    
+    @Label("Command")
+    String command;
+}
@@ -0,0 +1,268 @@
+package app.sencico.edu.pe.gematica.service;
+
+import app.sencico.edu.pe.gematica.config.LaneProperties;
+import app.sencico.edu.pe.gematica.exception.CapacityExceededException;
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admisión de procesos por carriles de prioridad. Hay un número fijo de cupos; cuando se
+ * libera uno se asigna con round-robin ponderado (smooth weighted round-robin) entre los
+ * carriles con peticiones en espera, así BACKGROUND avanza pero nunca acapara los cupos.
+ * En Linux los carriles pueden además ejecutar sus procesos con nice/ionice.
+ */
+@Component
+public class ExecutionScheduler {
+    
+    private static final Logger log = LoggerFactory.getLogger(ExecutionScheduler.class);
+    
+    public enum Lane {
+        INTERACTIVE, NORMAL, BACKGROUND
+    }
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Lane, LaneState> lanes = new EnumMap<>(Lane.class);
+    private final int maxConcurrent;
+    private final long retryAfterSeconds;
+    private int running;
+    
+    // Constructor para inyección de dependencias
+    public ExecutionScheduler(LaneProperties properties, MeterRegistry meterRegistry) {
+        this.maxConcurrent = properties.getMaxConcurrent() > 0
+                ? properties.getMaxConcurrent()
+                : Runtime.getRuntime().availableProcessors() * 2;
+        this.retryAfterSeconds = Math.max(1, properties.getRetryAfter().toSeconds());
+        boolean linux = System.getProperty("os.name").toLowerCase().contains("linux");
+        String nice = linux ? findExecutable("nice") : null;
+        String ionice = linux ? findExecutable("ionice") : null;
+        
+        lanes.put(Lane.INTERACTIVE, new LaneState(Lane.INTERACTIVE, properties.getInteractive(), nice, ionice, meterRegistry));
+        lanes.put(Lane.NORMAL, new LaneState(Lane.NORMAL, properties.getNormal(), nice, ionice, meterRegistry));
+        lanes.put(Lane.BACKGROUND, new LaneState(Lane.BACKGROUND, properties.getBackground(), nice, ionice, meterRegistry));
+        log.info("Carriles de ejecución: {} cupos, pesos {}", maxConcurrent,
+                lanes.values().stream().map(lane -> lane.lane + "=" + lane.weight).toList());
+    }
+    
+    public static Lane laneOf(String priority) {
+        if (priority == null || priority.isBlank()) {
+            return Lane.NORMAL;
+        }
+        try {
+            return Lane.valueOf(priority.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new CommandExecutionException("La prioridad debe ser INTERACTIVE, NORMAL o BACKGROUND");
+        }
+    }
+    
+    /**
+     * Espera un cupo en el carril indicado. Lanza {@link CapacityExceededException} si se
+     * agota el tiempo y {@link CommandExecutionException} si se cancela la ejecución antes de
+     * conseguirlo.
+     *
+     * @return nanosegundos esperados en la cola
+     */
+    long acquire(Lane lane, long timeoutNanos, long pollNanos, ExecutionContext context) throws InterruptedException {
+        LaneState state = lanes.get(lane);
+        long start = System.nanoTime();
+        long deadline = start + timeoutNanos;
+        lock.lock();
+        try {
+            if (running < maxConcurrent && noneWaiting()) {
+                admit(state);
+                state.waitTimer.record(0, TimeUnit.NANOSECONDS);
+                return 0;
+            }
+            Waiter waiter = new Waiter(lock.newCondition());
+            state.queue.add(waiter);
+            state.queued.incrementAndGet();
+            try {
+                while (!waiter.admitted) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || context.isCancelled()) {
+                        state.queue.remove(waiter);
+                        state.queued.decrementAndGet();
+                        if (context.isCancelled()) {
+                            throw new CommandExecutionException("Ejecución cancelada: " + context.getCancelReason());
+                        }
+                        throw new CapacityExceededException("No hubo capacidad para ejecutar el comando antes del tiempo de espera (carril "
+                                + lane + ")", retryAfterSeconds);
+                    }
+                    waiter.granted.awaitNanos(Math.min(remaining, pollNanos));
+                }
+            } catch (InterruptedException e) {
+                if (waiter.admitted) {
+                    releaseLocked(state);
+                } else {
+                    state.queue.remove(waiter);
+                    state.queued.decrementAndGet();
+                }
+                throw e;
+            }
+            long waited = System.nanoTime() - start;
+            state.waitTimer.record(waited, TimeUnit.NANOSECONDS);
+            return waited;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    void release(Lane lane) {
+        lock.lock();
+        try {
+            releaseLocked(lanes.get(lane));
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Antepone nice/ionice al comando según el carril (solo Linux y si los binarios existen)
+     */
+    List<String> applyNiceness(Lane lane, List<String> command) {
+        List<String> prefix = lanes.get(lane).prefix;
+        if (prefix.isEmpty()) {
+            return command;
+        }
+        List<String> wrapped = new ArrayList<>(prefix.size() + command.size());
+        wrapped.addAll(prefix);
+        wrapped.addAll(command);
+        return wrapped;
+    }
+    
+    private void releaseLocked(LaneState state) {
+        running--;
+        state.running.decrementAndGet();
+        dispatch();
+    }
+    
+    /**
+     * Asigna los cupos libres a los carriles con espera, por round-robin ponderado
+     */
+    private void dispatch() {
+        while (running < maxConcurrent) {
+            LaneState next = null;
+            int activeWeight = 0;
+            for (LaneState state : lanes.values()) {
+                if (state.queue.isEmpty()) {
+                    continue;
+                }
+                activeWeight += state.weight;
+                state.currentWeight += state.weight;
+                if (next == null || state.currentWeight > next.currentWeight) {
+                    next = state;
+                }
+            }
+            if (next == null) {
+                return;
+            }
+            next.currentWeight -= activeWeight;
+            Waiter waiter = next.queue.poll();
+            next.queued.decrementAndGet();
+            admit(next);
+            waiter.admitted = true;
+            waiter.granted.signal();
+        }
+    }
+    
+    private void admit(LaneState state) {
+        running++;
+        state.running.incrementAndGet();
+    }
+    
+    private boolean noneWaiting() {
+        for (LaneState state : lanes.values()) {
+            if (!state.queue.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static String findExecutable(String name) {
+        String path = System.getenv("PATH");
+        if (path == null) {
+            return null;
+        }
+        for (String dir : path.split(File.pathSeparator)) {
+            File candidate = new File(dir, name);
+            if (candidate.canExecute()) {
+                return candidate.getAbsolutePath();
+            }
+        }
+        return null;
+    }
+    
+    private static final class Waiter {
+        
+        private final Condition granted;
+        private boolean admitted;
+        
+        private Waiter(Condition granted) {
+            this.granted = granted;
+        }
+    }
+    
+    private static final class LaneState {
+        
+        private final Lane lane;
+        private final int weight;
+        private final List<String> prefix;
+        private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private final Timer waitTimer;
+        private int currentWeight;
+        
+        private LaneState(Lane lane, LaneProperties.Lane settings, String nice, String ionice, MeterRegistry meterRegistry) {
+            this.lane = lane;
+            this.weight = Math.max(settings.getWeight(), 1);
+            this.prefix = prefix(settings, nice, ionice);
+            String tag = lane.name().toLowerCase();
+            Gauge.builder("gematica.lanes.queued", queued, AtomicInteger::get)
+                    .description("Peticiones esperando cupo en el carril")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            Gauge.builder("gematica.lanes.running", running, AtomicInteger::get)
+                    .description("Procesos en ejecución del carril")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            this.waitTimer = Timer.builder("gematica.lanes.wait")
+                    .description("Tiempo de espera por un cupo de ejecución")
+                    .tag("lane", tag)
+                    .publishPercentiles(0.5, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+        
+        private static List<String> prefix(LaneProperties.Lane settings, String nice, String ionice) {
+            List<String> prefix = new ArrayList<>();
+            if (settings.getNice() != null && settings.getNice() != 0 && nice != null) {
+                prefix.addAll(List.of(nice, "-n", String.valueOf(settings.getNice())));
+            }
+            if (settings.getIoniceClass() != null && ionice != null) {
+                prefix.addAll(List.of(ionice, "-c", String.valueOf(settings.getIoniceClass())));
+                // El nivel solo aplica a las clases realtime (1) y best-effort (2)
+                if (settings.getIoniceLevel() != null && settings.getIoniceClass() != 3) {
+                    prefix.addAll(List.of("-n", String.valueOf(settings.getIoniceLevel())));
+                }
+            }
+            return List.copyOf(prefix);
+        }
+    }
+}
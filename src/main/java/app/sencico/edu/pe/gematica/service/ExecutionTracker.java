@@ -0,0 +1,96 @@
+package app.sencico.edu.pe.gematica.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de ejecuciones en curso y métricas de cancelación
+ * ({@code gematica.executions.*} en /actuator/metrics)
+ */
+@Component
+public class ExecutionTracker {
+    
+    private static final Logger log = LoggerFactory.getLogger(ExecutionTracker.class);
+    
+    private final Set<ExecutionContext> active = ConcurrentHashMap.newKeySet();
+    private final MeterRegistry meterRegistry;
+    private final Counter reclaimedCpu;
+    private volatile boolean draining;
+    
+    // Constructor para inyección de dependencias
+    public ExecutionTracker(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.reclaimedCpu = Counter.builder("gematica.executions.reclaimed.cpu")
+                .description("Tiempo de CPU estimado que no se consumió gracias a las cancelaciones")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        meterRegistry.gaugeCollectionSize("gematica.executions.active", List.of(), active);
+    }
+    
+    void register(ExecutionContext context) {
+        active.add(context);
+    }
+    
+    void unregister(ExecutionContext context) {
+        active.remove(context);
+    }
+    
+    public Collection<ExecutionContext> getActive() {
+        return List.copyOf(active);
+    }
+    
+    /**
+     * Deja de admitir ejecuciones nuevas (apagado en curso)
+     */
+    void beginDrain() {
+        draining = true;
+    }
+    
+    public boolean isDraining() {
+        return draining;
+    }
+    
+    /**
+     * Termina el proceso y todos sus descendientes. Los descendientes se capturan antes
+     * de terminar al padre, porque al morir este pasan a ser hijos de init.
+     */
+    void killProcessTree(Process process) {
+        List<ProcessHandle> descendants = new ArrayList<>();
+        process.descendants().forEach(descendants::add);
+        process.destroyForcibly();
+        descendants.forEach(ProcessHandle::destroyForcibly);
+    }
+    
+    /**
+     * Termina una ejecución cancelada y registra la CPU que se dejó de consumir.
+     * La estimación proyecta el uso de CPU observado sobre el tiempo que le quedaba.
+     */
+    void recordCancellation(ExecutionContext context, Process process, long remainingNanos) {
+        double cpuSeconds = cpuTime(process.toHandle())
+                + process.descendants().mapToDouble(ExecutionTracker::cpuTime).sum();
+        double elapsedSeconds = (System.nanoTime() - context.getStartNanos()) / 1e9;
+        double reclaimed = elapsedSeconds > 0 ? cpuSeconds / elapsedSeconds * (Math.max(remainingNanos, 0) / 1e9) : 0;
+        
+        killProcessTree(process);
+        meterRegistry.counter("gematica.executions.cancelled", "reason", context.getCancelReason()).increment();
+        reclaimedCpu.increment(reclaimed);
+        log.info("Ejecución {} cancelada ({}): CPU usada {}s, CPU estimada recuperada {}s",
+                context.getId(), context.getCancelReason(), String.format("%.3f", cpuSeconds), String.format("%.3f", reclaimed));
+    }
+    
+    private static double cpuTime(ProcessHandle handle) {
+        Optional<Duration> cpu = handle.info().totalCpuDuration();
+        return cpu.map(duration -> duration.toNanos() / 1e9).orElse(0.0);
+    }
+}
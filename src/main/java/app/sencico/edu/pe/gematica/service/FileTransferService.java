@@ -0,0 +1,322 @@
+package app.sencico.edu.pe.gematica.service;
+
+import app.sencico.edu.pe.gematica.dto.FileInfo;
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Transferencia de archivos sin crear procesos (reemplaza cat/type).
+ * Las descargas usan sendfile de Tomcat o FileChannel.transferTo; las subidas
+ * se escriben directo a disco.
+ */
+@Service
+public class FileTransferService {
+    
+    private static final Logger log = LoggerFactory.getLogger(FileTransferService.class);
+    
+    // Atributos de Tomcat para delegar la descarga a sendfile
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
+    private final WorkingDirectoryRegistry workingDirectoryRegistry;
+    private final ScheduledExecutorService followScheduler;
+    
+    @Value("${app.files.sendfile-threshold:49152}")
+    private long sendfileThreshold;
+    
+    @Value("${app.files.max-upload-size:10737418240}")
+    private long maxUploadSize;
+    
+    @Value("${app.files.follow.poll-interval-ms:500}")
+    private long followPollInterval;
+    
+    @Value("${app.files.follow.max-chunk-bytes:65536}")
+    private int followMaxChunk;
+    
+    @Value("${app.files.follow.max-line-bytes:1048576}")
+    private int followMaxLine;
+    
+    // Constructor para inyección de dependencias
+    public FileTransferService(WorkingDirectoryRegistry workingDirectoryRegistry,
+                               @Value("${app.files.follow.threads:2}") int followThreads) {
+        this.workingDirectoryRegistry = workingDirectoryRegistry;
+        this.followScheduler = Executors.newScheduledThreadPool(followThreads, runnable -> {
+            Thread thread = new Thread(runnable, "file-follow");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Resuelve y valida un archivo existente dentro del directorio de trabajo
+     */
+    public Path resolveExisting(String workingDirectory, String path) {
+        Path file = workingDirectoryRegistry.resolveFile(workingDirectory, path);
+        if (!Files.isRegularFile(file)) {
+            throw new CommandExecutionException("El archivo no existe: " + path);
+        }
+        return file;
+    }
+    
+    /**
+     * Metadatos del archivo. El ETag es fuerte (tamaño y fecha de modificación con la precisión
+     * del sistema de archivos) para que sirva en If-Range al reanudar descargas.
+     */
+    public FileInfo describe(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long lastModified = attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+        String etag = "\"" + Long.toHexString(attributes.size()) + "-" + Long.toHexString(lastModified) + "\"";
+        return new FileInfo(file.toString(), attributes.size(), attributes.lastModifiedTime().toInstant(), etag);
+    }
+    
+    /**
+     * Envía el rango [start, start + length) del archivo al cliente.
+     * Con Tomcat NIO delega en sendfile; en otro caso usa FileChannel.transferTo.
+     */
+    public void transfer(Path file, long start, long length, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        response.setContentLengthLong(length);
+        if (length >= sendfileThreshold && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    // El archivo se truncó mientras se enviaba
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+    
+    /**
+     * Guarda el cuerpo de la petición en el archivo destino. Se escribe en un
+     * temporal del mismo directorio y se mueve al final, para no dejar archivos a medias.
+     * Sin overwrite el temporal se publica con un enlace duro, que falla de forma atómica si
+     * el destino ya existe (rename lo reemplazaría sin avisar).
+     */
+    public FileInfo upload(String workingDirectory, String path, boolean overwrite, InputStream body) throws IOException {
+        Path target = workingDirectoryRegistry.resolveFile(workingDirectory, path);
+        if (Files.isDirectory(target)) {
+            throw new CommandExecutionException("La ruta destino es un directorio: " + path);
+        }
+        if (!overwrite && Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+            throw new CommandExecutionException("El archivo ya existe: " + path);
+        }
+        Path parent = target.getParent();
+        if (parent == null || !Files.isDirectory(parent)) {
+            throw new CommandExecutionException("El directorio destino no existe: " + path);
+        }
+        
+        Path temp = Files.createTempFile(parent, ".upload-", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+                 ReadableByteChannel in = Channels.newChannel(body)) {
+                long written = 0;
+                long transferred;
+                while ((transferred = channel.transferFrom(in, written, 1 << 20)) > 0) {
+                    written += transferred;
+                    if (written > maxUploadSize) {
+                        throw new CommandExecutionException("El archivo supera el tamaño máximo permitido de " + maxUploadSize + " bytes");
+                    }
+                }
+            }
+            if (overwrite) {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                publishNew(temp, target, path);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        log.info("Archivo recibido: {}", target);
+        return describe(target);
+    }
+    
+    /**
+     * Publica el temporal en un destino que no debe existir. Usa un enlace duro; si el sistema
+     * de archivos no los admite, copia a un archivo abierto con CREATE_NEW (O_EXCL).
+     */
+    private static void publishNew(Path temp, Path target, String path) throws IOException {
+        try {
+            Files.createLink(target, temp);
+            return;
+        } catch (FileAlreadyExistsException e) {
+            throw new CommandExecutionException("El archivo ya existe: " + path);
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            log.debug("Sin enlaces duros en {} ({}); se copia el archivo", target.getParent(), e.getMessage());
+        }
+        try (FileChannel source = FileChannel.open(temp, StandardOpenOption.READ);
+             FileChannel destination = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+            long position = 0;
+            long size = source.size();
+            while (position < size) {
+                position += source.transferTo(position, size - position, destination);
+            }
+        } catch (FileAlreadyExistsException e) {
+            throw new CommandExecutionException("El archivo ya existe: " + path);
+        }
+    }
+    
+    /**
+     * Envía por SSE las líneas nuevas del archivo (equivalente a tail -f).
+     * Si el archivo se trunca (rotación de logs) vuelve a leer desde el inicio. Una línea que
+     * supera max-line-bytes se envía en trozos con el evento "partial"; el último trozo llega
+     * como "line".
+     */
+    public SseEmitter follow(Path file, long initialPosition, long timeoutMillis) throws IOException {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        long position = initialPosition < 0 ? channel.size() : Math.min(initialPosition, channel.size());
+        FollowState state = new FollowState(channel, position, followMaxChunk, followMaxLine);
+        
+        AtomicReference<ScheduledFuture<?>> task = new AtomicReference<>();
+        Runnable stop = () -> {
+            ScheduledFuture<?> scheduled = task.get();
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            state.close();
+        };
+        emitter.onCompletion(stop);
+        emitter.onTimeout(stop);
+        emitter.onError(error -> stop.run());
+        
+        task.set(followScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                state.poll(emitter);
+            } catch (Exception e) {
+                // El cliente se desconectó o el archivo ya no es legible
+                log.debug("Seguimiento de {} finalizado: {}", file, e.getMessage());
+                stop.run();
+                emitter.completeWithError(e);
+            }
+        }, 0, followPollInterval, TimeUnit.MILLISECONDS));
+        return emitter;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        followScheduler.shutdownNow();
+    }
+    
+    /**
+     * Estado de un seguimiento: posición leída y línea incompleta pendiente (como mucho
+     * maxLineBytes; al llegar al límite se envía lo acumulado)
+     */
+    static class FollowState {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private final int maxLineBytes;
+        private long position;
+        
+        FollowState(FileChannel channel, long position, int chunkSize, int maxLineBytes) {
+            this.channel = channel;
+            this.position = position;
+            this.buffer = ByteBuffer.allocate(chunkSize);
+            this.maxLineBytes = maxLineBytes;
+        }
+        
+        synchronized void poll(SseEmitter emitter) throws IOException {
+            long size = channel.size();
+            if (size < position) {
+                position = 0;
+                pending.reset();
+                emitter.send(SseEmitter.event().name("truncated").data(size));
+            }
+            while (position < size) {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                position += read;
+                buffer.flip();
+                // Se decodifica por línea completa para no partir caracteres multibyte
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    if (b != '\n') {
+                        pending.write(b);
+                        if (pending.size() >= maxLineBytes) {
+                            sendPartial(emitter);
+                        }
+                        continue;
+                    }
+                    String line = pending.toString(StandardCharsets.UTF_8);
+                    pending.reset();
+                    emitter.send(SseEmitter.event().name("line").data(line.endsWith("\r") ? line.substring(0, line.length() - 1) : line));
+                }
+            }
+        }
+        
+        /**
+         * Envía lo acumulado sin partir un carácter UTF-8: los bytes de un carácter incompleto
+         * al final se quedan pendientes para el siguiente trozo
+         */
+        private void sendPartial(SseEmitter emitter) throws IOException {
+            byte[] bytes = pending.toByteArray();
+            int cut = bytes.length;
+            int lead = cut - 1;
+            while (lead > 0 && (bytes[lead] & 0xC0) == 0x80) {
+                lead--;
+            }
+            int expected = (bytes[lead] & 0xE0) == 0xC0 ? 2 : (bytes[lead] & 0xF0) == 0xE0 ? 3 : (bytes[lead] & 0xF8) == 0xF0 ? 4 : 1;
+            if (lead + expected > bytes.length) {
+                cut = lead;
+            }
+            pending.reset();
+            pending.write(bytes, cut, bytes.length - cut);
+            emitter.send(SseEmitter.event().name("partial").data(new String(bytes, 0, cut, StandardCharsets.UTF_8)));
+        }
+        
+        synchronized void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Ignorar: el canal ya no se usa
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package app.sencico.edu.pe.gematica.service;
+
+import app.sencico.edu.pe.gematica.dto.FilterStats;
+import app.sencico.edu.pe.gematica.dto.OutputFilter;
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Aplica un {@link OutputFilter} a stdout línea a línea mientras se drena el proceso. Solo se
+ * retiene lo que se va a devolver: las líneas descartadas no se acumulan y tail usa un buffer
+ * de N líneas. include/exclude también se aplican a los eventos enviados al listener (SSE);
+ * head, tail, maxLines y el rango de bytes solo a la salida capturada, que se escribe en un
+ * {@link OutputCapture} y pasa a disco al superar app.outputs.spill-threshold, también con
+ * un rango de bytes sin longitud.
+ *
+ * <p>tail se limita a app.outputs.max-tail-lines y cada evaluación de include/exclude a
+ * app.outputs.filter-match-timeout, para que una expresión con retroceso catastrófico no
+ * bloquee el hilo que drena el proceso.
+ *
+ * <p>No es thread-safe: lo usa únicamente el hilo que lee stdout.
+ */
+final class LineFilter {
+    
+    // Límites por defecto (pruebas y comandos sin OutputStore)
+    static final int DEFAULT_MAX_TAIL_LINES = 10_000;
+    static final long DEFAULT_MATCH_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    private final Pattern include;
+    private final Pattern exclude;
+    private final long head;
+    private final int tail;
+    private final long maxLines;
+    private final boolean byteRange;
+    private final long byteOffset;
+    private final long byteEnd;
+    private final OutputCapture capture;
+    private final long matchTimeoutNanos;
+    
+    private final ArrayDeque<String> tailBuffer;
+    private long totalLines;
+    private long matchedLines;
+    private long returnedLines;
+    private long returnedBytes;
+    private long bytePosition;
+    
+    private LineFilter(OutputFilter filter, OutputCapture capture, int maxTailLines, long matchTimeoutNanos) {
+        if (filter.getTail() != null && filter.getTail() > maxTailLines) {
+            throw new CommandExecutionException("filter.tail no puede superar " + maxTailLines + " líneas");
+        }
+        this.include = compile(filter.getInclude(), "include");
+        this.exclude = compile(filter.getExclude(), "exclude");
+        this.head = filter.getHead() != null ? filter.getHead() : Long.MAX_VALUE;
+        this.tail = filter.getTail() != null ? filter.getTail() : -1;
+        this.maxLines = filter.getMaxLines() != null ? filter.getMaxLines() : Long.MAX_VALUE;
+        this.byteRange = filter.getByteOffset() != null || filter.getByteLength() != null;
+        this.byteOffset = filter.getByteOffset() != null ? filter.getByteOffset() : 0;
+        this.byteEnd = filter.getByteLength() != null ? byteOffset + filter.getByteLength() : Long.MAX_VALUE;
+        this.capture = capture;
+        this.matchTimeoutNanos = matchTimeoutNanos;
+        this.tailBuffer = tail > 0 ? new ArrayDeque<>(Math.min(tail, 1024)) : null;
+    }
+    
+    static LineFilter of(OutputFilter filter, OutputCapture capture) {
+        return of(filter, capture, DEFAULT_MAX_TAIL_LINES, DEFAULT_MATCH_TIMEOUT_NANOS);
+    }
+    
+    /**
+     * Valida las expresiones regulares y tail; lanza {@link CommandExecutionException} si no son válidos
+     *
+     * @param capture destino de la salida filtrada; null si no se captura (solo se cuenta)
+     */
+    static LineFilter of(OutputFilter filter, OutputCapture capture, int maxTailLines, long matchTimeoutNanos) {
+        return new LineFilter(filter, capture, maxTailLines, matchTimeoutNanos);
+    }
+    
+    /**
+     * Cuenta la línea y la proyecta sobre la salida. Devuelve false si no pasa include/exclude.
+     * Lanza {@link MatchTimeoutException} si una expresión supera el tiempo por línea.
+     */
+    boolean test(String line) throws IOException {
+        totalLines++;
+        if (include != null && !find(include, line, "include")) {
+            return false;
+        }
+        if (exclude != null && find(exclude, line, "exclude")) {
+            return false;
+        }
+        matchedLines++;
+        if (capture != null && matchedLines <= head) {
+            if (tailBuffer != null) {
+                if (tailBuffer.size() == tail) {
+                    tailBuffer.removeFirst();
+                }
+                tailBuffer.addLast(line);
+            } else if (tail != 0) {
+                emit(line);
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Salida filtrada (null si no se captura la salida)
+     */
+    String finish() throws IOException {
+        if (capture == null) {
+            return null;
+        }
+        if (tailBuffer != null) {
+            for (String line : tailBuffer) {
+                emit(line);
+            }
+            tailBuffer.clear();
+        }
+        return capture.text();
+    }
+    
+    OutputCapture getCapture() {
+        return capture;
+    }
+    
+    FilterStats stats() {
+        return new FilterStats(totalLines, matchedLines, returnedLines, totalLines - returnedLines, returnedBytes);
+    }
+    
+    private void emit(String line) throws IOException {
+        if (returnedLines >= maxLines) {
+            return;
+        }
+        if (!byteRange) {
+            capture.append(line);
+            returnedLines++;
+            returnedBytes += OutputCapture.utf8Length(line + System.lineSeparator());
+            return;
+        }
+        String text = line + System.lineSeparator();
+        if (bytePosition >= byteEnd) {
+            return;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        long start = bytePosition;
+        bytePosition += bytes.length;
+        if (bytePosition <= byteOffset) {
+            return;
+        }
+        int from = (int) Math.max(0, byteOffset - start);
+        int to = (int) Math.min(bytes.length, byteEnd - start);
+        capture.write(bytes, from, to - from);
+        returnedLines++;
+        returnedBytes += to - from;
+    }
+    
+    private boolean find(Pattern pattern, String line, String field) {
+        try {
+            return pattern.matcher(new DeadlineCharSequence(line, System.nanoTime() + matchTimeoutNanos)).find();
+        } catch (MatchTimeoutException e) {
+            throw new MatchTimeoutException("La expresión de filter." + field + " superó el tiempo máximo por línea");
+        }
+    }
+    
+    private static Pattern compile(String regex, String field) {
+        if (regex == null || regex.isEmpty()) {
+            return null;
+        }
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new CommandExecutionException("Expresión regular inválida en filter." + field + ": " + e.getDescription());
+        }
+    }
+    
+    /**
+     * Expresión de filtro que superó app.outputs.filter-match-timeout
+     */
+    static final class MatchTimeoutException extends CommandExecutionException {
+        private static final long serialVersionUID = 1L;
+        
+        MatchTimeoutException(String message) {
+            super(message);
+        }
+    }
+    
+    /**
+     * Línea que el motor de expresiones lee con una fecha límite. El retroceso vuelve a leer
+     * caracteres una y otra vez, así que revisar el reloj cada cierto número de lecturas basta
+     * para cortar una evaluación descontrolada.
+     */
+    private static final class DeadlineCharSequence implements CharSequence {
+        
+        private static final int CHECK_INTERVAL = 4096;
+        
+        private final CharSequence text;
+        private final long deadline;
+        private int reads;
+        
+        DeadlineCharSequence(CharSequence text, long deadline) {
+            this.text = text;
+            this.deadline = deadline;
+        }
+        
+        @Override
+        public char charAt(int index) {
+            if (++reads % CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                throw new MatchTimeoutException("Tiempo de evaluación agotado");
+            }
+            return text.charAt(index);
+        }
+        
+        @Override
+        public int length() {
+            return text.length();
+        }
+        
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new DeadlineCharSequence(text.subSequence(start, end), deadline);
+        }
+        
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
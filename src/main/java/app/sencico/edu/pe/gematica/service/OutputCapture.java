@@ -0,0 +1,103 @@
+package app.sencico.edu.pe.gematica.service;
+
+import app.sencico.edu.pe.gematica.dto.OutputHandle;
+import app.sencico.edu.pe.gematica.service.output.OutputStore;
+import app.sencico.edu.pe.gematica.service.output.SpillFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Acumula la salida capturada en memoria hasta app.outputs.spill-threshold; a partir de ahí
+ * la pasa a un {@link SpillFile} y sigue escribiendo en disco, sin retener el texto en el heap.
+ *
+ * <p>La escribe únicamente el hilo que drena el stream, pero {@link #discard()} llega desde el
+ * hilo de la petición (timeout, cancelación) sin esperar a ese hilo; por eso los métodos están
+ * sincronizados y, una vez descartada, la captura ignora lo que siga llegando en vez de crear
+ * un archivo que nadie publicaría.
+ */
+final class OutputCapture {
+    
+    private final OutputStore store;
+    private final long threshold;
+    // UTF-8, para poder recortar rangos de bytes sin convertir
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private SpillFile spill;
+    private boolean discarded;
+    
+    /**
+     * @param store destino en disco; null para capturar solo en memoria
+     */
+    OutputCapture(OutputStore store) {
+        this.store = store != null && store.isEnabled() ? store : null;
+        this.threshold = this.store != null ? this.store.getSpillThreshold() : Long.MAX_VALUE;
+    }
+    
+    void append(String line) throws IOException {
+        byte[] bytes = (line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        write(bytes, 0, bytes.length);
+    }
+    
+    /**
+     * Agrega bytes ya codificados en UTF-8 (rangos de bytes del filtro)
+     */
+    synchronized void write(byte[] bytes, int offset, int length) throws IOException {
+        if (discarded) {
+            return;
+        }
+        if (spill != null) {
+            spill.write(bytes, offset, length);
+            return;
+        }
+        buffer.write(bytes, offset, length);
+        if (store != null && buffer.size() > threshold) {
+            spill = store.create();
+            spill.write(buffer.toByteArray(), 0, buffer.size());
+            buffer = null;
+        }
+    }
+    
+    /**
+     * Texto capturado, o null si la salida pasó a disco
+     */
+    synchronized String text() {
+        return buffer != null ? buffer.toString(StandardCharsets.UTF_8) : null;
+    }
+    
+    /**
+     * Publica el archivo si la salida pasó a disco
+     */
+    synchronized OutputHandle finish() throws IOException {
+        return spill != null ? spill.finish() : null;
+    }
+    
+    /**
+     * Borra el archivo de una ejecución que no terminó y descarta lo que se escriba después
+     */
+    synchronized void discard() {
+        discarded = true;
+        buffer = null;
+        if (spill != null) {
+            spill.discard();
+        }
+    }
+    
+    static long utf8Length(String text) {
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
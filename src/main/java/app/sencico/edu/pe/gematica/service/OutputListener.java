@@ -0,0 +1,26 @@
+package app.sencico.edu.pe.gematica.service;
+
+import java.io.IOException;
+
+/**
+ * Recibe la salida del proceso línea a línea mientras se ejecuta (endpoints de streaming).
+ * Una IOException indica que el cliente ya no recibe datos y cancela la ejecución.
+ */
+public interface OutputListener {
+    
+    OutputListener NONE = new OutputListener() {
+    };
+    
+    default void onStdout(String line) throws IOException {
+    }
+    
+    default void onStderr(String line) throws IOException {
+    }
+    
+    /**
+     * Se invoca periódicamente mientras el proceso no produce salida,
+     * para detectar clientes desconectados
+     */
+    default void heartbeat() throws IOException {
+    }
+}
@@ -0,0 +1,30 @@
+package app.sencico.edu.pe.gematica.service;
+
+/**
+ * Mide una fase de la ejecución: emite un {@link ExecutionPhaseEvent} de JFR y guarda la
+ * duración en el {@link ExecutionContext} para la cabecera Server-Timing
+ */
+final class PhaseTimer {
+    
+    private final ExecutionContext context;
+    private final String phase;
+    private final ExecutionPhaseEvent event = new ExecutionPhaseEvent();
+    private final long start = System.nanoTime();
+    
+    PhaseTimer(ExecutionContext context, String phase) {
+        this.context = context;
+        this.phase = phase;
+        event.begin();
+    }
+    
+    void end() {
+        event.end();
+        if (event.shouldCommit()) {
+            event.executionId = context.getId();
+            event.phase = phase;
+            event.command = context.getCommand();
+            event.commit();
+        }
+        context.recordPhase(phase, System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,277 @@
+package app.sencico.edu.pe.gematica.service;
+
+import app.sencico.edu.pe.gematica.config.WorkingDirectoryProperties;
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de directorios de trabajo validados, compartido por la ejecución de
+ * comandos y los endpoints de archivos.
+ * Las validaciones se guardan en caché, por alias o por ruta absoluta normalizada, y se
+ * invalidan con WatchService cuando el directorio (o su padre) cambia, o al vencer
+ * {@code app.workdir.cache-ttl}. La caché guarda como mucho {@code app.workdir.max-entries}.
+ */
+@Component
+public class WorkingDirectoryRegistry {
+    
+    private static final Logger log = LoggerFactory.getLogger(WorkingDirectoryRegistry.class);
+    private static final String ALIAS_PREFIX = "@";
+    
+    private final WorkingDirectoryProperties properties;
+    private final Map<String, DirectoryEntry> cache = new ConcurrentHashMap<>();
+    private final Map<Path, WatchKey> watchedParents = new ConcurrentHashMap<>();
+    private final WatchService watchService;
+    private final Path defaultDirectory;
+    
+    // Constructor para inyección de dependencias
+    public WorkingDirectoryRegistry(WorkingDirectoryProperties properties) {
+        this.properties = properties;
+        this.defaultDirectory = Path.of(System.getProperty("user.dir")).toAbsolutePath().normalize();
+        this.watchService = properties.isWatch() ? newWatchService() : null;
+        if (watchService != null) {
+            Thread watcher = new Thread(this::processWatchEvents, "workdir-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        }
+        // Los alias se validan al arrancar para detectar errores de configuración temprano
+        properties.getAliases().forEach((alias, path) -> {
+            try {
+                resolve(ALIAS_PREFIX + alias);
+            } catch (CommandExecutionException e) {
+                log.warn("Alias de directorio de trabajo inválido @{}: {}", alias, e.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * Valida el directorio de trabajo solicitado (ruta o "@alias"). Devuelve null si no
+     * se especificó (el proceso usa el directorio actual).
+     */
+    public File resolve(String workingDirectory) {
+        if (workingDirectory == null || workingDirectory.isEmpty()) {
+            return null;
+        }
+        return lookup(workingDirectory).directory;
+    }
+    
+    /**
+     * Resuelve una ruta de archivo relativa al directorio de trabajo.
+     * La ruta resultante no puede salir del directorio (ni con ".." ni con enlaces simbólicos).
+     */
+    public Path resolveFile(String workingDirectory, String path) {
+        if (path == null || path.isBlank()) {
+            throw new CommandExecutionException("La ruta del archivo no puede estar vacía");
+        }
+        Path base;
+        Path realBase;
+        if (workingDirectory == null || workingDirectory.isEmpty()) {
+            base = defaultDirectory;
+            realBase = null;
+        } else {
+            DirectoryEntry entry = lookup(workingDirectory);
+            base = entry.directory.toPath();
+            realBase = entry.realPath;
+        }
+        Path file = base.resolve(path).normalize();
+        if (!file.startsWith(base)) {
+            throw new CommandExecutionException("La ruta está fuera del directorio de trabajo: " + path);
+        }
+        try {
+            if (realBase == null) {
+                realBase = base.toRealPath();
+            }
+            // Para archivos nuevos se verifica el directorio padre
+            Path existing = Files.exists(file, LinkOption.NOFOLLOW_LINKS) ? file : file.getParent();
+            if (existing != null && Files.exists(existing) && !existing.toRealPath().startsWith(realBase)) {
+                throw new CommandExecutionException("La ruta está fuera del directorio de trabajo: " + path);
+            }
+        } catch (IOException e) {
+            throw new CommandExecutionException("No se pudo validar la ruta: " + path, e);
+        }
+        return file;
+    }
+    
+    /**
+     * Alias configurados y su ruta
+     */
+    public Map<String, String> getAliases() {
+        return Map.copyOf(properties.getAliases());
+    }
+    
+    /**
+     * Elimina todas las validaciones en caché
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+    
+    int cacheSize() {
+        return cache.size();
+    }
+    
+    private DirectoryEntry lookup(String workingDirectory) {
+        String key = cacheKey(workingDirectory);
+        DirectoryEntry entry = cache.get(key);
+        if (entry != null && System.nanoTime() - entry.validatedAt < properties.getCacheTtl().toNanos()) {
+            return entry;
+        }
+        entry = validate(workingDirectory);
+        // Solo se guardan validaciones exitosas: un directorio creado después no queda bloqueado
+        if (!cache.containsKey(key) && cache.size() >= properties.getMaxEntries()) {
+            evictOldest();
+        }
+        cache.put(key, entry);
+        watchParent(entry.directory.toPath());
+        return entry;
+    }
+    
+    /**
+     * Clave de la caché: el alias tal cual o la ruta absoluta normalizada, para que
+     * "/srv/datos", "/srv/./datos" y "/srv/datos/" compartan una entrada
+     */
+    private static String cacheKey(String workingDirectory) {
+        if (workingDirectory.startsWith(ALIAS_PREFIX)) {
+            return workingDirectory;
+        }
+        try {
+            return Path.of(workingDirectory).toAbsolutePath().normalize().toString();
+        } catch (InvalidPathException e) {
+            throw new CommandExecutionException("El directorio de trabajo no existe: " + workingDirectory, e);
+        }
+    }
+    
+    private void evictOldest() {
+        long now = System.nanoTime();
+        long ttl = properties.getCacheTtl().toNanos();
+        cache.values().removeIf(entry -> now - entry.validatedAt >= ttl);
+        while (!cache.isEmpty() && cache.size() >= properties.getMaxEntries()) {
+            cache.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().validatedAt))
+                    .ifPresent(oldest -> cache.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+    
+    private DirectoryEntry validate(String workingDirectory) {
+        String path = workingDirectory;
+        if (workingDirectory.startsWith(ALIAS_PREFIX)) {
+            String alias = workingDirectory.substring(ALIAS_PREFIX.length());
+            path = properties.getAliases().get(alias);
+            if (path == null) {
+                throw new CommandExecutionException("El alias de directorio de trabajo no existe: " + workingDirectory);
+            }
+        }
+        File workDir = new File(path);
+        if (!workDir.isDirectory()) {
+            throw new CommandExecutionException("El directorio de trabajo no existe: " + workingDirectory);
+        }
+        Path absolute = workDir.toPath().toAbsolutePath().normalize();
+        try {
+            return new DirectoryEntry(absolute.toFile(), absolute.toRealPath(), System.nanoTime());
+        } catch (IOException e) {
+            throw new CommandExecutionException("El directorio de trabajo no existe: " + workingDirectory, e);
+        }
+    }
+    
+    private void watchParent(Path directory) {
+        Path parent = directory.getParent();
+        if (watchService == null || parent == null || watchedParents.containsKey(parent)) {
+            return;
+        }
+        if (watchedParents.size() >= properties.getMaxEntries()) {
+            // Sin más vigilancias la entrada solo depende de cache-ttl
+            return;
+        }
+        try {
+            WatchKey key = parent.register(watchService, StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_CREATE);
+            watchedParents.put(parent, key);
+        } catch (IOException | UnsupportedOperationException e) {
+            log.debug("No se puede vigilar {}: {}", parent, e.getMessage());
+        }
+    }
+    
+    private void processWatchEvents() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path parent = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        invalidateAll();
+                    } else {
+                        invalidateUnder(parent.resolve((Path) event.context()));
+                    }
+                }
+                if (!key.reset()) {
+                    // El directorio padre ya no existe
+                    watchedParents.remove(parent);
+                    invalidateUnder(parent);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Aplicación detenida
+        }
+    }
+    
+    private void invalidateUnder(Path changed) {
+        cache.entrySet().removeIf(entry -> {
+            boolean affected = entry.getValue().directory.toPath().startsWith(changed);
+            if (affected) {
+                log.debug("Directorio de trabajo invalidado: {}", entry.getKey());
+            }
+            return affected;
+        });
+    }
+    
+    private static WatchService newWatchService() {
+        try {
+            return FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            log.warn("WatchService no disponible, la caché de directorios solo usa cache-ttl: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+    
+    /**
+     * Directorio validado con su ruta real (enlaces simbólicos resueltos)
+     */
+    private static class DirectoryEntry {
+        private final File directory;
+        private final Path realPath;
+        private final long validatedAt;
+        
+        DirectoryEntry(File directory, Path realPath, long validatedAt) {
+            this.directory = directory;
+            this.realPath = realPath;
+            this.validatedAt = validatedAt;
+        }
+    }
+}
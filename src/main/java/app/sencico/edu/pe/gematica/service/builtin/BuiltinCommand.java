@@ -0,0 +1,44 @@
+package app.sencico.edu.pe.gematica.service.builtin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Comando informativo resuelto dentro de la JVM, sin crear un proceso.
+ * Solo debe aceptar los argumentos para los que su salida coincide con la del comando nativo;
+ * en cualquier otro caso el ejecutor usa ProcessBuilder como siempre.
+ */
+public interface BuiltinCommand {
+    
+    // Palabras sin comillas, comodines, variables ni operadores del shell
+    Pattern PLAIN_WORDS = Pattern.compile("[\\p{L}\\p{N} _.,:@+=/-]*");
+    
+    /**
+     * Nombre del comando nativo que reemplaza
+     */
+    String getName();
+    
+    /**
+     * Indica si puede responder estos argumentos con la misma salida que el comando nativo
+     */
+    boolean supports(String arguments, String operatingSystem, File workingDirectory);
+    
+    /**
+     * Genera las líneas de salida del comando
+     */
+    List<String> execute(String arguments, File workingDirectory) throws IOException;
+    
+    static boolean isPlainWords(String arguments) {
+        return arguments == null || PLAIN_WORDS.matcher(arguments).matches();
+    }
+    
+    static boolean isEmpty(String arguments) {
+        return arguments == null || arguments.isBlank();
+    }
+    
+    static boolean isWindows(String operatingSystem) {
+        return "WINDOWS".equalsIgnoreCase(operatingSystem);
+    }
+}
@@ -0,0 +1,182 @@
+package app.sencico.edu.pe.gematica.service.builtin;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro de comandos integrados (ruta rápida sin fork).
+ * Los comandos activos se eligen con {@code app.command.builtin.commands}. Con
+ * {@code verify-on-startup} ninguno se usa hasta que su salida se comparó con la del comando
+ * nativo; mientras tanto (y si no coincide o no se pudo verificar) se ejecuta el nativo.
+ */
+@Component
+public class BuiltinCommandRegistry {
+    
+    private static final Logger log = LoggerFactory.getLogger(BuiltinCommandRegistry.class);
+    private static final String OS_NAME = System.getProperty("os.name").toLowerCase();
+    
+    // Invocaciones que se comparan con el comando nativo al arrancar; hay una entrada por handler.
+    // date incluye el formato por defecto y -u, que son los que dependen del locale y de TZ
+    private static final Map<String, List<String>> VERIFY_ARGUMENTS = Map.of(
+        "hostname", List.of(""),
+        "whoami", List.of(""),
+        "pwd", List.of(""),
+        "date", List.of("", "-u", "+%FT%T%z"),
+        "echo", List.of("gematica builtin"),
+        "uname", List.of("", "-snrvmo"),
+        "ls", List.of("", "-a")
+    );
+    
+    private final Map<String, BuiltinCommand> handlers = new ConcurrentHashMap<>();
+    private final boolean verifyOnStartup;
+    // Handlers en uso: vacío hasta que termina la verificación
+    private volatile Map<String, BuiltinCommand> active;
+    
+    public BuiltinCommandRegistry(
+            @Value("${app.command.builtin.enabled:true}") boolean enabled,
+            @Value("${app.command.builtin.commands:hostname,whoami,pwd,date,echo,uname,ls}") List<String> commands,
+            @Value("${app.command.builtin.verify-on-startup:true}") boolean verifyOnStartup) {
+        this.verifyOnStartup = verifyOnStartup;
+        this.active = Map.of();
+        if (!enabled) {
+            return;
+        }
+        List<BuiltinCommand> available = List.of(
+            new HostnameCommand(), new WhoamiCommand(), new PwdCommand(), new DateCommand(),
+            new EchoCommand(), new UnameCommand(), new ListDirectoryCommand());
+        for (BuiltinCommand handler : available) {
+            if (commands.contains(handler.getName())) {
+                handlers.put(handler.getName(), handler);
+            }
+        }
+        if (!verifyOnStartup) {
+            active = Map.copyOf(handlers);
+        }
+        log.info("Comandos integrados configurados: {}{}", handlers.keySet(),
+                verifyOnStartup ? " (se activan al verificarlos contra el comando nativo)" : "");
+    }
+    
+    /**
+     * Ejecuta el comando dentro de la JVM si hay un handler que lo soporte.
+     * Devuelve null cuando se debe usar el comando nativo.
+     */
+    public List<String> tryExecute(String command, String arguments, String operatingSystem, File workingDirectory) {
+        Map<String, BuiltinCommand> enabled = active;
+        if (enabled.isEmpty() || command == null) {
+            return null;
+        }
+        // "uname -a" puede llegar completo en el campo command
+        String name = command.trim();
+        String args = arguments;
+        int space = name.indexOf(' ');
+        if (space > 0 && (args == null || args.isBlank())) {
+            args = name.substring(space + 1).trim();
+            name = name.substring(0, space);
+        }
+        BuiltinCommand handler = enabled.get(name.toLowerCase());
+        if (handler == null || !handler.supports(args, operatingSystem, workingDirectory)) {
+            return null;
+        }
+        try {
+            return handler.execute(args, workingDirectory);
+        } catch (IOException e) {
+            log.debug("Comando integrado {} no disponible, se usa el nativo: {}", name, e.getMessage());
+            return null;
+        }
+    }
+    
+    public boolean isEnabled(String command) {
+        return active.containsKey(command);
+    }
+    
+    /**
+     * Verifica los handlers en segundo plano para no retrasar la disponibilidad de la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        if (!verifyOnStartup || handlers.isEmpty()) {
+            return;
+        }
+        Thread verifier = new Thread(this::verifyAgainstNative, "builtin-verify");
+        verifier.setDaemon(true);
+        verifier.start();
+    }
+    
+    /**
+     * Compara cada handler con el comando nativo en todas sus invocaciones de verificación y
+     * activa solo los que coinciden en todas las que soportan. Un handler sin ninguna invocación
+     * verificable en este sistema queda desactivado.
+     */
+    public void verifyAgainstNative() {
+        String operatingSystem = OS_NAME.contains("win") ? "WINDOWS" : OS_NAME.contains("mac") ? "MAC" : "LINUX";
+        Map<String, BuiltinCommand> verified = new HashMap<>();
+        for (BuiltinCommand handler : handlers.values()) {
+            if (matchesNative(handler, operatingSystem)) {
+                verified.put(handler.getName(), handler);
+            }
+        }
+        active = Map.copyOf(verified);
+        log.info("Comandos integrados activos tras verificarlos: {}", active.keySet());
+    }
+    
+    private boolean matchesNative(BuiltinCommand handler, String operatingSystem) {
+        int checked = 0;
+        for (String arguments : VERIFY_ARGUMENTS.getOrDefault(handler.getName(), List.of())) {
+            if (!handler.supports(arguments, operatingSystem, null)) {
+                continue;
+            }
+            try {
+                // Se genera antes y después del nativo para tolerar el cambio de segundo (date)
+                List<String> before = handler.execute(arguments, null);
+                List<String> nativeOutput = runNative(handler.getName() + (arguments.isEmpty() ? "" : " " + arguments));
+                if (!nativeOutput.equals(before) && !nativeOutput.equals(handler.execute(arguments, null))) {
+                    log.warn("Comando integrado {} desactivado: su salida no coincide con la nativa ({} {})",
+                            handler.getName(), handler.getName(), arguments);
+                    return false;
+                }
+                checked++;
+            } catch (Exception e) {
+                log.warn("Comando integrado {} desactivado: no se pudo verificar ({})", handler.getName(), e.getMessage());
+                return false;
+            }
+        }
+        if (checked == 0) {
+            log.info("Comando integrado {} desactivado: no hay invocaciones verificables en este sistema", handler.getName());
+        }
+        return checked > 0;
+    }
+    
+    private List<String> runNative(String command) throws IOException, InterruptedException {
+        ProcessBuilder processBuilder = OS_NAME.contains("win")
+                ? new ProcessBuilder("cmd", "/c", command)
+                : new ProcessBuilder("/bin/sh", "-c", command);
+        processBuilder.redirectErrorStream(true);
+        Process process = processBuilder.start();
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,147 @@
+package app.sencico.edu.pe.gematica.service.builtin;
+
+import java.io.File;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.TextStyle;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * {@code date}, {@code date -u} y {@code date +FORMATO} en Unix.
+ * Solo se usa con locale C/POSIX/inglés (nombres de días y meses) y cuando
+ * la abreviatura de zona horaria coincide con la de glibc (UTC).
+ */
+class DateCommand implements BuiltinCommand {
+    
+    private static final String DEFAULT_FORMAT = "%a %b %e %H:%M:%S %Z %Y";
+    private static final String SUPPORTED_SPECIFIERS = "aAbhBdeHIMSpyYmjFTDRszZuwnt%";
+    private static final Pattern ARGUMENT = Pattern.compile("-u|\\+[\\p{L}\\p{N}_.,:@+=/%-]*");
+    
+    @Override
+    public String getName() {
+        return "date";
+    }
+    
+    @Override
+    public boolean supports(String arguments, String operatingSystem, File workingDirectory) {
+        if (BuiltinCommand.isWindows(operatingSystem) || !isEnglishLocale()) {
+            return false;
+        }
+        boolean utc = false;
+        String format = DEFAULT_FORMAT;
+        if (!BuiltinCommand.isEmpty(arguments)) {
+            for (String token : arguments.trim().split("\\s+")) {
+                if (!ARGUMENT.matcher(token).matches()) {
+                    return false;
+                }
+                if ("-u".equals(token)) {
+                    utc = true;
+                } else {
+                    format = token.substring(1);
+                }
+            }
+        }
+        return isSupportedFormat(format, utc);
+    }
+    
+    @Override
+    public List<String> execute(String arguments, File workingDirectory) {
+        ZoneId zone = ZoneId.systemDefault();
+        String format = DEFAULT_FORMAT;
+        if (!BuiltinCommand.isEmpty(arguments)) {
+            for (String token : arguments.trim().split("\\s+")) {
+                if ("-u".equals(token)) {
+                    zone = ZoneOffset.UTC;
+                } else {
+                    format = token.substring(1);
+                }
+            }
+        }
+        return List.of(format(ZonedDateTime.now(zone), format).split("\n", -1));
+    }
+    
+    private boolean isSupportedFormat(String format, boolean utc) {
+        for (int i = 0; i < format.length(); i++) {
+            if (format.charAt(i) != '%') {
+                continue;
+            }
+            if (i + 1 >= format.length()) {
+                return false;
+            }
+            char specifier = format.charAt(++i);
+            if (SUPPORTED_SPECIFIERS.indexOf(specifier) < 0) {
+                return false;
+            }
+            if (specifier == 'Z' && !utc && !isUtcZone(ZoneId.systemDefault())) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    static String format(ZonedDateTime now, String format) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < format.length(); i++) {
+            char c = format.charAt(i);
+            if (c != '%' || i + 1 >= format.length()) {
+                out.append(c);
+                continue;
+            }
+            char specifier = format.charAt(++i);
+            switch (specifier) {
+                case 'a': out.append(now.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH)); break;
+                case 'A': out.append(now.getDayOfWeek().getDisplayName(TextStyle.FULL, Locale.ENGLISH)); break;
+                case 'b':
+                case 'h': out.append(now.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH)); break;
+                case 'B': out.append(now.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH)); break;
+                case 'd': out.append(String.format("%02d", now.getDayOfMonth())); break;
+                case 'e': out.append(String.format("%2d", now.getDayOfMonth())); break;
+                case 'H': out.append(String.format("%02d", now.getHour())); break;
+                case 'I': out.append(String.format("%02d", now.getHour() % 12 == 0 ? 12 : now.getHour() % 12)); break;
+                case 'M': out.append(String.format("%02d", now.getMinute())); break;
+                case 'S': out.append(String.format("%02d", now.getSecond())); break;
+                case 'p': out.append(now.getHour() < 12 ? "AM" : "PM"); break;
+                case 'y': out.append(String.format("%02d", now.getYear() % 100)); break;
+                case 'Y': out.append(now.getYear()); break;
+                case 'm': out.append(String.format("%02d", now.getMonthValue())); break;
+                case 'j': out.append(String.format("%03d", now.getDayOfYear())); break;
+                case 'F': out.append(format(now, "%Y-%m-%d")); break;
+                case 'T': out.append(format(now, "%H:%M:%S")); break;
+                case 'D': out.append(format(now, "%m/%d/%y")); break;
+                case 'R': out.append(format(now, "%H:%M")); break;
+                case 's': out.append(now.toEpochSecond()); break;
+                case 'z': out.append(now.getOffset().getId().equals("Z") ? "+0000" : now.getOffset().getId().replace(":", "")); break;
+                case 'Z': out.append("UTC"); break;
+                case 'u': out.append(now.getDayOfWeek().getValue()); break;
+                case 'w': out.append(now.getDayOfWeek().getValue() % 7); break;
+                case 'n': out.append('\n'); break;
+                case 't': out.append('\t'); break;
+                default: out.append(specifier);
+            }
+        }
+        return out.toString();
+    }
+    
+    private static boolean isUtcZone(ZoneId zone) {
+        return zone.getRules().isFixedOffset() && zone.getRules().getOffset(Instant.EPOCH).getTotalSeconds() == 0;
+    }
+    
+    private static boolean isEnglishLocale() {
+        // Misma precedencia que setlocale(3): LC_ALL, LC_TIME, LANG
+        String locale = firstNonEmpty(System.getenv("LC_ALL"), System.getenv("LC_TIME"), System.getenv("LANG"));
+        return locale == null || locale.equals("C") || locale.equals("POSIX") || locale.startsWith("C.") || locale.startsWith("en");
+    }
+    
+    static String firstNonEmpty(String... values) {
+        for (String value : values) {
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,39 @@
+package app.sencico.edu.pe.gematica.service.builtin;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * {@code echo} con palabras simples, sin opciones ni expansiones del shell
+ */
+class EchoCommand implements BuiltinCommand {
+    
+    @Override
+    public String getName() {
+        return "echo";
+    }
+    
+    @Override
+    public boolean supports(String arguments, String operatingSystem, File workingDirectory) {
+        if (BuiltinCommand.isEmpty(arguments)) {
+            // Unix imprime una línea vacía; cmd imprime el estado de ECHO
+            return !BuiltinCommand.isWindows(operatingSystem);
+        }
+        // Opciones como -n/-e o /? se delegan al comando nativo
+        String trimmed = arguments.trim();
+        return BuiltinCommand.isPlainWords(arguments) && !trimmed.startsWith("-") && !trimmed.startsWith("/");
+    }
+    
+    @Override
+    public List<String> execute(String arguments, File workingDirectory) {
+        if (BuiltinCommand.isEmpty(arguments)) {
+            return List.of("");
+        }
+        if (System.getProperty("os.name").toLowerCase().contains("win")) {
+            // cmd conserva los espacios tal cual
+            return List.of(arguments);
+        }
+        // sh separa en palabras y echo las une con un espacio
+        return List.of(String.join(" ", arguments.trim().split("\\s+")));
+    }
+}
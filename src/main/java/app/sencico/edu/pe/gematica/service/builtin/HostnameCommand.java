@@ -0,0 +1,44 @@
+package app.sencico.edu.pe.gematica.service.builtin;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * {@code hostname} sin argumentos
+ */
+class HostnameCommand implements BuiltinCommand {
+    
+    private static final Path KERNEL_HOSTNAME = Paths.get("/proc/sys/kernel/hostname");
+    
+    @Override
+    public String getName() {
+        return "hostname";
+    }
+    
+    @Override
+    public boolean supports(String arguments, String operatingSystem, File workingDirectory) {
+        return BuiltinCommand.isEmpty(arguments);
+    }
+    
+    @Override
+    public List<String> execute(String arguments, File workingDirectory) throws IOException {
+        return List.of(hostname());
+    }
+    
+    static String hostname() throws IOException {
+        // Mismo origen que hostname(1) en Linux; en Windows la variable COMPUTERNAME
+        if (Files.isReadable(KERNEL_HOSTNAME)) {
+            return Files.readString(KERNEL_HOSTNAME).trim();
+        }
+        String computerName = System.getenv("COMPUTERNAME");
+        if (computerName != null) {
+            return computerName;
+        }
+        return InetAddress.getLocalHost().getHostName();
+    }
+}
@@ -0,0 +1,106 @@
+package app.sencico.edu.pe.gematica.service.builtin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code ls} en Unix con las opciones -1, -a, -A y -p y como máximo un directorio.
+ * Solo con locale C/POSIX, donde ls ordena por bytes igual que String.compareTo.
+ */
+class ListDirectoryCommand implements BuiltinCommand {
+    
+    @Override
+    public String getName() {
+        return "ls";
+    }
+    
+    @Override
+    public boolean supports(String arguments, String operatingSystem, File workingDirectory) {
+        if (BuiltinCommand.isWindows(operatingSystem) || !isByteOrderLocale() || !BuiltinCommand.isPlainWords(arguments)) {
+            return false;
+        }
+        Options options = parse(arguments);
+        // Los errores de ls (ruta inexistente) se dejan al comando nativo
+        return options != null && Files.exists(target(options, workingDirectory), LinkOption.NOFOLLOW_LINKS);
+    }
+    
+    @Override
+    public List<String> execute(String arguments, File workingDirectory) throws IOException {
+        Options options = parse(arguments);
+        Path target = target(options, workingDirectory);
+        
+        if (!Files.isDirectory(target)) {
+            // ls de un archivo imprime el nombre tal como se escribió
+            return List.of(options.path);
+        }
+        List<String> names = new ArrayList<>();
+        if (options.all) {
+            names.add(options.slash ? "./" : ".");
+            names.add(options.slash ? "../" : "..");
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(target)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (name.startsWith(".") && !options.all && !options.almostAll) {
+                    continue;
+                }
+                if (options.slash && Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).isDirectory()) {
+                    name = name + "/";
+                }
+                names.add(name);
+            }
+        }
+        names.sort(String::compareTo);
+        return names;
+    }
+    
+    private static Options parse(String arguments) {
+        Options options = new Options();
+        if (BuiltinCommand.isEmpty(arguments)) {
+            return options;
+        }
+        for (String token : arguments.trim().split("\\s+")) {
+            if (token.startsWith("-") && token.length() > 1) {
+                for (char option : token.substring(1).toCharArray()) {
+                    switch (option) {
+                        case '1': break;
+                        case 'a': options.all = true; break;
+                        case 'A': options.almostAll = true; break;
+                        case 'p': options.slash = true; break;
+                        default: return null;
+                    }
+                }
+            } else if (options.path == null) {
+                options.path = token;
+            } else {
+                // Varios directorios imprimen encabezados "dir:"
+                return null;
+            }
+        }
+        return options;
+    }
+    
+    private static Path target(Options options, File workingDirectory) {
+        Path base = workingDirectory != null ? workingDirectory.toPath() : Path.of(System.getProperty("user.dir"));
+        return options.path != null ? base.resolve(options.path) : base;
+    }
+    
+    private static boolean isByteOrderLocale() {
+        String locale = DateCommand.firstNonEmpty(System.getenv("LC_ALL"), System.getenv("LC_COLLATE"), System.getenv("LANG"));
+        return locale == null || locale.equals("C") || locale.equals("POSIX") || locale.startsWith("C.");
+    }
+    
+    private static class Options {
+        private boolean all;
+        private boolean almostAll;
+        private boolean slash;
+        private String path;
+    }
+}
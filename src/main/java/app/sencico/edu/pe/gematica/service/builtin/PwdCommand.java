@@ -0,0 +1,28 @@
+package app.sencico.edu.pe.gematica.service.builtin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * {@code pwd} sin argumentos (solo Unix; Windows no tiene pwd)
+ */
+class PwdCommand implements BuiltinCommand {
+    
+    @Override
+    public String getName() {
+        return "pwd";
+    }
+    
+    @Override
+    public boolean supports(String arguments, String operatingSystem, File workingDirectory) {
+        return BuiltinCommand.isEmpty(arguments) && !BuiltinCommand.isWindows(operatingSystem);
+    }
+    
+    @Override
+    public List<String> execute(String arguments, File workingDirectory) throws IOException {
+        File directory = workingDirectory != null ? workingDirectory : new File(System.getProperty("user.dir"));
+        // El shell hijo arranca con getcwd(), que resuelve los enlaces simbólicos
+        return List.of(directory.toPath().toRealPath().toString());
+    }
+}
@@ -0,0 +1,91 @@
+package app.sencico.edu.pe.gematica.service.builtin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code uname} en Linux con las opciones -s, -n, -r, -v, -m y -o.
+ * Los datos salen de las propiedades del sistema y de /proc, igual que uname(2).
+ * -a, -p e -i van al comando nativo: coreutils upstream omite -p/-i cuando son "unknown",
+ * pero Debian y Ubuntu los imprimen con el valor de la arquitectura.
+ */
+class UnameCommand implements BuiltinCommand {
+    
+    private static final Path KERNEL_VERSION = Paths.get("/proc/sys/kernel/version");
+    // Orden de impresión de uname(1)
+    private static final String FIELD_ORDER = "snrvmo";
+    
+    @Override
+    public String getName() {
+        return "uname";
+    }
+    
+    @Override
+    public boolean supports(String arguments, String operatingSystem, File workingDirectory) {
+        if (!"LINUX".equalsIgnoreCase(operatingSystem) || !Files.isReadable(KERNEL_VERSION)) {
+            return false;
+        }
+        return fields(arguments) != null;
+    }
+    
+    @Override
+    public List<String> execute(String arguments, File workingDirectory) throws IOException {
+        String fields = fields(arguments);
+        List<String> values = new ArrayList<>();
+        for (char field : FIELD_ORDER.toCharArray()) {
+            if (fields.indexOf(field) < 0) {
+                continue;
+            }
+            switch (field) {
+                case 's': values.add("Linux"); break;
+                case 'n': values.add(HostnameCommand.hostname()); break;
+                case 'r': values.add(System.getProperty("os.version")); break;
+                case 'v': values.add(Files.readString(KERNEL_VERSION).trim()); break;
+                case 'm': values.add(machine()); break;
+                case 'o': values.add("GNU/Linux"); break;
+                default: break;
+            }
+        }
+        return List.of(String.join(" ", values));
+    }
+    
+    /**
+     * Convierte las opciones en el conjunto de campos a imprimir, o null si hay opciones no soportadas
+     */
+    private static String fields(String arguments) {
+        if (BuiltinCommand.isEmpty(arguments)) {
+            return "s";
+        }
+        StringBuilder fields = new StringBuilder();
+        for (String token : arguments.trim().split("\\s+")) {
+            if (!token.startsWith("-") || token.length() < 2) {
+                return null;
+            }
+            for (char option : token.substring(1).toCharArray()) {
+                if (FIELD_ORDER.indexOf(option) >= 0) {
+                    fields.append(option);
+                } else {
+                    return null;
+                }
+            }
+        }
+        return fields.toString();
+    }
+    
+    private static String machine() {
+        String arch = System.getProperty("os.arch");
+        switch (arch) {
+            case "amd64":
+                return "x86_64";
+            case "x86":
+                return "i686";
+            default:
+                return arch;
+        }
+    }
+}
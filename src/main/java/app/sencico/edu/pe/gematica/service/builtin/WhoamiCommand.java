@@ -0,0 +1,34 @@
+package app.sencico.edu.pe.gematica.service.builtin;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * {@code whoami} sin argumentos. El proceso hijo hereda el usuario de la JVM.
+ */
+class WhoamiCommand implements BuiltinCommand {
+    
+    @Override
+    public String getName() {
+        return "whoami";
+    }
+    
+    @Override
+    public boolean supports(String arguments, String operatingSystem, File workingDirectory) {
+        if (!BuiltinCommand.isEmpty(arguments)) {
+            return false;
+        }
+        // En Windows whoami imprime "dominio\\usuario"
+        return !BuiltinCommand.isWindows(operatingSystem) || System.getenv("USERDOMAIN") != null;
+    }
+    
+    @Override
+    public List<String> execute(String arguments, File workingDirectory) {
+        String user = System.getProperty("user.name");
+        String domain = System.getenv("USERDOMAIN");
+        if (System.getProperty("os.name").toLowerCase().contains("win") && domain != null) {
+            return List.of((domain + "\\" + user).toLowerCase());
+        }
+        return List.of(user);
+    }
+}
@@ -0,0 +1,347 @@
+package app.sencico.edu.pe.gematica.service.catalog;
+
+import app.sencico.edu.pe.gematica.dto.CatalogCommand;
+import app.sencico.edu.pe.gematica.service.CommandTranslator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de los ejecutables del PATH del servidor. Se escanea una vez al arrancar y luego se
+ * actualiza por directorio con un {@link WatchService}; cada cambio publica un {@link Snapshot}
+ * inmutable nuevo, así las lecturas no toman locks ni tocan el disco.
+ */
+@Component
+public class CommandCatalog {
+    
+    private static final Logger log = LoggerFactory.getLogger(CommandCatalog.class);
+    private static final String OS_NAME = System.getProperty("os.name").toLowerCase();
+    
+    // Solo se ejecuta sin shell lo que no tiene metacaracteres (comillas, redirecciones, globs, variables...)
+    private static final Pattern PLAIN_COMMAND = Pattern.compile("[\\w.+-]+");
+    private static final Pattern PLAIN_ARGUMENTS = Pattern.compile("[\\w \\t./:,+@%=-]*");
+    
+    // Comandos internos del shell: aunque exista un binario homónimo en el PATH (/bin/echo, /usr/bin/test...)
+    // su comportamiento difiere del builtin que ejecutaría /bin/sh, o no tiene sentido fuera del shell (cd, export)
+    private static final Set<String> SHELL_BUILTINS = Set.of(
+            "alias", "bg", "break", "builtin", "cd", "command", "continue", "echo", "eval", "exec", "exit",
+            "export", "false", "fc", "fg", "getopts", "hash", "jobs", "kill", "printf", "pwd", "read",
+            "readonly", "return", "set", "shift", "source", "test", "[", "times", "trap", "true", "type",
+            "ulimit", "umask", "unalias", "unset", "wait");
+    
+    // Las instalaciones de paquetes generan ráfagas de eventos: se agrupan antes de reescanear
+    private static final long DEBOUNCE_MILLIS = 200;
+    // Cada cuánto se intenta volver a vigilar un directorio del PATH que fue borrado
+    private static final long RETRY_MILLIS = 5_000;
+    
+    private final CommandTranslator commandTranslator;
+    private final List<Path> directories;
+    private final boolean directExec;
+    private final List<String> windowsExtensions;
+    private final Map<Path, Map<String, CatalogEntry>> byDirectory = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot;
+    private WatchService watchService;
+    private ExecutorService watchExecutor;
+    
+    // Constructor para inyección de dependencias
+    @Autowired
+    public CommandCatalog(CommandTranslator commandTranslator,
+                          @Value("${app.command.catalog.watch:true}") boolean watch,
+                          @Value("${app.command.catalog.direct-exec:true}") boolean directExec) {
+        this(commandTranslator, pathDirectories(System.getenv("PATH")), watch, directExec);
+    }
+    
+    CommandCatalog(CommandTranslator commandTranslator, List<Path> directories, boolean watch, boolean directExec) {
+        this.commandTranslator = commandTranslator;
+        this.directories = directories;
+        this.directExec = directExec;
+        this.windowsExtensions = OS_NAME.contains("win") ? windowsExtensions(System.getenv("PATHEXT")) : List.of();
+        
+        long start = System.nanoTime();
+        for (Path directory : directories) {
+            byDirectory.put(directory, scan(directory));
+        }
+        rebuild();
+        log.info("Catálogo de comandos: {} ejecutables en {} directorios del PATH ({} ms)", snapshot.entries().size(),
+                directories.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        if (watch) {
+            startWatching();
+        }
+    }
+    
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+    
+    /**
+     * Ejecutable que usaría el shell para el comando (el primero en el orden del PATH)
+     */
+    public Optional<CatalogEntry> resolve(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        String key = windowsExtensions.isEmpty() ? name : name.toLowerCase(Locale.ROOT);
+        return Optional.ofNullable(snapshot.entries().get(key));
+    }
+    
+    /**
+     * Línea de comandos para ejecutar el binario del catálogo directamente, sin /bin/sh.
+     * Devuelve null cuando hace falta el shell: Windows (cmd tiene comandos internos como dir),
+     * comandos internos del shell (echo, cd...), metacaracteres en el comando o los argumentos,
+     * o un comando que no está en el PATH.
+     */
+    public List<String> directCommand(String command, String arguments, String operatingSystem) {
+        if (!directExec || command == null || !windowsExtensions.isEmpty()
+                || "WINDOWS".equalsIgnoreCase(operatingSystem)
+                || SHELL_BUILTINS.contains(command)
+                || !PLAIN_COMMAND.matcher(command).matches()
+                || (arguments != null && !PLAIN_ARGUMENTS.matcher(arguments).matches())) {
+            return null;
+        }
+        CatalogEntry entry = snapshot.entries().get(command);
+        if (entry == null) {
+            return null;
+        }
+        List<String> commandLine = new ArrayList<>();
+        commandLine.add(entry.path().toString());
+        if (arguments != null && !arguments.isBlank()) {
+            commandLine.addAll(Arrays.asList(arguments.trim().split("[ \\t]+")));
+        }
+        return commandLine;
+    }
+    
+    private Map<String, CatalogEntry> scan(Path directory) {
+        Map<String, CatalogEntry> entries = new HashMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String name = executableName(file);
+                if (name == null || entries.containsKey(name)) {
+                    continue;
+                }
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (attributes.isRegularFile()) {
+                        entries.put(name, new CatalogEntry(name, file, attributes.size(),
+                                attributes.lastModifiedTime().toInstant()));
+                    }
+                } catch (IOException e) {
+                    // Enlace roto o archivo borrado durante el escaneo
+                    log.trace("Se omite {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("No se pudo leer el directorio del PATH {}: {}", directory, e.getMessage());
+        }
+        return entries;
+    }
+    
+    private String executableName(Path file) {
+        String fileName = file.getFileName().toString();
+        if (windowsExtensions.isEmpty()) {
+            return Files.isExecutable(file) ? fileName : null;
+        }
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        for (String extension : windowsExtensions) {
+            if (lower.endsWith(extension)) {
+                return lower.substring(0, lower.length() - extension.length());
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Une los índices por directorio respetando el orden del PATH y publica un snapshot nuevo
+     */
+    private synchronized void rebuild() {
+        Map<String, CatalogEntry> merged = new LinkedHashMap<>();
+        for (Path directory : directories) {
+            byDirectory.getOrDefault(directory, Map.of()).forEach(merged::putIfAbsent);
+        }
+        List<CatalogEntry> sorted = merged.values().stream()
+                .sorted(Comparator.comparing(CatalogEntry::name))
+                .toList();
+        long hash = 1;
+        List<CatalogCommand> commands = new ArrayList<>(sorted.size());
+        for (CatalogEntry entry : sorted) {
+            hash = hash * 1_000_003 + entry.hashCode();
+            commands.add(new CatalogCommand(entry.name(), entry.path().toString(), entry.size(), entry.lastModified(),
+                    commandTranslator.getCommandEquivalencies().get(entry.name().toLowerCase(Locale.ROOT))));
+        }
+        snapshot = new Snapshot(Map.copyOf(merged), List.copyOf(commands), "\"" + Long.toHexString(hash) + "\"");
+    }
+    
+    private void startWatching() {
+        Map<WatchKey, Path> keys = new ConcurrentHashMap<>();
+        Set<Path> unwatched = new LinkedHashSet<>();
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            log.warn("No se pueden vigilar los directorios del PATH, el catálogo no se actualizará: {}", e.getMessage());
+            return;
+        }
+        for (Path directory : directories) {
+            if (!register(directory, keys)) {
+                unwatched.add(directory);
+            }
+        }
+        watchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "command-catalog-watch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchExecutor.execute(() -> watch(keys, unwatched));
+    }
+    
+    private boolean register(Path directory, Map<WatchKey, Path> keys) {
+        try {
+            keys.put(directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY), directory);
+            return true;
+        } catch (IOException e) {
+            log.debug("No se puede vigilar {}: {}", directory, e.getMessage());
+            return false;
+        }
+    }
+    
+    private void watch(Map<WatchKey, Path> keys, Set<Path> unwatched) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.poll(RETRY_MILLIS, TimeUnit.MILLISECONDS);
+                Set<Path> changed = new LinkedHashSet<>();
+                while (key != null) {
+                    Path directory = keys.get(key);
+                    boolean overflow = false;
+                    boolean events = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        events = true;
+                        overflow |= event.kind() == StandardWatchEventKinds.OVERFLOW;
+                    }
+                    if (events && directory != null) {
+                        changed.add(directory);
+                    }
+                    // Tras un OVERFLOW la clave puede haber perdido eventos del kernel: se vuelve a registrar.
+                    // Una clave inválida indica que el directorio se borró; se reintenta hasta que reaparezca.
+                    if (overflow || !key.reset()) {
+                        key.cancel();
+                        keys.remove(key);
+                        if (directory != null) {
+                            changed.add(directory);
+                            if (!register(directory, keys)) {
+                                unwatched.add(directory);
+                            }
+                        }
+                    }
+                    key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                for (Iterator<Path> iterator = unwatched.iterator(); iterator.hasNext(); ) {
+                    Path directory = iterator.next();
+                    if (Files.isDirectory(directory) && register(directory, keys)) {
+                        log.info("Directorio del PATH {} vigilado de nuevo", directory);
+                        iterator.remove();
+                        changed.add(directory);
+                    }
+                }
+                for (Path directory : changed) {
+                    byDirectory.put(directory, Files.isDirectory(directory) ? scan(directory) : Map.of());
+                }
+                if (!changed.isEmpty()) {
+                    rebuild();
+                    log.info("Catálogo de comandos actualizado por cambios en {}: {} ejecutables", changed,
+                            snapshot.entries().size());
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Fin de la aplicación
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (watchExecutor != null) {
+            watchExecutor.shutdownNow();
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Error al cerrar el WatchService del catálogo", e);
+            }
+        }
+    }
+    
+    static List<Path> pathDirectories(String path) {
+        Set<Path> directories = new LinkedHashSet<>();
+        if (path != null) {
+            for (String entry : path.split(File.pathSeparator)) {
+                if (entry.isBlank()) {
+                    continue;
+                }
+                try {
+                    Path directory = Paths.get(entry).toAbsolutePath().normalize();
+                    if (Files.isDirectory(directory)) {
+                        directories.add(directory);
+                    }
+                } catch (InvalidPathException e) {
+                    log.warn("Entrada inválida en el PATH: {}", entry);
+                }
+            }
+        }
+        return List.copyOf(directories);
+    }
+    
+    private static List<String> windowsExtensions(String pathExt) {
+        String value = pathExt != null && !pathExt.isBlank() ? pathExt : ".COM;.EXE;.BAT;.CMD";
+        return Arrays.stream(value.split(";"))
+                .filter(extension -> !extension.isBlank())
+                .map(extension -> extension.trim().toLowerCase(Locale.ROOT))
+                .toList();
+    }
+    
+    /**
+     * Ejecutable indexado
+     */
+    public record CatalogEntry(String name, Path path, long size, Instant lastModified) {
+    }
+    
+    /**
+     * Estado del catálogo en un momento dado, con su ETag
+     */
+    public record Snapshot(Map<String, CatalogEntry> entries, List<CatalogCommand> commands, String etag) {
+    }
+}
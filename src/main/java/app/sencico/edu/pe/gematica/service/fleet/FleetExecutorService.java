@@ -0,0 +1,174 @@
+package app.sencico.edu.pe.gematica.service.fleet;
+
+import app.sencico.edu.pe.gematica.config.FleetProperties;
+import app.sencico.edu.pe.gematica.dto.CommandRequest;
+import app.sencico.edu.pe.gematica.dto.CommandResponse;
+import app.sencico.edu.pe.gematica.dto.FleetCommandRequest;
+import app.sencico.edu.pe.gematica.dto.FleetResponse;
+import app.sencico.edu.pe.gematica.dto.NodeResult;
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+import app.sencico.edu.pe.gematica.service.ExecutionContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Ejecuta un {@link CommandRequest} en varios nodos en paralelo. Cada nodo tiene su propio
+ * timeout; un nodo lento o caído no bloquea ni invalida el resultado de los demás.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.fleet", name = "enabled", havingValue = "true")
+public class FleetExecutorService {
+    
+    private static final Logger log = LoggerFactory.getLogger(FleetExecutorService.class);
+    private static final String EXECUTE_PATH = "/api/v1/command/execute";
+    private static final String API_KEY_HEADER = "X-API-Key";
+    
+    private final PeerRegistry peerRegistry;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final FleetProperties properties;
+    
+    // Constructor para inyección de dependencias
+    public FleetExecutorService(PeerRegistry peerRegistry, @Qualifier("fleetHttpClient") HttpClient httpClient,
+                                ObjectMapper objectMapper, FleetProperties properties) {
+        this.peerRegistry = peerRegistry;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+    
+    public FleetResponse execute(FleetCommandRequest request) {
+        return fanOut(request, result -> { }).join();
+    }
+    
+    public CompletableFuture<FleetResponse> fanOut(FleetCommandRequest request, Consumer<NodeResult> onResult) {
+        return fanOut(plan(request), onResult);
+    }
+    
+    /**
+     * Valida la petición y resuelve los nodos destino sin enviar nada. Permite rechazar una
+     * selección inválida con un error HTTP antes de abrir un stream.
+     */
+    public FleetPlan plan(FleetCommandRequest request) {
+        List<PeerNode> nodes = peerRegistry.select(request.getNodes());
+        if (nodes.isEmpty()) {
+            throw new CommandExecutionException("No hay nodos disponibles para ejecutar el comando");
+        }
+        
+        Duration nodeTimeout = nodeTimeout(request);
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(request.getCommand());
+        } catch (JsonProcessingException e) {
+            throw new CommandExecutionException("No se pudo serializar el comando: " + e.getMessage());
+        }
+        return new FleetPlan(request.getCommand().getCommand(), nodes, body, nodeTimeout);
+    }
+    
+    /**
+     * Envía el comando a los nodos del plan. {@code onResult} se invoca a medida que
+     * cada nodo termina (desde hilos del cliente HTTP); el futuro se completa con el agregado.
+     */
+    public CompletableFuture<FleetResponse> fanOut(FleetPlan plan, Consumer<NodeResult> onResult) {
+        List<PeerNode> nodes = plan.nodes();
+        byte[] body = plan.body();
+        Duration nodeTimeout = plan.nodeTimeout();
+        log.info("Ejecutando comando {} en {} nodos", plan.command(), nodes.size());
+        long startTime = System.currentTimeMillis();
+        List<NodeResult> results = new CopyOnWriteArrayList<>();
+        CompletableFuture<?>[] calls = nodes.stream()
+                .map(node -> call(node, body, nodeTimeout).thenAccept(result -> {
+                    results.add(result);
+                    onResult.accept(result);
+                }))
+                .toArray(CompletableFuture[]::new);
+        
+        return CompletableFuture.allOf(calls).handle((ignored, error) -> {
+            FleetResponse response = new FleetResponse();
+            response.setNodes(nodes.size());
+            int succeeded = (int) results.stream().filter(result -> "SUCCESS".equals(result.getStatus())).count();
+            response.setSucceeded(succeeded);
+            response.setFailed(nodes.size() - succeeded);
+            response.setExecutionTime(System.currentTimeMillis() - startTime);
+            response.setResults(List.copyOf(results));
+            return response;
+        });
+    }
+    
+    private Duration nodeTimeout(FleetCommandRequest request) {
+        if (request.getNodeTimeout() != null) {
+            return Duration.ofSeconds(request.getNodeTimeout());
+        }
+        Integer commandTimeout = request.getCommand().getTimeout();
+        return Duration.ofSeconds(commandTimeout != null ? commandTimeout : 30).plus(properties.getNodeTimeoutMargin());
+    }
+    
+    private CompletableFuture<NodeResult> call(PeerNode node, byte[] body, Duration nodeTimeout) {
+        // El nodo recibe la misma fecha límite para no seguir ejecutando si el coordinador ya se rindió
+        HttpRequest.Builder builder = HttpRequest.newBuilder(node.resolve(EXECUTE_PATH))
+                .timeout(nodeTimeout)
+                .header("Content-Type", "application/json")
+                .header(ExecutionContext.DEADLINE_HEADER, Instant.now().plus(nodeTimeout).toString())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        // Con la clave del coordinador el nodo no reparte un solo bucket entre todos sus clientes
+        if (properties.getApiKey() != null && !properties.getApiKey().isBlank()) {
+            builder.header(API_KEY_HEADER, properties.getApiKey());
+        }
+        HttpRequest request = builder.build();
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .orTimeout(nodeTimeout.toMillis() + 1000, TimeUnit.MILLISECONDS)
+                .handle((response, error) -> {
+                    NodeResult result = new NodeResult();
+                    result.setNode(node.getName());
+                    result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        result.setStatus(cause instanceof HttpTimeoutException || cause instanceof TimeoutException
+                                ? "TIMEOUT" : "UNREACHABLE");
+                        result.setError(cause.toString());
+                        if (cause instanceof ConnectException) {
+                            peerRegistry.recordFailure(node, cause.toString());
+                        }
+                        return result;
+                    }
+                    result.setHttpStatus(response.statusCode());
+                    try {
+                        CommandResponse commandResponse = objectMapper.readValue(response.body(), CommandResponse.class);
+                        result.setResponse(commandResponse);
+                        result.setStatus(response.statusCode() == 200 && "SUCCESS".equals(commandResponse.getStatus()) ? "SUCCESS" : "ERROR");
+                    } catch (IOException e) {
+                        result.setStatus("ERROR");
+                        result.setError("Respuesta no válida del nodo (HTTP " + response.statusCode() + "): " + e.getMessage());
+                    }
+                    return result;
+                });
+    }
+    
+    /**
+     * Ejecución validada: nodos destino, cuerpo serializado y timeout por nodo
+     */
+    public record FleetPlan(String command, List<PeerNode> nodes, byte[] body, Duration nodeTimeout) {
+    }
+}
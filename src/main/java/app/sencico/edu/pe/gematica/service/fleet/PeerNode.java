@@ -0,0 +1,63 @@
+package app.sencico.edu.pe.gematica.service.fleet;
+
+import app.sencico.edu.pe.gematica.dto.NodeInfo;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Estado mutable de un nodo; se publica hacia la API como {@link NodeInfo}
+ */
+class PeerNode {
+    
+    private final String name;
+    private final URI baseUri;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile String status = "UNKNOWN";
+    private volatile Instant lastHeartbeat;
+    private volatile Long latencyMillis;
+    private volatile String lastError;
+    
+    PeerNode(String name, URI baseUri) {
+        this.name = name;
+        this.baseUri = baseUri;
+    }
+    
+    void markSuccess(long latencyMillis) {
+        consecutiveFailures.set(0);
+        this.lastHeartbeat = Instant.now();
+        this.latencyMillis = latencyMillis;
+        this.lastError = null;
+        this.status = "UP";
+    }
+    
+    /**
+     * Registra un fallo; devuelve true si el nodo acaba de pasar a DOWN
+     */
+    boolean markFailure(String error, int unhealthyThreshold) {
+        this.lastError = error;
+        if (consecutiveFailures.incrementAndGet() >= unhealthyThreshold && !"DOWN".equals(status)) {
+            status = "DOWN";
+            return true;
+        }
+        return false;
+    }
+    
+    URI resolve(String path) {
+        return URI.create(baseUri + path);
+    }
+    
+    String getName() {
+        return name;
+    }
+    
+    boolean isDown() {
+        return "DOWN".equals(status);
+    }
+    
+    NodeInfo toInfo() {
+        return new NodeInfo(name, baseUri.toString(), status, lastHeartbeat, latencyMillis,
+                consecutiveFailures.get(), lastError);
+    }
+}
@@ -0,0 +1,171 @@
+package app.sencico.edu.pe.gematica.service.fleet;
+
+import app.sencico.edu.pe.gematica.config.FleetProperties;
+import app.sencico.edu.pe.gematica.dto.NodeInfo;
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro de nodos ejecutores del modo coordinador. Un heartbeat periódico a
+ * /api/v1/command/health mantiene el estado UP/DOWN de cada nodo.
+ *
+ * <p>El heartbeat arranca con el ciclo de vida del contexto y no en el constructor: como
+ * SmartLifecycle el bean se crea al arrancar aunque el perfil prod use inicialización
+ * perezosa, y se detiene antes de cerrar el cliente HTTP.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.fleet", name = "enabled", havingValue = "true")
+public class PeerRegistry implements SmartLifecycle {
+    
+    private static final Logger log = LoggerFactory.getLogger(PeerRegistry.class);
+    private static final String HEALTH_PATH = "/api/v1/command/health";
+    
+    private final Map<String, PeerNode> nodes = new ConcurrentHashMap<>();
+    private final FleetProperties properties;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService heartbeatScheduler;
+    private volatile ScheduledFuture<?> heartbeatTask;
+    
+    // Constructor para inyección de dependencias
+    public PeerRegistry(FleetProperties properties, @Qualifier("fleetHttpClient") HttpClient httpClient) {
+        this.properties = properties;
+        this.httpClient = httpClient;
+        properties.getNodes().forEach(this::add);
+        this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fleet-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @Override
+    public synchronized void start() {
+        if (heartbeatTask == null) {
+            long interval = properties.getHeartbeatInterval().toMillis();
+            heartbeatTask = heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, 0, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @Override
+    public synchronized void stop() {
+        if (heartbeatTask != null) {
+            heartbeatTask.cancel(false);
+            heartbeatTask = null;
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return heartbeatTask != null;
+    }
+    
+    /**
+     * Registra un nodo desde la API. Solo se aceptan hosts de app.fleet.allowed-hosts.
+     */
+    public NodeInfo register(String name, String url) {
+        String host = parse(url).getHost();
+        boolean allowed = host != null && properties.getAllowedHosts().stream().anyMatch(host::equalsIgnoreCase);
+        if (!allowed) {
+            throw new CommandExecutionException("El host del nodo no está en app.fleet.allowed-hosts: " + url);
+        }
+        return add(name, url);
+    }
+    
+    private NodeInfo add(String name, String url) {
+        URI baseUri = parse(url);
+        PeerNode node = new PeerNode(name, baseUri);
+        nodes.put(name, node);
+        log.info("Nodo registrado: {} -> {}", name, baseUri);
+        return node.toInfo();
+    }
+    
+    private static URI parse(String url) {
+        URI baseUri;
+        try {
+            baseUri = URI.create(url.endsWith("/") ? url.substring(0, url.length() - 1) : url);
+        } catch (IllegalArgumentException e) {
+            throw new CommandExecutionException("URL de nodo inválida: " + url);
+        }
+        if (!"http".equals(baseUri.getScheme()) && !"https".equals(baseUri.getScheme())) {
+            throw new CommandExecutionException("La URL del nodo debe ser http o https: " + url);
+        }
+        return baseUri;
+    }
+    
+    public boolean remove(String name) {
+        return nodes.remove(name) != null;
+    }
+    
+    public List<NodeInfo> getNodes() {
+        return nodes.values().stream().map(PeerNode::toInfo).toList();
+    }
+    
+    /**
+     * Nodos destino de una ejecución: los indicados por nombre, o todos los que no están DOWN
+     */
+    List<PeerNode> select(List<String> names) {
+        if (names == null || names.isEmpty()) {
+            return nodes.values().stream().filter(node -> !node.isDown()).toList();
+        }
+        List<PeerNode> selected = new ArrayList<>(names.size());
+        for (String name : names) {
+            PeerNode node = nodes.get(name);
+            if (node == null) {
+                throw new CommandExecutionException("Nodo no registrado: " + name);
+            }
+            selected.add(node);
+        }
+        return selected;
+    }
+    
+    void recordFailure(PeerNode node, String error) {
+        if (node.markFailure(error, properties.getUnhealthyThreshold())) {
+            log.warn("Nodo {} marcado como DOWN: {}", node.getName(), error);
+        }
+    }
+    
+    void heartbeat() {
+        for (PeerNode node : nodes.values()) {
+            HttpRequest request = HttpRequest.newBuilder(node.resolve(HEALTH_PATH))
+                    .timeout(properties.getHeartbeatTimeout())
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error != null) {
+                            recordFailure(node, error.toString());
+                        } else if (response.statusCode() != 200) {
+                            recordFailure(node, "HTTP " + response.statusCode());
+                        } else {
+                            node.markSuccess(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                        }
+                    });
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        stop();
+        heartbeatScheduler.shutdownNow();
+    }
+}
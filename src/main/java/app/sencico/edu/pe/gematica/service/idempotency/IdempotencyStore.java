@@ -0,0 +1,268 @@
+package app.sencico.edu.pe.gematica.service.idempotency;
+
+import app.sencico.edu.pe.gematica.config.IdempotencyProperties;
+import app.sencico.edu.pe.gematica.dto.CommandRequest;
+import app.sencico.edu.pe.gematica.dto.CommandResponse;
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+import app.sencico.edu.pe.gematica.service.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Evita ejecutar dos veces el mismo comando cuando el cliente reintenta con la misma
+ * cabecera {@code Idempotency-Key}: el reintento se une a la ejecución en curso o recibe la
+ * respuesta guardada, sin crear otro proceso.
+ *
+ * <p>Las claves se separan por cliente (el mismo que usa {@link RateLimiter}) y se guardan con
+ * la huella de la petición; reutilizar una clave con otro comando es un error. Solo se guardan
+ * las respuestas: si la ejecución lanza una excepción, los que esperaban la reciben y la clave
+ * queda libre para un nuevo intento.
+ *
+ * <p>El almacén se limita por número de claves y por la memoria estimada de las respuestas
+ * ({@code max-retained-size}); las salidas que superan app.outputs.spill-threshold ya llegan
+ * como outputHandle y errorOutputHandle, sin el texto.
+ */
+@Component
+public class IdempotencyStore {
+    
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+    
+    // Memoria aproximada de una respuesta sin contar sus textos
+    private static final long RESPONSE_OVERHEAD = 1024;
+    // Memoria aproximada de un registro de la salida estructurada (mapa con unos pocos campos)
+    private static final long RECORD_OVERHEAD = 512;
+    
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    private final IdempotencyProperties properties;
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Orden de llegada de las claves, para descartar las más antiguas al llenarse
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private final ScheduledExecutorService evictionScheduler;
+    
+    // Constructor para inyección de dependencias
+    @Autowired
+    public IdempotencyStore(IdempotencyProperties properties, RateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this(properties, rateLimiter, meterRegistry, System::nanoTime);
+    }
+    
+    IdempotencyStore(IdempotencyProperties properties, RateLimiter rateLimiter, MeterRegistry meterRegistry,
+                     LongSupplier clock) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.evictionScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(properties.getTtl().toMillis() / 4, 1000);
+        evictionScheduler.scheduleWithFixedDelay(this::evictExpired, period, period, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Ejecuta la petición una sola vez por clave. Sin clave (o desactivado) simplemente la ejecuta.
+     * En los reintentos agrega la cabecera {@code Idempotent-Replayed: true}.
+     */
+    public CommandResponse execute(String key, HttpServletRequest httpRequest, HttpServletResponse httpResponse,
+                                   CommandRequest request, Supplier<CommandResponse> execution) {
+        if (!properties.isEnabled() || key == null || key.isBlank()) {
+            return execution.get();
+        }
+        if (key.length() > properties.getMaxKeyLength()) {
+            throw new CommandExecutionException("La cabecera " + HEADER + " no puede superar "
+                    + properties.getMaxKeyLength() + " caracteres");
+        }
+        
+        String scopedKey = rateLimiter.resolveClient(httpRequest) + "|" + key.trim();
+        String fingerprint = fingerprint(request);
+        Entry created = new Entry(fingerprint);
+        Entry existing = entries.putIfAbsent(scopedKey, created);
+        
+        if (existing == null) {
+            insertionOrder.add(scopedKey);
+            if (isFull()) {
+                evictOldest();
+            }
+            return run(scopedKey, created, execution);
+        }
+        
+        if (!existing.fingerprint.equals(fingerprint)) {
+            throw new CommandExecutionException("La " + HEADER + " ya se usó con una petición distinta");
+        }
+        log.info("Reintento con {} {}: se reutiliza la ejecución {}", HEADER, key,
+                existing.result.isDone() ? "terminada" : "en curso");
+        meterRegistry.counter("gematica.idempotency.replayed",
+                "state", existing.result.isDone() ? "completed" : "in_flight").increment();
+        httpResponse.setHeader(REPLAYED_HEADER, "true");
+        try {
+            return existing.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    private CommandResponse run(String scopedKey, Entry entry, Supplier<CommandResponse> execution) {
+        try {
+            CommandResponse response = execution.get();
+            entry.expiresAt = clock.getAsLong() + properties.getTtl().toNanos();
+            long bytes = estimateSize(response);
+            if (bytes > properties.getMaxRetainedSize().toBytes()) {
+                // Demasiado grande para guardarla: los que esperaban la reciben, los reintentos posteriores no
+                log.warn("Respuesta de {} bytes no se guarda para reintentos (max-retained-size)", bytes);
+                entries.remove(scopedKey, entry);
+            } else {
+                entry.bytes = bytes;
+                retainedBytes.addAndGet(bytes);
+            }
+            entry.result.complete(response);
+            if (isFull()) {
+                evictOldest();
+            }
+            return response;
+        } catch (RuntimeException e) {
+            entries.remove(scopedKey, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+    
+    void evictExpired() {
+        long now = clock.getAsLong();
+        int before = entries.size();
+        entries.values().removeIf(entry -> {
+            if (entry.isExpired(now)) {
+                retainedBytes.addAndGet(-entry.bytes);
+                return true;
+            }
+            return false;
+        });
+        insertionOrder.removeIf(key -> !entries.containsKey(key));
+        if (before != entries.size()) {
+            log.debug("Claves de idempotencia vencidas descartadas: {}", before - entries.size());
+        }
+    }
+    
+    private boolean isFull() {
+        return entries.size() > properties.getMaxEntries()
+                || retainedBytes.get() > properties.getMaxRetainedSize().toBytes();
+    }
+    
+    /**
+     * Descarta las claves terminadas más antiguas hasta volver a los máximos. Las que siguen en curso
+     * se conservan (vuelven al final de la cola) para no duplicar su ejecución.
+     */
+    private void evictOldest() {
+        int inspected = insertionOrder.size();
+        while (isFull() && inspected-- > 0) {
+            String key = insertionOrder.poll();
+            if (key == null) {
+                return;
+            }
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                continue;
+            }
+            if (entry.result.isDone()) {
+                if (entries.remove(key, entry)) {
+                    retainedBytes.addAndGet(-entry.bytes);
+                }
+            } else {
+                insertionOrder.add(key);
+            }
+        }
+    }
+    
+    int size() {
+        return entries.size();
+    }
+    
+    long retainedBytes() {
+        return retainedBytes.get();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        evictionScheduler.shutdownNow();
+    }
+    
+    /**
+     * Huella de la petición: todo lo que puede cambiar el resultado, incluido el timeout.
+     * La prioridad no se incluye porque solo elige el carril de espera; un reintento con otra
+     * prioridad sigue siendo la misma ejecución.
+     */
+    static String fingerprint(CommandRequest request) {
+        return String.join("\u0000",
+                Objects.toString(request.getCommand(), ""),
+                Objects.toString(request.getArguments(), ""),
+                Objects.toString(request.getTimeout(), ""),
+                Objects.toString(request.getOperatingSystem(), ""),
+                Objects.toString(request.getWorkingDirectory(), ""),
+                Objects.toString(request.getFormat(), ""),
+                Objects.toString(request.getEnvironmentTemplate(), ""),
+                request.getEnvironment() != null ? new TreeMap<>(request.getEnvironment()).toString() : "",
+                Objects.toString(request.getFilter(), ""));
+    }
+    
+    /**
+     * Memoria estimada de la respuesta: textos en UTF-16 más un costo fijo por registro estructurado
+     */
+    static long estimateSize(CommandResponse response) {
+        long chars = length(response.getOutput()) + length(response.getErrorOutput())
+                + length(response.getMessage()) + length(response.getExecutedCommand());
+        long records = response.getStructuredOutput() != null ? response.getStructuredOutput().getRecords().size() : 0;
+        return RESPONSE_OVERHEAD + chars * 2 + records * RECORD_OVERHEAD;
+    }
+    
+    private static long length(String text) {
+        return text != null ? text.length() : 0;
+    }
+    
+    private static final class Entry {
+        
+        private final String fingerprint;
+        private final CompletableFuture<CommandResponse> result = new CompletableFuture<>();
+        // Se fija al terminar; las ejecuciones en curso no vencen
+        private volatile long expiresAt;
+        // Memoria estimada de la respuesta guardada
+        private volatile long bytes;
+        
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+        
+        private boolean isExpired(long now) {
+            return result.isDone() && now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package app.sencico.edu.pe.gematica.service.output;
+
+import app.sencico.edu.pe.gematica.config.OutputSpillProperties;
+import app.sencico.edu.pe.gematica.dto.OutputHandle;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Archivos temporales con las salidas que superan el umbral de memoria. Lleva la cuenta del
+ * espacio usado (cuota) y elimina las salidas vencidas, incluidas las de ejecuciones que
+ * fallaron antes de publicarlas. El índice solo vive en memoria, así que el directorio se
+ * vacía al arrancar.
+ */
+@Component
+public class OutputStore {
+    
+    private static final Logger log = LoggerFactory.getLogger(OutputStore.class);
+    private static final String SUFFIX = ".out";
+    
+    // Ruta de descarga de las salidas (OutputController)
+    public static final String BASE_PATH = "/api/v1/outputs";
+    
+    private final OutputSpillProperties properties;
+    private final Path directory;
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final Map<String, StoredOutput> outputs = new ConcurrentHashMap<>();
+    private final Set<SpillFile> pending = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService cleanupScheduler;
+    
+    // Las URLs de los handles son relativas al host, así que incluyen el context-path
+    @Value("${server.servlet.context-path:}")
+    private String contextPath = "";
+    
+    // Constructor para inyección de dependencias
+    public OutputStore(OutputSpillProperties properties) {
+        this.properties = properties;
+        this.directory = (properties.getDirectory() != null && !properties.getDirectory().isBlank()
+                ? Paths.get(properties.getDirectory())
+                : Paths.get(System.getProperty("java.io.tmpdir"), "gematica-outputs")).toAbsolutePath().normalize();
+        if (properties.isEnabled()) {
+            prepareDirectory();
+        }
+        this.cleanupScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "output-spill-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(Math.min(properties.getTtl().toMillis() / 4, TimeUnit.MINUTES.toMillis(1)), 1000);
+        cleanupScheduler.scheduleWithFixedDelay(this::cleanup, period, period, TimeUnit.MILLISECONDS);
+    }
+    
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+    
+    public long getSpillThreshold() {
+        return properties.getSpillThreshold().toBytes();
+    }
+    
+    public long getMaxPageSize() {
+        return properties.getMaxPageSize().toBytes();
+    }
+    
+    public int getMaxTailLines() {
+        return properties.getMaxTailLines();
+    }
+    
+    public long getFilterMatchTimeoutNanos() {
+        return properties.getFilterMatchTimeout().toNanos();
+    }
+    
+    /**
+     * Crea un archivo de salida vacío; se publica con {@link SpillFile#finish()}
+     */
+    public SpillFile create() throws IOException {
+        String id = UUID.randomUUID().toString();
+        SpillFile file = new SpillFile(this, id, directory.resolve(id + SUFFIX));
+        pending.add(file);
+        return file;
+    }
+    
+    public Optional<StoredOutput> get(String id) {
+        StoredOutput output = id != null ? outputs.get(id) : null;
+        if (output == null || output.expiresAt().isBefore(Instant.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(output);
+    }
+    
+    public boolean delete(String id) {
+        StoredOutput output = outputs.remove(id);
+        if (output == null) {
+            return false;
+        }
+        deleteFile(output.path(), output.size());
+        return true;
+    }
+    
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+    
+    /**
+     * Reserva espacio de la cuota. Devuelve false si no alcanza.
+     */
+    boolean reserve(long bytes) {
+        long quota = properties.getQuota().toBytes();
+        while (true) {
+            long used = usedBytes.get();
+            if (used + bytes > quota) {
+                return false;
+            }
+            if (usedBytes.compareAndSet(used, used + bytes)) {
+                return true;
+            }
+        }
+    }
+    
+    void release(long bytes) {
+        usedBytes.addAndGet(-bytes);
+    }
+    
+    OutputHandle publish(SpillFile file, long size, String sha256, boolean truncated) {
+        pending.remove(file);
+        Instant expiresAt = Instant.now().plus(properties.getTtl());
+        StoredOutput output = new StoredOutput(file.getId(), file.getPath(), size, sha256, truncated, expiresAt);
+        outputs.put(output.id(), output);
+        log.info("Salida guardada en disco: {} ({} bytes{})", output.id(), size, truncated ? ", truncada por cuota" : "");
+        return new OutputHandle(output.id(), size, sha256, truncated, expiresAt, contextPath + BASE_PATH + "/" + output.id());
+    }
+    
+    void discarded(SpillFile file) {
+        pending.remove(file);
+    }
+    
+    void cleanup() {
+        Instant now = Instant.now();
+        outputs.values().removeIf(output -> {
+            if (output.expiresAt().isBefore(now)) {
+                deleteFile(output.path(), output.size());
+                return true;
+            }
+            return false;
+        });
+        // Archivos de ejecuciones que no llegaron a publicarse (timeout, cancelación...)
+        Instant orphanLimit = now.minus(properties.getTtl());
+        for (SpillFile file : pending) {
+            if (file.getCreatedAt().isBefore(orphanLimit)) {
+                file.discard();
+            }
+        }
+    }
+    
+    private void deleteFile(Path path, long size) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("No se pudo borrar la salida {}: {}", path, e.getMessage());
+        }
+        release(size);
+    }
+    
+    private void prepareDirectory() {
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+                for (Path leftover : stream) {
+                    Files.deleteIfExists(leftover);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo preparar el directorio de salidas " + directory, e);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        cleanupScheduler.shutdownNow();
+    }
+    
+    /**
+     * Salida publicada
+     */
+    public record StoredOutput(String id, Path path, long size, String sha256, boolean truncated, Instant expiresAt) {
+    }
+}
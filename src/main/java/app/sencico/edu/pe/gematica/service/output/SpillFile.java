@@ -0,0 +1,101 @@
+package app.sencico.edu.pe.gematica.service.output;
+
+import app.sencico.edu.pe.gematica.dto.OutputHandle;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Archivo donde se escribe una salida grande mientras se drena el proceso. Calcula el SHA-256
+ * en la misma pasada y reserva cuota por cada escritura; sin cuota se deja de escribir y la
+ * salida queda marcada como truncada.
+ */
+public final class SpillFile {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final OutputStore store;
+    private final String id;
+    private final Path path;
+    private final Instant createdAt = Instant.now();
+    private final OutputStream out;
+    private final MessageDigest digest;
+    private long size;
+    private boolean truncated;
+    private boolean closed;
+    
+    SpillFile(OutputStore store, String id, Path path) throws IOException {
+        this.store = store;
+        this.id = id;
+        this.path = path;
+        this.out = new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE);
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+    
+    public void write(byte[] bytes) throws IOException {
+        write(bytes, 0, bytes.length);
+    }
+    
+    public synchronized void write(byte[] bytes, int offset, int length) throws IOException {
+        if (closed || truncated) {
+            return;
+        }
+        if (!store.reserve(length)) {
+            truncated = true;
+            return;
+        }
+        out.write(bytes, offset, length);
+        digest.update(bytes, offset, length);
+        size += length;
+    }
+    
+    /**
+     * Cierra el archivo y lo publica en el {@link OutputStore}
+     */
+    public synchronized OutputHandle finish() throws IOException {
+        closed = true;
+        out.close();
+        return store.publish(this, size, HexFormat.of().formatHex(digest.digest()), truncated);
+    }
+    
+    /**
+     * Descarta el archivo (ejecución fallida); no hace nada si ya se publicó
+     */
+    public synchronized void discard() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            out.close();
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Lo reintenta la limpieza del directorio al reiniciar
+        }
+        store.release(size);
+        store.discarded(this);
+    }
+    
+    String getId() {
+        return id;
+    }
+    
+    Path getPath() {
+        return path;
+    }
+    
+    Instant getCreatedAt() {
+        return createdAt;
+    }
+}
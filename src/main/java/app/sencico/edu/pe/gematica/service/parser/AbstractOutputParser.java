@@ -0,0 +1,64 @@
+package app.sencico.edu.pe.gematica.service.parser;
+
+import app.sencico.edu.pe.gematica.dto.StructuredOutput;
+
+import java.util.Map;
+
+/**
+ * Base común de los parsers: acumula registros y convierte valores numéricos
+ */
+abstract class AbstractOutputParser implements OutputParser {
+    
+    protected final StructuredOutput result;
+    private int unparsedLines;
+    
+    protected AbstractOutputParser(String type) {
+        this.result = new StructuredOutput(type);
+    }
+    
+    @Override
+    public StructuredOutput finish() {
+        result.setUnparsedLines(unparsedLines);
+        return result;
+    }
+    
+    protected void addRecord(Map<String, Object> record) {
+        result.getRecords().add(record);
+    }
+    
+    protected void markUnparsed() {
+        unparsedLines++;
+    }
+    
+    /**
+     * Convierte a Long ignorando separadores de miles; null si no es numérico
+     */
+    protected static Long toLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        String digits = value.replaceAll("[,.\\s]", "");
+        if (digits.isEmpty() || !digits.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(digits);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Convierte a Double aceptando coma decimal; null si no es numérico
+     */
+    protected static Double toDouble(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
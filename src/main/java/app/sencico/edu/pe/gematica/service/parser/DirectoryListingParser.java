@@ -0,0 +1,131 @@
+package app.sencico.edu.pe.gematica.service.parser;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parser para listados de directorio: {@code ls}, {@code ls -la} y {@code dir}
+ * (esquema DIRECTORY_LISTING). Todos los formatos producen registros con exactamente las
+ * claves de {@link #FIELDS}; los simples ({@code ls -1}, {@code dir /b}) solo informan el
+ * nombre y el resto queda en null.
+ */
+public class DirectoryListingParser extends AbstractOutputParser {
+    
+    /**
+     * Esquema DIRECTORY_LISTING
+     */
+    public static final List<String> FIELDS = List.of(
+        "name", "type", "permissions", "links", "owner", "group", "size", "modified", "target"
+    );
+    
+    // -rw-r--r--  1 user group 1234 Oct 19 10:00 archivo.txt
+    private static final Pattern LONG_FORMAT = Pattern.compile(
+        "^([bcdlps-][rwxsStT-]{9})[.+@]?\\s+(\\d+)\\s+(\\S+)\\s+(\\S+)\\s+(\\d+(?:,\\s*\\d+)?)\\s+(\\S+\\s+\\S+\\s+\\S+)\\s(.+)$");
+    // 19/10/2026  10:00 a. m.    <DIR>          carpeta
+    private static final Pattern WINDOWS_FORMAT = Pattern.compile(
+        "^(\\d{1,4}[/.-]\\d{1,2}[/.-]\\d{1,4})\\s+(\\d{1,2}:\\d{2}(?:\\s*[aApP]\\.?\\s?[mM]\\.?)?)\\s+(<DIR>|<JUNCTION>|<SYMLINKD?>|[\\d.,]+)\\s+(.+)$");
+    
+    public DirectoryListingParser() {
+        super("DIRECTORY_LISTING");
+    }
+    
+    @Override
+    public void accept(String line) {
+        if (line.isBlank()) {
+            return;
+        }
+        Matcher m = LONG_FORMAT.matcher(line);
+        if (m.matches()) {
+            addLongFormat(m);
+            return;
+        }
+        m = WINDOWS_FORMAT.matcher(line);
+        if (m.matches()) {
+            addWindowsFormat(m);
+            return;
+        }
+        if (line.startsWith("total ") || Character.isWhitespace(line.charAt(0))) {
+            // "total 48" de ls, encabezados y resúmenes de dir
+            markUnparsed();
+            return;
+        }
+        Map<String, Object> record = newRecord(line, null);
+        addRecord(record);
+    }
+    
+    private void addLongFormat(Matcher m) {
+        String permissions = m.group(1);
+        String name = m.group(7);
+        String target = null;
+        String type;
+        switch (permissions.charAt(0)) {
+            case 'd':
+                type = "DIRECTORY";
+                break;
+            case 'l':
+                type = "SYMLINK";
+                int arrow = name.indexOf(" -> ");
+                if (arrow > 0) {
+                    target = name.substring(arrow + 4);
+                    name = name.substring(0, arrow);
+                }
+                break;
+            case '-':
+                type = "FILE";
+                break;
+            default:
+                type = "OTHER";
+        }
+        Map<String, Object> record = newRecord(name, type);
+        record.put("permissions", permissions);
+        record.put("links", toLong(m.group(2)));
+        record.put("owner", m.group(3));
+        record.put("group", m.group(4));
+        record.put("size", m.group(5).contains(",") ? null : toLong(m.group(5)));
+        record.put("modified", m.group(6));
+        record.put("target", target);
+        addRecord(record);
+    }
+    
+    private void addWindowsFormat(Matcher m) {
+        String sizeOrType = m.group(3);
+        String type;
+        switch (sizeOrType.toUpperCase()) {
+            case "<DIR>":
+                type = "DIRECTORY";
+                break;
+            case "<JUNCTION>":
+            case "<SYMLINK>":
+            case "<SYMLINKD>":
+                type = "SYMLINK";
+                break;
+            default:
+                type = "FILE";
+        }
+        String name = m.group(4);
+        String target = null;
+        int bracket = name.lastIndexOf(" [");
+        if ("SYMLINK".equals(type) && bracket > 0 && name.endsWith("]")) {
+            target = name.substring(bracket + 2, name.length() - 1);
+            name = name.substring(0, bracket);
+        }
+        Map<String, Object> record = newRecord(name, type);
+        record.put("size", "FILE".equals(type) ? toLong(sizeOrType) : null);
+        record.put("modified", m.group(1) + " " + m.group(2));
+        record.put("target", target);
+        addRecord(record);
+    }
+    
+    private static Map<String, Object> newRecord(String name, String type) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        for (String field : FIELDS) {
+            record.put(field, null);
+        }
+        record.put("name", name);
+        record.put("type", type);
+        return record;
+    }
+}
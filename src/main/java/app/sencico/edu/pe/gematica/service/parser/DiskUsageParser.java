@@ -0,0 +1,119 @@
+package app.sencico.edu.pe.gematica.service.parser;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parser para {@code df} (esquema DISK_USAGE). Soporta bloques de 1K/512 bytes,
+ * tamaños legibles ({@code df -h}) y la columna de tipo ({@code df -T}); los valores se
+ * normalizan a bytes.
+ */
+public class DiskUsageParser extends AbstractOutputParser {
+    
+    private long blockSize = 1024;
+    private boolean humanReadable;
+    private boolean typeColumn;
+    private boolean headerSeen;
+    private String pendingFilesystem;
+    
+    public DiskUsageParser() {
+        super("DISK_USAGE");
+    }
+    
+    @Override
+    public void accept(String line) {
+        if (line.isBlank()) {
+            return;
+        }
+        String[] tokens = line.trim().split("\\s+");
+        if (!headerSeen) {
+            headerSeen = true;
+            // df -T: "Filesystem Type 1K-blocks ..."
+            typeColumn = tokens.length > 2 && (tokens[1].equalsIgnoreCase("Type") || tokens[1].equalsIgnoreCase("Tipo"));
+            String sizeColumn = tokens.length > 1 ? tokens[typeColumn ? 2 : 1] : "";
+            if (sizeColumn.endsWith("-blocks")) {
+                blockSize = parseBlockSize(sizeColumn.substring(0, sizeColumn.length() - "-blocks".length()));
+            } else {
+                humanReadable = true;
+            }
+            return;
+        }
+        // Nombres de filesystem largos hacen que df parta la fila en dos líneas
+        if (tokens.length == 1 && pendingFilesystem == null) {
+            pendingFilesystem = tokens[0];
+            return;
+        }
+        int offset = 0;
+        String filesystem;
+        if (pendingFilesystem != null) {
+            filesystem = pendingFilesystem;
+            pendingFilesystem = null;
+        } else {
+            filesystem = tokens[0];
+            offset = 1;
+        }
+        String type = null;
+        if (typeColumn) {
+            if (offset >= tokens.length) {
+                markUnparsed();
+                return;
+            }
+            type = tokens[offset];
+            offset++;
+        }
+        int percentIndex = -1;
+        for (int i = offset; i < tokens.length; i++) {
+            if (tokens[i].endsWith("%")) {
+                percentIndex = i;
+                break;
+            }
+        }
+        if (percentIndex < offset + 3 || percentIndex == tokens.length - 1) {
+            markUnparsed();
+            return;
+        }
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("filesystem", filesystem);
+        record.put("type", type);
+        record.put("totalBytes", toBytes(tokens[offset]));
+        record.put("usedBytes", toBytes(tokens[offset + 1]));
+        record.put("availableBytes", toBytes(tokens[offset + 2]));
+        record.put("usePercent", toLong(tokens[percentIndex].substring(0, tokens[percentIndex].length() - 1)));
+        // En Mac hay columnas de inodos entre el porcentaje y el punto de montaje
+        int mountIndex = percentIndex + 1;
+        while (mountIndex < tokens.length - 1 && !tokens[mountIndex].startsWith("/")) {
+            mountIndex++;
+        }
+        record.put("mountPoint", String.join(" ", Arrays.copyOfRange(tokens, mountIndex, tokens.length)));
+        addRecord(record);
+    }
+    
+    private Long toBytes(String value) {
+        if (!humanReadable) {
+            Long blocks = toLong(value);
+            return blocks != null ? blocks * blockSize : null;
+        }
+        if (value.isEmpty()) {
+            return null;
+        }
+        char unit = Character.toUpperCase(value.charAt(value.length() - 1));
+        String number = Character.isDigit(unit) ? value : value.substring(0, value.length() - 1);
+        Double amount = toDouble(number.endsWith("i") ? number.substring(0, number.length() - 1) : number);
+        if (amount == null) {
+            return null;
+        }
+        int exponent = "BKMGTPE".indexOf(unit);
+        return exponent < 0 ? amount.longValue() : (long) (amount * Math.pow(1024, exponent));
+    }
+    
+    private static long parseBlockSize(String prefix) {
+        // "1K", "1024", "512"
+        if (prefix.endsWith("K") || prefix.endsWith("k")) {
+            Long value = toLong(prefix.substring(0, prefix.length() - 1));
+            return value != null ? value * 1024 : 1024;
+        }
+        Long value = toLong(prefix);
+        return value != null ? value : 1024;
+    }
+}
@@ -0,0 +1,94 @@
+package app.sencico.edu.pe.gematica.service.parser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parser para {@code netstat -an} en Linux, Mac y Windows (esquema NETWORK_CONNECTIONS).
+ * Solo interpreta conexiones TCP/UDP; los sockets UNIX se cuentan como no interpretados.
+ */
+public class NetstatParser extends AbstractOutputParser {
+    
+    public NetstatParser() {
+        super("NETWORK_CONNECTIONS");
+    }
+    
+    @Override
+    public void accept(String line) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty()) {
+            return;
+        }
+        String[] tokens = trimmed.split("\\s+");
+        String protocol = tokens[0].toLowerCase();
+        if (!protocol.startsWith("tcp") && !protocol.startsWith("udp")) {
+            // Encabezados ("Proto", "Active Internet connections", "Conexiones activas") o sockets UNIX
+            if (!protocol.startsWith("proto") && !protocol.startsWith("active") && !protocol.startsWith("conexiones")) {
+                markUnparsed();
+            }
+            return;
+        }
+        
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("protocol", protocol);
+        int addressIndex;
+        if (tokens.length >= 5 && toLong(tokens[1]) != null && toLong(tokens[2]) != null) {
+            // Unix: Proto Recv-Q Send-Q Local Foreign [State]
+            record.put("receiveQueue", toLong(tokens[1]));
+            record.put("sendQueue", toLong(tokens[2]));
+            addressIndex = 3;
+        } else if (tokens.length >= 3) {
+            // Windows: Proto Local Foreign [State]
+            record.put("receiveQueue", null);
+            record.put("sendQueue", null);
+            addressIndex = 1;
+        } else {
+            markUnparsed();
+            return;
+        }
+        putAddress(record, "local", tokens[addressIndex]);
+        putAddress(record, "remote", tokens[addressIndex + 1]);
+        String state = tokens.length > addressIndex + 2 ? tokens[addressIndex + 2] : null;
+        record.put("state", normalizeState(state));
+        addRecord(record);
+    }
+    
+    private static void putAddress(Map<String, Object> record, String prefix, String endpoint) {
+        // Linux/Windows usan "host:puerto"; Mac usa "host.puerto" también en IPv6 ("::1.631").
+        // El puerto siempre va después del último separador, sea ':' o '.'
+        int separator = Math.max(endpoint.lastIndexOf(':'), endpoint.lastIndexOf('.'));
+        String host = separator > 0 ? endpoint.substring(0, separator) : endpoint;
+        String port = separator > 0 ? endpoint.substring(separator + 1) : null;
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+        record.put(prefix + "Address", host);
+        record.put(prefix + "Port", toPort(port));
+    }
+    
+    /**
+     * Puerto sin separadores de miles (toLong convertiría "1.631" en 1631); null si es "*" o no numérico
+     */
+    private static Long toPort(String port) {
+        if (port == null || port.isEmpty() || port.length() > 5 || !port.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return Long.parseLong(port);
+    }
+    
+    private static String normalizeState(String state) {
+        if (state == null) {
+            return null;
+        }
+        switch (state.toUpperCase()) {
+            case "LISTENING":
+            case "ESCUCHANDO":
+                return "LISTEN";
+            case "ESTABLISHED":
+            case "ESTABLECIDO":
+                return "ESTABLISHED";
+            default:
+                return state.toUpperCase();
+        }
+    }
+}
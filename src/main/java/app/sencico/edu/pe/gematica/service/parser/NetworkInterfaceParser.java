@@ -0,0 +1,196 @@
+package app.sencico.edu.pe.gematica.service.parser;
+
+import app.sencico.edu.pe.gematica.dto.StructuredOutput;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parser para {@code ifconfig} (Unix) e {@code ipconfig} (Windows) con el
+ * esquema NETWORK_INTERFACES. Un registro se emite al comenzar la siguiente
+ * interfaz o al finalizar la salida.
+ */
+public class NetworkInterfaceParser extends AbstractOutputParser {
+    
+    // eth0: flags=4163<UP,BROADCAST,RUNNING,MULTICAST>  mtu 1500
+    private static final Pattern UNIX_HEADER = Pattern.compile("^(\\S+?):? flags=\\d+<([^>]*)>(?:.*mtu (\\d+))?");
+    // eth0      Link encap:Ethernet  HWaddr 00:11:22:33:44:55 (net-tools antiguo)
+    private static final Pattern LEGACY_HEADER = Pattern.compile("^(\\S+)\\s+Link encap:.*?(?:HWaddr (\\S+))?\\s*$");
+    private static final Pattern INET = Pattern.compile("inet (?:addr:)?(\\d+\\.\\d+\\.\\d+\\.\\d+)");
+    private static final Pattern NETMASK = Pattern.compile("(?:netmask |Mask:)(\\S+)");
+    private static final Pattern BROADCAST = Pattern.compile("(?:broadcast |Bcast:)(\\S+)");
+    private static final Pattern INET6 = Pattern.compile("inet6 (?:addr: ?)?([0-9a-fA-F:%.]+[0-9a-fA-F])");
+    private static final Pattern MAC = Pattern.compile("(?:ether|HWaddr) ([0-9a-fA-F:]{17})");
+    private static final Pattern MTU = Pattern.compile("MTU:(\\d+)");
+    // Ethernet adapter Ethernet: / Adaptador de Ethernet Ethernet:
+    private static final Pattern WINDOWS_HEADER = Pattern.compile("^(\\S.*?(?:adapter|Adaptador).*?):\\s*$", Pattern.CASE_INSENSITIVE);
+    // IPv4 Address. . . . . . . . . . . : 192.168.1.10
+    private static final Pattern WINDOWS_PROPERTY = Pattern.compile("^\\s+(.+?)[ .]*\\s:(?:\\s(.*))?$");
+    
+    private Map<String, Object> current;
+    private boolean windowsGatewayPending;
+    
+    public NetworkInterfaceParser() {
+        super("NETWORK_INTERFACES");
+    }
+    
+    @Override
+    public void accept(String line) {
+        if (line.isBlank()) {
+            return;
+        }
+        Matcher m = UNIX_HEADER.matcher(line);
+        if (m.find()) {
+            List<String> flags = m.group(2).isEmpty() ? new ArrayList<>() : Arrays.asList(m.group(2).split(","));
+            startInterface(m.group(1));
+            current.put("flags", flags);
+            current.put("up", flags.contains("UP"));
+            current.put("mtu", toLong(m.group(3)));
+            return;
+        }
+        m = LEGACY_HEADER.matcher(line);
+        if (m.find()) {
+            startInterface(m.group(1));
+            current.put("macAddress", m.group(2));
+            return;
+        }
+        m = WINDOWS_HEADER.matcher(line);
+        if (m.find()) {
+            startInterface(m.group(1));
+            current.put("up", true);
+            return;
+        }
+        if (current == null) {
+            // "Windows IP Configuration" y otras líneas previas a la primera interfaz
+            markUnparsed();
+            return;
+        }
+        if (line.contains(". :")) {
+            m = WINDOWS_PROPERTY.matcher(line);
+            if (m.find()) {
+                applyWindowsProperty(m.group(1), m.group(2) != null ? m.group(2).trim() : "");
+                return;
+            }
+        }
+        if (windowsGatewayPending && line.trim().matches("[0-9a-fA-F.:%]+")) {
+            // La puerta de enlace IPv4 puede aparecer en la línea siguiente a la IPv6
+            if (current.get("gateway") == null || String.valueOf(current.get("gateway")).contains(":")) {
+                current.put("gateway", line.trim());
+            }
+            return;
+        }
+        applyUnixProperties(line);
+    }
+    
+    @Override
+    public StructuredOutput finish() {
+        flush();
+        return super.finish();
+    }
+    
+    private void startInterface(String name) {
+        flush();
+        current = new LinkedHashMap<>();
+        current.put("name", name);
+        current.put("up", null);
+        current.put("flags", new ArrayList<String>());
+        current.put("mtu", null);
+        current.put("macAddress", null);
+        current.put("ipv4Address", null);
+        current.put("netmask", null);
+        current.put("broadcast", null);
+        current.put("gateway", null);
+        current.put("ipv6Addresses", new ArrayList<String>());
+        windowsGatewayPending = false;
+    }
+    
+    private void flush() {
+        if (current != null) {
+            addRecord(current);
+            current = null;
+        }
+    }
+    
+    private void applyUnixProperties(String line) {
+        boolean matched = false;
+        Matcher m = INET.matcher(line);
+        if (m.find()) {
+            current.put("ipv4Address", m.group(1));
+            matched = true;
+        }
+        m = NETMASK.matcher(line);
+        if (m.find()) {
+            current.put("netmask", normalizeNetmask(m.group(1)));
+            matched = true;
+        }
+        m = BROADCAST.matcher(line);
+        if (m.find()) {
+            current.put("broadcast", m.group(1));
+            matched = true;
+        }
+        m = INET6.matcher(line);
+        if (m.find()) {
+            addIpv6(m.group(1));
+            matched = true;
+        }
+        m = MAC.matcher(line);
+        if (m.find()) {
+            current.put("macAddress", m.group(1).toLowerCase());
+            matched = true;
+        }
+        m = MTU.matcher(line);
+        if (m.find()) {
+            current.put("mtu", toLong(m.group(1)));
+            if (line.contains("UP ")) {
+                current.put("up", true);
+            }
+            matched = true;
+        }
+        if (!matched) {
+            // Contadores de paquetes (RX/TX), txqueuelen, etc.
+            markUnparsed();
+        }
+    }
+    
+    private void applyWindowsProperty(String key, String value) {
+        String normalizedKey = key.toLowerCase();
+        windowsGatewayPending = false;
+        if (normalizedKey.contains("ipv4")) {
+            current.put("ipv4Address", value.replaceAll("\\(.*\\)", "").trim());
+        } else if (normalizedKey.contains("ipv6")) {
+            addIpv6(value.replaceAll("\\(.*\\)", "").trim());
+        } else if (normalizedKey.contains("subnet") || normalizedKey.contains("máscara")) {
+            current.put("netmask", value);
+        } else if (normalizedKey.contains("gateway") || normalizedKey.contains("puerta de enlace")) {
+            current.put("gateway", value.isEmpty() ? null : value);
+            windowsGatewayPending = true;
+        } else if (normalizedKey.contains("physical") || normalizedKey.contains("física")) {
+            current.put("macAddress", value.replace('-', ':').toLowerCase());
+        } else if (normalizedKey.contains("media state") || normalizedKey.contains("estado de los medios")) {
+            current.put("up", false);
+        } else {
+            markUnparsed();
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void addIpv6(String address) {
+        if (!address.isEmpty()) {
+            ((List<String>) current.get("ipv6Addresses")).add(address);
+        }
+    }
+    
+    private static String normalizeNetmask(String netmask) {
+        // Mac reporta la máscara en hexadecimal (0xffffff00)
+        if (netmask.startsWith("0x") && netmask.length() == 10) {
+            long value = Long.parseLong(netmask.substring(2), 16);
+            return ((value >> 24) & 0xff) + "." + ((value >> 16) & 0xff) + "." + ((value >> 8) & 0xff) + "." + (value & 0xff);
+        }
+        return netmask;
+    }
+}
@@ -0,0 +1,21 @@
+package app.sencico.edu.pe.gematica.service.parser;
+
+import app.sencico.edu.pe.gematica.dto.StructuredOutput;
+
+/**
+ * Parser incremental de la salida estándar de un comando.
+ * Recibe las líneas a medida que se leen del proceso, sin esperar
+ * a que la salida completa esté en memoria.
+ */
+public interface OutputParser {
+    
+    /**
+     * Procesa una línea de la salida (sin el separador de línea)
+     */
+    void accept(String line);
+    
+    /**
+     * Finaliza el análisis y devuelve los registros obtenidos
+     */
+    StructuredOutput finish();
+}
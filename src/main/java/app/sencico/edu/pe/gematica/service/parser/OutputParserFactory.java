@@ -0,0 +1,51 @@
+package app.sencico.edu.pe.gematica.service.parser;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Selecciona el parser estructurado según el comando ya traducido.
+ * Las variantes Windows y Unix de una misma familia comparten parser y esquema.
+ */
+@Component
+public class OutputParserFactory {
+    
+    /**
+     * Crea un parser nuevo para el comando, o null si no hay uno disponible
+     */
+    public OutputParser createParser(String command) {
+        switch (baseName(command)) {
+            case "ps":
+            case "tasklist":
+                return new ProcessListParser();
+            case "netstat":
+                return new NetstatParser();
+            case "ping":
+                return new PingParser();
+            case "df":
+                return new DiskUsageParser();
+            case "ls":
+            case "dir":
+                return new DirectoryListingParser();
+            case "ifconfig":
+            case "ipconfig":
+                return new NetworkInterfaceParser();
+            default:
+                return null;
+        }
+    }
+    
+    /**
+     * Obtiene el nombre del ejecutable sin ruta, extensión ni argumentos
+     */
+    private String baseName(String command) {
+        if (command == null) {
+            return "";
+        }
+        String name = command.trim().split("\\s+")[0];
+        name = name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1).toLowerCase();
+        if (name.endsWith(".exe")) {
+            name = name.substring(0, name.length() - 4);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,90 @@
+package app.sencico.edu.pe.gematica.service.parser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parser para {@code ping} en Unix y Windows (esquema PING).
+ * Cada respuesta es un registro; las estadísticas finales van en el resumen.
+ */
+public class PingParser extends AbstractOutputParser {
+    
+    // Unix: 64 bytes from 8.8.8.8: icmp_seq=1 ttl=117 time=12.3 ms
+    private static final Pattern UNIX_REPLY = Pattern.compile(
+        "(\\d+) bytes from ([^:\\s]+(?: \\([^)]+\\))?):? icmp_[sr]eq=(\\d+) ttl=(\\d+) time=([\\d.]+) ms");
+    // Windows: Reply from 8.8.8.8: bytes=32 time=12ms TTL=117 / Respuesta desde 8.8.8.8: bytes=32 tiempo=12ms TTL=117
+    private static final Pattern WINDOWS_REPLY = Pattern.compile(
+        "(?i)(?:reply from|respuesta desde) ([^:\\s]+): bytes=(\\d+) (?:time|tiempo)[=<]([\\d.]+)ms TTL=(\\d+)");
+    // Unix: 4 packets transmitted, 4 received, 0% packet loss
+    private static final Pattern UNIX_PACKETS = Pattern.compile(
+        "(\\d+) packets transmitted, (\\d+) (?:packets )?received.*?([\\d.]+)% packet loss");
+    // Unix: rtt min/avg/max/mdev = 11.1/12.2/13.3/0.8 ms
+    private static final Pattern UNIX_RTT = Pattern.compile(
+        "= ([\\d.]+)/([\\d.]+)/([\\d.]+)(?:/[\\d.]+)? ms");
+    // Windows: Packets: Sent = 4, Received = 4, Lost = 0 (0% loss)
+    private static final Pattern WINDOWS_PACKETS = Pattern.compile(
+        "(?i)(?:sent|enviados) = (\\d+), (?:received|recibidos) = (\\d+), (?:lost|perdidos) = \\d+ \\((\\d+)%");
+    // Windows: Minimum = 11ms, Maximum = 13ms, Average = 12ms
+    private static final Pattern WINDOWS_RTT = Pattern.compile(
+        "(?i)(?:minimum|mínimo) = (\\d+)ms, (?:maximum|máximo) = (\\d+)ms, (?:average|media) = (\\d+)ms");
+    
+    private long sequence;
+    
+    public PingParser() {
+        super("PING");
+    }
+    
+    @Override
+    public void accept(String line) {
+        if (line.isBlank()) {
+            return;
+        }
+        Matcher m = UNIX_REPLY.matcher(line);
+        if (m.find()) {
+            sequence = Long.parseLong(m.group(3));
+            addReply(m.group(2), toLong(m.group(1)), toLong(m.group(4)), toDouble(m.group(5)));
+            return;
+        }
+        m = WINDOWS_REPLY.matcher(line);
+        if (m.find()) {
+            sequence++;
+            addReply(m.group(1), toLong(m.group(2)), toLong(m.group(4)), toDouble(m.group(3)));
+            return;
+        }
+        m = UNIX_PACKETS.matcher(line);
+        if (m.find() || (m = WINDOWS_PACKETS.matcher(line)).find()) {
+            result.getSummary().put("transmitted", toLong(m.group(1)));
+            result.getSummary().put("received", toLong(m.group(2)));
+            result.getSummary().put("lossPercent", toDouble(m.group(3)));
+            return;
+        }
+        m = UNIX_RTT.matcher(line);
+        if (m.find()) {
+            result.getSummary().put("minMs", toDouble(m.group(1)));
+            result.getSummary().put("avgMs", toDouble(m.group(2)));
+            result.getSummary().put("maxMs", toDouble(m.group(3)));
+            return;
+        }
+        m = WINDOWS_RTT.matcher(line);
+        if (m.find()) {
+            result.getSummary().put("minMs", toDouble(m.group(1)));
+            result.getSummary().put("avgMs", toDouble(m.group(3)));
+            result.getSummary().put("maxMs", toDouble(m.group(2)));
+            return;
+        }
+        // Encabezados ("PING host ...", "Pinging host ...") y tiempos de espera agotados
+        markUnparsed();
+    }
+    
+    private void addReply(String host, Long bytes, Long ttl, Double timeMs) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("sequence", sequence);
+        record.put("host", host);
+        record.put("bytes", bytes);
+        record.put("ttl", ttl);
+        record.put("timeMs", timeMs);
+        addRecord(record);
+    }
+}
@@ -0,0 +1,169 @@
+package app.sencico.edu.pe.gematica.service.parser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser para listados de procesos: {@code ps} (Unix) y {@code tasklist} (Windows).
+ * Ambos formatos producen registros con exactamente las claves de {@link #FIELDS}, en ese
+ * orden; las que el comando no informa quedan en null y las columnas propias de un solo
+ * sistema (TTY, VSZ, sesión, título de ventana...) se descartan.
+ */
+public class ProcessListParser extends AbstractOutputParser {
+    
+    /**
+     * Esquema PROCESS_LIST
+     */
+    public static final List<String> FIELDS = List.of(
+        "pid", "parentPid", "user", "command", "state", "cpuTime", "cpuPercent", "memoryKb", "memoryPercent", "startTime"
+    );
+    
+    // Columnas de tasklist por posición (independiente del idioma de Windows); null = no forma parte del esquema
+    private static final String[] TASKLIST_FIELDS = {
+        "command", "pid", null, null, "memoryKb", "state", "user", "cpuTime", null
+    };
+    
+    private String headerLine;
+    private String[] psHeader;
+    private List<int[]> tasklistColumns;
+    
+    public ProcessListParser() {
+        super("PROCESS_LIST");
+    }
+    
+    @Override
+    public void accept(String line) {
+        if (line.isBlank()) {
+            return;
+        }
+        if (headerLine == null) {
+            headerLine = line;
+            psHeader = line.trim().split("\\s+");
+            return;
+        }
+        if (tasklistColumns == null && psHeader != null && line.trim().startsWith("=")) {
+            // tasklist: la línea "===== ====" define el ancho de cada columna
+            tasklistColumns = columnRanges(line);
+            psHeader = null;
+            return;
+        }
+        if (tasklistColumns != null) {
+            parseTasklistRow(line);
+        } else {
+            parsePsRow(line);
+        }
+    }
+    
+    private void parsePsRow(String line) {
+        String[] values = line.trim().split("\\s+", psHeader.length);
+        if (values.length < psHeader.length) {
+            markUnparsed();
+            return;
+        }
+        Map<String, Object> record = newRecord();
+        for (int i = 0; i < psHeader.length; i++) {
+            String value = values[i];
+            switch (psHeader[i].toUpperCase()) {
+                case "USER":
+                case "UID":
+                    record.put("user", value);
+                    break;
+                case "PID":
+                    record.put("pid", toLong(value));
+                    break;
+                case "PPID":
+                    record.put("parentPid", toLong(value));
+                    break;
+                case "%CPU":
+                    record.put("cpuPercent", toDouble(value));
+                    break;
+                case "%MEM":
+                    record.put("memoryPercent", toDouble(value));
+                    break;
+                case "RSS":
+                    record.put("memoryKb", toLong(value));
+                    break;
+                case "S":
+                case "STAT":
+                    record.put("state", value);
+                    break;
+                case "START":
+                case "STIME":
+                case "STARTED":
+                    record.put("startTime", value);
+                    break;
+                case "TIME":
+                    record.put("cpuTime", value);
+                    break;
+                case "CMD":
+                case "COMMAND":
+                    record.put("command", value);
+                    break;
+                default:
+                    // Columna sin equivalente en tasklist
+                    break;
+            }
+        }
+        addRecord(record);
+    }
+    
+    private void parseTasklistRow(String line) {
+        Map<String, Object> record = newRecord();
+        for (int i = 0; i < tasklistColumns.size() && i < TASKLIST_FIELDS.length; i++) {
+            int[] range = tasklistColumns.get(i);
+            if (range[0] >= line.length()) {
+                break;
+            }
+            // La última columna toma el resto de la línea
+            int end = i == tasklistColumns.size() - 1 ? line.length() : Math.min(range[1], line.length());
+            String value = line.substring(range[0], end).trim();
+            String field = TASKLIST_FIELDS[i];
+            if (field == null) {
+                continue;
+            }
+            switch (field) {
+                case "pid":
+                    record.put(field, toLong(value));
+                    break;
+                case "memoryKb":
+                    // "12,345 K" o "12.345 KB" según el idioma
+                    record.put(field, toLong(value.replaceAll("[^0-9]", "")));
+                    break;
+                default:
+                    record.put(field, value);
+            }
+        }
+        if (record.get("pid") == null) {
+            markUnparsed();
+            return;
+        }
+        addRecord(record);
+    }
+    
+    private static Map<String, Object> newRecord() {
+        Map<String, Object> record = new LinkedHashMap<>();
+        for (String field : FIELDS) {
+            record.put(field, null);
+        }
+        return record;
+    }
+    
+    private static List<int[]> columnRanges(String separatorLine) {
+        List<int[]> ranges = new ArrayList<>();
+        int i = 0;
+        while (i < separatorLine.length()) {
+            if (separatorLine.charAt(i) == '=') {
+                int start = i;
+                while (i < separatorLine.length() && separatorLine.charAt(i) == '=') {
+                    i++;
+                }
+                ranges.add(new int[] {start, i + 1});
+            } else {
+                i++;
+            }
+        }
+        return ranges;
+    }
+}
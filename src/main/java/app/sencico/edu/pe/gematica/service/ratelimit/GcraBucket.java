@@ -0,0 +1,64 @@
+package app.sencico.edu.pe.gematica.service.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket implementado con GCRA (generic cell rate algorithm): todo el estado es un
+ * único "theoretical arrival time" en un AtomicLong que se actualiza con CAS, sin locks.
+ */
+class GcraBucket {
+    
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private final AtomicLong theoreticalArrival;
+    
+    /**
+     * @param emissionInterval nanosegundos entre peticiones a la tasa sostenida
+     * @param burst peticiones que se aceptan de golpe con el bucket lleno
+     */
+    GcraBucket(long emissionInterval, int burst, long now) {
+        this.emissionInterval = emissionInterval;
+        this.burstTolerance = emissionInterval * burst;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+    
+    /**
+     * Intenta consumir un token. Devuelve los nanosegundos de espera necesarios:
+     * 0 si se aceptó, mayor a 0 si se rechazó.
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long newTat = Math.max(tat, now) + emissionInterval;
+            long wait = newTat - now - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+    
+    /**
+     * Tokens disponibles en el instante dado
+     */
+    long remaining(long now) {
+        long used = Math.max(theoreticalArrival.get() - now, 0);
+        return Math.max((burstTolerance - used) / emissionInterval, 0);
+    }
+    
+    /**
+     * Nanosegundos hasta que el bucket vuelva a estar lleno
+     */
+    long untilFull(long now) {
+        return Math.max(theoreticalArrival.get() - now, 0);
+    }
+    
+    /**
+     * Un bucket lleno desde hace más de {@code idle} equivale a uno nuevo y se puede descartar
+     */
+    boolean isIdle(long now, long idle) {
+        return now - theoreticalArrival.get() > idle;
+    }
+}
@@ -0,0 +1,195 @@
+package app.sencico.edu.pe.gematica.service.ratelimit;
+
+import app.sencico.edu.pe.gematica.config.RateLimitProperties;
+import app.sencico.edu.pe.gematica.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Límites de peticiones por cliente, por endpoint y por clase de comando. Se consulta en los
+ * controladores antes de invocar al servicio de ejecución.
+ *
+ * <p>Los buckets viven en un ConcurrentHashMap (lecturas sin lock, escrituras por bin) y cada
+ * bucket es un {@link GcraBucket} con un solo AtomicLong, así que no hay un punto de contención
+ * común entre clientes.
+ */
+@Component
+public class RateLimiter {
+    
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+    
+    // Separadores de palabras en la línea de comandos (espacios, comillas y operadores del shell)
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[\\s\"'`;&|()<>$]+");
+    private static final Pattern EXECUTABLE_SUFFIX = Pattern.compile("\\.(exe|com|bat|cmd)$");
+    
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final Map<String, GcraBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, String> commandClassByCommand = new HashMap<>();
+    private final Map<String, String> clientByApiKey = new HashMap<>();
+    private final Set<String> exemptClients = new HashSet<>();
+    private final ScheduledExecutorService evictionScheduler;
+    
+    // Constructor para inyección de dependencias
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+    
+    RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        properties.getCommandClasses().forEach((name, commandClass) ->
+                commandClass.getCommands().forEach(command ->
+                        commandClassByCommand.put(command.toLowerCase(Locale.ROOT), name)));
+        properties.getApiKeys().forEach((name, key) -> clientByApiKey.put(key, name));
+        properties.getExemptClients().forEach(name -> exemptClients.add("client:" + name));
+        this.evictionScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long idle = properties.getIdleTimeout().toMillis();
+        evictionScheduler.scheduleWithFixedDelay(this::evictIdle, idle, idle, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Consume un token del endpoint (y de la clase del comando, si tiene una) para el cliente de
+     * la petición. Agrega las cabeceras RateLimit-* a la respuesta y lanza
+     * {@link RateLimitExceededException} si se superó algún límite.
+     */
+    public void check(HttpServletRequest request, HttpServletResponse response, String endpoint, String command) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String client = resolveClient(request);
+        if (exemptClients.contains(client)) {
+            return;
+        }
+        long now = clock.getAsLong();
+        
+        RateLimitProperties.Limit endpointLimit = properties.getEndpoints().getOrDefault(endpoint, properties.getDefaultLimit());
+        Decision decision = acquire(client + "|" + endpoint, endpointLimit, now);
+        
+        String commandClass = commandClassOf(command);
+        if (decision.allowed() && commandClass != null) {
+            Decision classDecision = acquire(client + "|class:" + commandClass,
+                    properties.getCommandClasses().get(commandClass), now);
+            // Se informa el límite más restrictivo
+            if (!classDecision.allowed() || classDecision.remaining() < decision.remaining()) {
+                decision = classDecision;
+            }
+        }
+        
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(decision.resetNanos())));
+        response.setHeader("RateLimit-Policy", decision.policy());
+        
+        if (!decision.allowed()) {
+            meterRegistry.counter("gematica.ratelimit.rejected", "endpoint", endpoint).increment();
+            log.warn("Límite de peticiones excedido para {} en {}", client, endpoint);
+            throw new RateLimitExceededException("Límite de peticiones excedido (" + decision.policy()
+                    + "). Reintente en " + toSeconds(decision.retryAfterNanos()) + " s",
+                    toSeconds(decision.retryAfterNanos()));
+        }
+    }
+    
+    /**
+     * Clase del comando. Se revisa cada palabra de la línea, no solo la primera, para que
+     * {@code "echo x && ping host"} también cuente; de cada palabra se toma el nombre del
+     * archivo sin ruta ni extensión ejecutable ({@code /usr/bin/ping}, {@code PING.EXE}).
+     */
+    String commandClassOf(String command) {
+        if (command == null || commandClassByCommand.isEmpty()) {
+            return null;
+        }
+        for (String token : TOKEN_SEPARATORS.split(command.toLowerCase(Locale.ROOT))) {
+            String name = token.substring(Math.max(token.lastIndexOf('/'), token.lastIndexOf('\\')) + 1);
+            String commandClass = commandClassByCommand.get(EXECUTABLE_SUFFIX.matcher(name).replaceFirst(""));
+            if (commandClass != null) {
+                return commandClass;
+            }
+        }
+        return null;
+    }
+    
+    private Decision acquire(String key, RateLimitProperties.Limit limit, long now) {
+        int burst = limit.getBurst() != null ? limit.getBurst() : limit.getLimit();
+        GcraBucket bucket = buckets.computeIfAbsent(key,
+                k -> new GcraBucket(limit.getPeriod().toNanos() / limit.getLimit(), burst, now));
+        long wait = bucket.tryAcquire(now);
+        String policy = limit.getLimit() + ";w=" + limit.getPeriod().toSeconds() + (burst != limit.getLimit() ? ";burst=" + burst : "");
+        return new Decision(wait == 0, burst, bucket.remaining(now), bucket.untilFull(now), wait, policy);
+    }
+    
+    /**
+     * Cliente de la petición: el nombre de la clave si una cabecera de cliente trae una clave
+     * configurada; si no, la IP. Un valor desconocido no crea un cliente nuevo.
+     */
+    public String resolveClient(HttpServletRequest request) {
+        for (String header : properties.getClientHeaders()) {
+            String value = request.getHeader(header);
+            String client = value != null ? clientByApiKey.get(value.trim()) : null;
+            if (client != null) {
+                return "client:" + client;
+            }
+        }
+        if (properties.isTrustForwardedFor()) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                return "ip:" + forwarded.split(",")[0].trim();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+    
+    void evictIdle() {
+        long now = clock.getAsLong();
+        long idle = properties.getIdleTimeout().toNanos();
+        int before = buckets.size();
+        // Un bucket inactivo está lleno: si otra petición lo usa justo al descartarlo, como mucho
+        // gana un token extra al crear uno nuevo
+        buckets.entrySet().removeIf(entry -> entry.getValue().isIdle(now, idle));
+        if (before != buckets.size()) {
+            log.debug("Buckets de clientes inactivos descartados: {}", before - buckets.size());
+        }
+    }
+    
+    int size() {
+        return buckets.size();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        evictionScheduler.shutdownNow();
+    }
+    
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+    
+    private record Decision(boolean allowed, int limit, long remaining, long resetNanos, long retryAfterNanos,
+                            String policy) {
+    }
+}
@@ -0,0 +1,10 @@
+package app.sencico.edu.pe.gematica.service.script;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Línea de comandos y variables de entorno listas para ejecutar un script registrado
+ */
+public record PreparedScript(String scriptId, List<String> command, Map<String, String> environment) {
+}
@@ -0,0 +1,326 @@
+package app.sencico.edu.pe.gematica.service.script;
+
+import app.sencico.edu.pe.gematica.config.ScriptProperties;
+import app.sencico.edu.pe.gematica.dto.ScriptInfo;
+import app.sencico.edu.pe.gematica.dto.ScriptUploadRequest;
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Registro de scripts direccionados por contenido. Cada script se escribe una sola vez en
+ * disco como {@code <sha256><ext>} (con sus metadatos en {@code <sha256>.json}) y se ejecuta
+ * por su id, así que las peticiones no vuelven a enviar, validar ni escribir el script.
+ *
+ * <p>Las políticas (intérprete, tamaño, patrones prohibidos, nombres de parámetros) se revisan
+ * al registrar. Los parámetros nunca se sustituyen en el texto del script: llegan como
+ * variables de entorno y argumentos, que sh, bash y PowerShell no vuelven a interpretar.
+ * cmd sí expande {@code %NOMBRE%} antes de analizar cada línea, así que en los scripts cmd
+ * se rechazan los valores con metacaracteres de cmd ({@code & | < > ^ % " ( )} y saltos de línea).
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.scripts", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ScriptRegistry {
+    
+    private static final Logger log = LoggerFactory.getLogger(ScriptRegistry.class);
+    
+    private static final Pattern ID = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern PARAMETER_NAME = Pattern.compile("[A-Z][A-Z0-9_]{0,63}");
+    
+    // cmd expande las variables antes de analizar la línea: estos caracteres cambiarían el comando
+    private static final Pattern CMD_METACHARACTERS = Pattern.compile("[&|<>^%\"()\r\n]");
+    
+    // Variables que cambian cómo se ejecutan el intérprete o los programas que lanza
+    private static final Set<String> RESERVED_PARAMETERS = Set.of(
+        "PATH", "HOME", "IFS", "ENV", "BASH_ENV", "SHELL", "SHELLOPTS", "BASHOPTS", "PS4", "CDPATH",
+        "GLOBIGNORE", "PROMPT_COMMAND", "COMSPEC", "PATHEXT", "SYSTEMROOT", "WINDIR", "TEMP", "TMP",
+        "PSMODULEPATH"
+    );
+    private static final List<String> RESERVED_PREFIXES = List.of("LD_", "DYLD_", "BASH_FUNC_");
+    
+    private final ScriptProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final List<Pattern> deniedPatterns;
+    private final Map<String, ScriptInfo> index = new ConcurrentHashMap<>();
+    
+    // Constructor para inyección de dependencias
+    public ScriptRegistry(ScriptProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(properties.getDirectory()).toAbsolutePath().normalize();
+        this.deniedPatterns = properties.getDeniedPatterns().stream().map(Pattern::compile).toList();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el directorio de scripts " + directory, e);
+        }
+        load();
+    }
+    
+    /**
+     * Registra el script. Si ya existe uno con el mismo contenido e intérprete devuelve el
+     * existente sin escribir nada.
+     */
+    public Registration register(ScriptUploadRequest request) {
+        String interpreter = request.getInterpreter().toLowerCase();
+        byte[] content = request.getContent().getBytes(StandardCharsets.UTF_8);
+        String id = hash(interpreter, content);
+        ScriptInfo existing = index.get(id);
+        if (existing != null) {
+            return new Registration(existing, false);
+        }
+        
+        checkPolicy(interpreter, request.getContent(), content.length);
+        List<String> parameters = checkParameters(request.getParameters());
+        if (index.size() >= properties.getMaxScripts()) {
+            throw new CommandExecutionException("Se alcanzó el máximo de " + properties.getMaxScripts() + " scripts registrados");
+        }
+        
+        ScriptInfo info = new ScriptInfo(id, request.getName(), interpreter, parameters, (long) content.length, Instant.now());
+        try {
+            Path script = scriptPath(id, interpreter);
+            writeAtomically(script, content);
+            makeExecutable(script);
+            writeAtomically(directory.resolve(id + ".json"), objectMapper.writeValueAsBytes(info));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar el script " + id, e);
+        }
+        ScriptInfo previous = index.putIfAbsent(id, info);
+        if (previous != null) {
+            return new Registration(previous, false);
+        }
+        log.info("Script registrado: {} ({}, {} bytes)", id, interpreter, content.length);
+        return new Registration(info, true);
+    }
+    
+    public ScriptInfo get(String id) {
+        return id != null ? index.get(id) : null;
+    }
+    
+    /**
+     * Texto del script, o null si no existe (lo usa el límite por clase de comando)
+     */
+    public String content(String id) {
+        ScriptInfo info = get(id);
+        if (info == null) {
+            return null;
+        }
+        try {
+            return Files.readString(scriptPath(id, info.getInterpreter()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el script " + id, e);
+        }
+    }
+    
+    public List<ScriptInfo> list() {
+        return index.values().stream()
+                .sorted(Comparator.comparing(ScriptInfo::getCreatedAt))
+                .toList();
+    }
+    
+    public boolean delete(String id) {
+        ScriptInfo info = get(id);
+        if (info == null || !index.remove(id, info)) {
+            return false;
+        }
+        try {
+            Files.deleteIfExists(directory.resolve(id + ".json"));
+            Files.deleteIfExists(scriptPath(id, info.getInterpreter()));
+        } catch (IOException e) {
+            log.warn("No se pudieron borrar los archivos del script {}: {}", id, e.getMessage());
+        }
+        log.info("Script eliminado: {}", id);
+        return true;
+    }
+    
+    /**
+     * Valida los parámetros y arma la línea de comandos. Los valores van como variables de
+     * entorno y, salvo en cmd, como argumentos posicionales en el orden declarado.
+     */
+    public PreparedScript prepare(String id, Map<String, String> params) {
+        ScriptInfo info = get(id);
+        if (info == null) {
+            throw new CommandExecutionException("El script no existe: " + id);
+        }
+        Map<String, String> values = params != null ? params : Map.of();
+        for (String name : values.keySet()) {
+            if (!info.getParameters().contains(name)) {
+                throw new CommandExecutionException("El script no declara el parámetro: " + name);
+            }
+        }
+        
+        Map<String, String> environment = new LinkedHashMap<>();
+        List<String> arguments = new ArrayList<>();
+        for (String name : info.getParameters()) {
+            String value = values.get(name);
+            if (value == null) {
+                throw new CommandExecutionException("Falta el parámetro: " + name);
+            }
+            if (value.length() > properties.getMaxParameterLength() || value.indexOf('\0') >= 0) {
+                throw new CommandExecutionException("Valor inválido para el parámetro " + name
+                        + " (máximo " + properties.getMaxParameterLength() + " caracteres, sin caracteres nulos)");
+            }
+            if ("cmd".equals(info.getInterpreter()) && CMD_METACHARACTERS.matcher(value).find()) {
+                throw new CommandExecutionException("Valor inválido para el parámetro " + name
+                        + ": los scripts cmd no admiten & | < > ^ % \" ( ) ni saltos de línea");
+            }
+            environment.put(name, value);
+            arguments.add(value);
+        }
+        
+        String script = scriptPath(id, info.getInterpreter()).toString();
+        List<String> command = new ArrayList<>();
+        switch (info.getInterpreter()) {
+            case "cmd" -> {
+                // cmd vuelve a interpretar los argumentos de un .bat/.cmd: solo variables de entorno,
+                // cuyos valores ya se revisaron contra CMD_METACHARACTERS
+                command.addAll(List.of("cmd", "/d", "/c", script));
+                arguments.clear();
+            }
+            case "powershell" -> command.addAll(List.of("powershell", "-NoProfile", "-NonInteractive",
+                    "-ExecutionPolicy", "Bypass", "-File", script));
+            case "bash" -> command.addAll(List.of("bash", script));
+            default -> command.addAll(List.of("/bin/sh", script));
+        }
+        command.addAll(arguments);
+        return new PreparedScript(id, List.copyOf(command), Map.copyOf(environment));
+    }
+    
+    private void checkPolicy(String interpreter, String content, int size) {
+        if (!properties.getInterpreters().contains(interpreter)) {
+            throw new CommandExecutionException("Intérprete no permitido: " + interpreter);
+        }
+        if (size > properties.getMaxSize().toBytes()) {
+            throw new CommandExecutionException("El script supera el tamaño máximo de " + properties.getMaxSize().toBytes() + " bytes");
+        }
+        for (Pattern denied : deniedPatterns) {
+            if (denied.matcher(content).find()) {
+                throw new CommandExecutionException("El script contiene una instrucción no permitida: " + denied.pattern());
+            }
+        }
+    }
+    
+    private static List<String> checkParameters(List<String> parameters) {
+        if (parameters == null) {
+            return List.of();
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : parameters) {
+            if (name == null || !PARAMETER_NAME.matcher(name).matches()) {
+                throw new CommandExecutionException("Nombre de parámetro inválido: " + name
+                        + " (mayúsculas, dígitos y _, empezando con letra)");
+            }
+            if (RESERVED_PARAMETERS.contains(name) || RESERVED_PREFIXES.stream().anyMatch(name::startsWith)) {
+                throw new CommandExecutionException("Nombre de parámetro reservado: " + name);
+            }
+            if (!names.add(name)) {
+                throw new CommandExecutionException("Parámetro duplicado: " + name);
+            }
+        }
+        return List.copyOf(names);
+    }
+    
+    /**
+     * Carga el índice desde disco, descartando los scripts cuyo contenido no coincide con su hash
+     */
+    private void load() {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path metadata : stream) {
+                try {
+                    ScriptInfo info = objectMapper.readValue(metadata.toFile(), ScriptInfo.class);
+                    if (info.getId() == null || !ID.matcher(info.getId()).matches()) {
+                        continue;
+                    }
+                    Path script = scriptPath(info.getId(), info.getInterpreter());
+                    if (Files.isRegularFile(script) && hash(info.getInterpreter(), Files.readAllBytes(script)).equals(info.getId())) {
+                        index.put(info.getId(), info);
+                    } else {
+                        log.warn("Se descarta el script {}: falta el archivo o su contenido no coincide con el hash", info.getId());
+                    }
+                } catch (IOException e) {
+                    log.warn("No se pudo leer {}: {}", metadata, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el directorio de scripts " + directory, e);
+        }
+        log.info("Registro de scripts: {} scripts en {}", index.size(), directory);
+    }
+    
+    private Path scriptPath(String id, String interpreter) {
+        String extension = switch (interpreter) {
+            case "cmd" -> ".cmd";
+            case "powershell" -> ".ps1";
+            default -> ".sh";
+        };
+        return directory.resolve(id + extension);
+    }
+    
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(directory, ".upload-", ".tmp");
+        try {
+            Files.write(temp, content);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    private static void makeExecutable(Path script) throws IOException {
+        try {
+            Files.setPosixFilePermissions(script, PosixFilePermissions.fromString("rwxr-x---"));
+        } catch (UnsupportedOperationException e) {
+            // Windows: el intérprete se invoca explícitamente
+        }
+    }
+    
+    static String hash(String interpreter, byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(interpreter.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(content);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+    
+    /**
+     * Resultado de registrar un script: created es false si ya existía
+     */
+    public record Registration(ScriptInfo script, boolean created) {
+    }
+}
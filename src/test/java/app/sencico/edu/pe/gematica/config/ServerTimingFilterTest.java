@@ -0,0 +1,92 @@
+package app.sencico.edu.pe.gematica.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import app.sencico.edu.pe.gematica.service.ExecutionContext;
+
+class ServerTimingFilterTest {
+
+	private final ServerTimingFilter filter = new ServerTimingFilter(true);
+
+	@Test
+	void headerIsWrittenBeforeBodyWithoutBufferingIt() throws Exception {
+		MockHttpServletRequest request = request();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, (req, res) -> {
+			req.setAttribute(ExecutionContext.REQUEST_ATTRIBUTE, new ExecutionContext(null));
+			res.getOutputStream().write("{\"status\":".getBytes(StandardCharsets.UTF_8));
+			// El cuerpo llega a la respuesta real sin esperar al final del filtro
+			assertThat(response.getContentAsString()).isEqualTo("{\"status\":");
+			res.getOutputStream().write("\"SUCCESS\"}".getBytes(StandardCharsets.UTF_8));
+		});
+
+		assertThat(response.getHeader("Server-Timing")).startsWith("total;dur=");
+		assertThat(response.getContentAsString()).isEqualTo("{\"status\":\"SUCCESS\"}");
+	}
+
+	@Test
+	void emptyBodyStillGetsHeader() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request(), response,
+				(req, res) -> req.setAttribute(ExecutionContext.REQUEST_ATTRIBUTE, new ExecutionContext(null)));
+
+		assertThat(response.getHeader("Server-Timing")).startsWith("total;dur=");
+	}
+
+	@Test
+	void onlyWhenClientAsksForIt() throws Exception {
+		MockHttpServletRequest request = request();
+		request.removeHeader(ServerTimingFilter.REQUEST_HEADER);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response,
+				(req, res) -> req.setAttribute(ExecutionContext.REQUEST_ATTRIBUTE, new ExecutionContext(null)));
+
+		assertThat(response.getHeader("Server-Timing")).isNull();
+	}
+
+	@Test
+	void serializePhaseEndsAfterTheBodyEvenWithoutTheHeader() throws Exception {
+		ExecutionContext context = new ExecutionContext(null);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		new ServerTimingFilter(false).doFilter(request(), response, (req, res) -> {
+			req.setAttribute(ExecutionContext.REQUEST_ATTRIBUTE, context);
+			ReflectionTestUtils.invokeMethod(context, "markFinished");
+			res.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+			assertThat(context.getPhaseTimings()).doesNotContainKey("serialize");
+		});
+
+		assertThat(response.getHeader("Server-Timing")).isNull();
+		assertThat(context.getPhaseTimings()).containsKey("serialize");
+	}
+
+	@Test
+	void headerMarksSerializeAsPartial() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request(), response, (req, res) -> {
+			ExecutionContext context = new ExecutionContext(null);
+			req.setAttribute(ExecutionContext.REQUEST_ATTRIBUTE, context);
+			ReflectionTestUtils.invokeMethod(context, "markFinished");
+		});
+
+		assertThat(response.getHeader("Server-Timing")).contains("serialize;dur=").contains(";desc=\"hasta el primer bloque\"");
+	}
+
+	private static MockHttpServletRequest request() {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/geomatica/api/v1/command/execute");
+		request.setContextPath("/geomatica");
+		request.addHeader(ServerTimingFilter.REQUEST_HEADER, "true");
+		return request;
+	}
+}
@@ -0,0 +1,156 @@
+package app.sencico.edu.pe.gematica.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import app.sencico.edu.pe.gematica.config.WorkingDirectoryProperties;
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+import app.sencico.edu.pe.gematica.service.FileTransferService;
+import app.sencico.edu.pe.gematica.service.WorkingDirectoryRegistry;
+
+class FileControllerTest {
+
+	private static final String CONTENT = "0123456789";
+
+	@TempDir
+	Path root;
+
+	private Path workDir;
+	private FileTransferService service;
+	private FileController controller;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		workDir = Files.createDirectory(root.resolve("trabajo"));
+		Files.writeString(workDir.resolve("datos.txt"), CONTENT);
+		Files.writeString(root.resolve("secreto.txt"), "secreto");
+
+		WorkingDirectoryProperties properties = new WorkingDirectoryProperties();
+		properties.setWatch(false);
+		service = new FileTransferService(new WorkingDirectoryRegistry(properties), 1);
+		ReflectionTestUtils.setField(service, "sendfileThreshold", Long.MAX_VALUE);
+		ReflectionTestUtils.setField(service, "maxUploadSize", 1024L);
+		controller = new FileController(service);
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void pathTraversalIsRejected() {
+		assertThatThrownBy(() -> download("../secreto.txt", new MockHttpServletRequest()))
+				.isInstanceOf(CommandExecutionException.class);
+	}
+
+	@Test
+	@DisabledOnOs(OS.WINDOWS)
+	void symlinkEscapingTheWorkingDirectoryIsRejected() throws Exception {
+		Files.createSymbolicLink(workDir.resolve("enlace.txt"), root.resolve("secreto.txt"));
+
+		assertThatThrownBy(() -> download("enlace.txt", new MockHttpServletRequest()))
+				.isInstanceOf(CommandExecutionException.class);
+	}
+
+	@Test
+	void rangeReturnsPartialContent() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader("Range", "bytes=2-5");
+
+		MockHttpServletResponse response = download("datos.txt", request);
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 2-5/10");
+		assertThat(response.getContentAsString()).isEqualTo("2345");
+	}
+
+	@Test
+	void unsatisfiableRangeReturns416() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader("Range", "bytes=20-");
+
+		MockHttpServletResponse response = download("datos.txt", request);
+
+		assertThat(response.getStatus()).isEqualTo(416);
+		assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */10");
+	}
+
+	@Test
+	void ifRangeWithTheServerEtagReturnsPartialContent() throws Exception {
+		String etag = download("datos.txt", new MockHttpServletRequest()).getHeader("ETag");
+		assertThat(etag).doesNotStartWith("W/");
+
+		MockHttpServletResponse response = download("datos.txt", rangeRequest(etag));
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getContentAsString()).isEqualTo("2345");
+	}
+
+	@Test
+	void ifRangeWithStaleOrWeakEtagSendsTheWholeFile() throws Exception {
+		String etag = download("datos.txt", new MockHttpServletRequest()).getHeader("ETag");
+		Files.writeString(workDir.resolve("datos.txt"), CONTENT + "X");
+
+		assertThat(download("datos.txt", rangeRequest(etag)).getContentAsString()).isEqualTo(CONTENT + "X");
+		assertThat(download("datos.txt", rangeRequest("W/" + etag)).getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void ifRangeWithLastModifiedDateReturnsPartialContent() throws Exception {
+		Files.setLastModifiedTime(workDir.resolve("datos.txt"), FileTime.from(Instant.parse("2024-01-02T03:04:05Z")));
+		String lastModified = download("datos.txt", new MockHttpServletRequest()).getHeader("Last-Modified");
+
+		assertThat(download("datos.txt", rangeRequest(lastModified)).getStatus()).isEqualTo(206);
+		assertThat(download("datos.txt", rangeRequest("Wed, 03 Jan 2024 03:04:05 GMT")).getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void uploadWithoutOverwriteFailsIfTheFileExists() throws Exception {
+		service.upload(workDir.toString(), "nuevo.txt", false, body("primero"));
+
+		assertThatThrownBy(() -> service.upload(workDir.toString(), "nuevo.txt", false, body("segundo")))
+				.isInstanceOf(CommandExecutionException.class);
+		assertThat(Files.readString(workDir.resolve("nuevo.txt"))).isEqualTo("primero");
+
+		service.upload(workDir.toString(), "nuevo.txt", true, body("tercero"));
+		assertThat(Files.readString(workDir.resolve("nuevo.txt"))).isEqualTo("tercero");
+		try (var files = Files.list(workDir)) {
+			assertThat(files).noneMatch(file -> file.getFileName().toString().startsWith(".upload-"));
+		}
+	}
+
+	private MockHttpServletResponse download(String path, MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		controller.downloadFile(path, workDir.toString(), request, response);
+		return response;
+	}
+
+	private static MockHttpServletRequest rangeRequest(String ifRange) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader("Range", "bytes=2-5");
+		request.addHeader("If-Range", ifRange);
+		return request;
+	}
+
+	private static ByteArrayInputStream body(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,292 @@
+package app.sencico.edu.pe.gematica.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de carga y soak contra la aplicación levantada en un puerto aleatorio.
+ * Usan los scripts de src/test/resources/load como sustitutos de comandos reales,
+ * así que corren sin red en cualquier equipo Linux.
+ *
+ * <p>No se ejecutan con {@code mvn test}; usar {@code mvn -Pload test}. Parámetros
+ * (propiedades del sistema): {@code load.concurrency} (32), {@code load.duration} (PT30S),
+ * {@code load.soak-duration} (PT10M) y {@code load.settle} (PT5S). Cada escenario imprime
+ * su reporte (con latencias por prioridad) y lo guarda en target/load-reports/&lt;escenario&gt;.json.
+ */
+@Tag("load")
+@SpringBootTest(
+		webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {
+				"app.command.builtin.verify-on-startup=false",
+				// Se mide la capacidad de ejecución, no el limitador
+				"app.rate-limit.enabled=false",
+				"logging.level.app.sencico.edu.pe.gematica=WARN"
+		})
+class CommandLoadTest {
+
+	private static final String[] SCRIPTS = {"emit.sh", "sleep.sh", "ignore-signals.sh", "spawn-grandchild.sh"};
+
+	private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 32);
+	private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+	private static final Duration SOAK_DURATION = Duration.parse(System.getProperty("load.soak-duration", "PT10M"));
+	private static final Duration SETTLE = Duration.parse(System.getProperty("load.settle", "PT5S"));
+
+	private static Path scriptsDir;
+	private static HttpClient client;
+	private static ExecutorService workers;
+
+	@LocalServerPort
+	private int port;
+
+	@BeforeAll
+	static void setUp() throws IOException {
+		// Los scripts se copian a un directorio propio para poder reconocer sus procesos
+		scriptsDir = Files.createTempDirectory("gematica-load");
+		for (String script : SCRIPTS) {
+			try (InputStream in = CommandLoadTest.class.getResourceAsStream("/load/" + script)) {
+				Files.copy(in, scriptsDir.resolve(script), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		workers = Executors.newVirtualThreadPerTaskExecutor();
+		client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.executor(workers)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+	}
+
+	@AfterAll
+	static void tearDown() {
+		workers.shutdownNow();
+	}
+
+	@Test
+	void execute() throws Exception {
+		LoadReport report = run("execute", DURATION, List.of(Endpoint.EXECUTE), scenarios());
+		assertHealthy(report);
+	}
+
+	@Test
+	void executeSimple() throws Exception {
+		LoadReport report = run("execute-simple", DURATION, List.of(Endpoint.SIMPLE), scenarios());
+		assertHealthy(report);
+	}
+
+	@Test
+	void executeStream() throws Exception {
+		LoadReport report = run("execute-stream", DURATION, List.of(Endpoint.STREAM), scenarios());
+		assertHealthy(report);
+	}
+
+	@Test
+	void soak() throws Exception {
+		LoadReport report = run("soak", SOAK_DURATION,
+				List.of(Endpoint.EXECUTE, Endpoint.SIMPLE, Endpoint.STREAM), scenarios());
+		assertHealthy(report);
+	}
+
+	private static List<Scenario> scenarios() {
+		return List.of(
+				new Scenario("emit.sh", "20 80", 30, "INTERACTIVE"),
+				new Scenario("emit.sh", "20000 120 100", 30, "BACKGROUND"),
+				new Scenario("emit.sh", "50 65536 50", 30, "NORMAL"),
+				new Scenario("sleep.sh", "1", 30, "BACKGROUND"),
+				// Superan el timeout: el servicio debe terminar el árbol completo
+				new Scenario("ignore-signals.sh", "60", 1, "NORMAL"),
+				new Scenario("spawn-grandchild.sh", "60 wait", 1, "INTERACTIVE"));
+	}
+
+	private static void assertHealthy(LoadReport report) {
+		assertThat(report.statusCounts()).doesNotContainKeys("500", "io-error");
+		assertThat(report.leakedProcesses()).isEmpty();
+	}
+
+	private LoadReport run(String name, Duration duration, List<Endpoint> endpoints, List<Scenario> scenarios)
+			throws Exception {
+		String baseUrl = "http://localhost:" + port + "/geomatica/api/v1/command";
+		Histogram latency = new ConcurrentHistogram(3);
+		Map<String, Histogram> latencyByPriority = new ConcurrentHashMap<>();
+		Map<String, LongAdder> statusCounts = new ConcurrentHashMap<>();
+		AtomicInteger sequence = new AtomicInteger();
+
+		ResourceSampler sampler = new ResourceSampler();
+		sampler.start();
+		long start = System.nanoTime();
+		long end = start + duration.toNanos();
+
+		List<Future<?>> running = new ArrayList<>();
+		for (int i = 0; i < CONCURRENCY; i++) {
+			running.add(workers.submit(() -> {
+				while (System.nanoTime() < end) {
+					int n = sequence.getAndIncrement();
+					Scenario scenario = scenarios.get(n % scenarios.size());
+					Endpoint endpoint = endpoints.get((n / scenarios.size()) % endpoints.size());
+					long requestStart = System.nanoTime();
+					String status = send(baseUrl, endpoint, scenario);
+					long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - requestStart);
+					latency.recordValue(micros);
+					latencyByPriority.computeIfAbsent(scenario.priority(), k -> new ConcurrentHistogram(3)).recordValue(micros);
+					statusCounts.computeIfAbsent(status, k -> new LongAdder()).increment();
+				}
+				return null;
+			}));
+		}
+		for (Future<?> worker : running) {
+			worker.get();
+		}
+		double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+		// Dar tiempo a que terminen los procesos cancelados antes de buscar fugas
+		Thread.sleep(SETTLE.toMillis());
+		sampler.stop();
+
+		Map<String, Long> counts = new LinkedHashMap<>();
+		statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+		Map<String, Map<String, Double>> byPriority = new LinkedHashMap<>();
+		latencyByPriority.forEach((priority, histogram) -> byPriority.put(priority, percentiles(histogram)));
+		LoadReport report = new LoadReport(name, endpoints.toString(), CONCURRENCY, elapsedSeconds,
+				latency.getTotalCount(), latency.getTotalCount() / elapsedSeconds, counts,
+				percentiles(latency), byPriority, sampler.heapPeak.get(), sampler.threadPeak.get(),
+				sampler.childPeak.get(), findLeakedProcesses());
+		write(report);
+		return report;
+	}
+
+	private String send(String baseUrl, Endpoint endpoint, Scenario scenario) {
+		String arguments = scriptsDir.resolve(scenario.script()) + " " + scenario.arguments();
+		HttpRequest.Builder request = HttpRequest.newBuilder().timeout(Duration.ofSeconds(120));
+		switch (endpoint) {
+			case SIMPLE -> request.uri(URI.create(baseUrl + "/execute/simple?command=sh"
+							+ "&arguments=" + URLEncoder.encode(arguments, StandardCharsets.UTF_8)
+							+ "&timeout=" + scenario.timeout()
+							+ "&priority=" + scenario.priority()))
+					.POST(HttpRequest.BodyPublishers.noBody());
+			case EXECUTE, STREAM -> request.uri(URI.create(baseUrl + (endpoint == Endpoint.STREAM ? "/execute/stream" : "/execute")))
+					.header("Content-Type", "application/json")
+					.header("Accept", endpoint == Endpoint.STREAM ? "text/event-stream" : "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(json(arguments, scenario)));
+		}
+		try {
+			// La respuesta se consume completa (en streaming, hasta el evento final)
+			HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+			return String.valueOf(response.statusCode());
+		} catch (IOException e) {
+			return "io-error";
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return "interrupted";
+		}
+	}
+
+	private static String json(String arguments, Scenario scenario) {
+		try {
+			return new ObjectMapper().writeValueAsString(Map.of("command", "sh", "arguments", arguments,
+					"timeout", scenario.timeout(), "priority", scenario.priority()));
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Map<String, Double> percentiles(Histogram latency) {
+		Map<String, Double> millis = new LinkedHashMap<>();
+		millis.put("p50", latency.getValueAtPercentile(50) / 1000.0);
+		millis.put("p99", latency.getValueAtPercentile(99) / 1000.0);
+		millis.put("p999", latency.getValueAtPercentile(99.9) / 1000.0);
+		millis.put("max", latency.getMaxValue() / 1000.0);
+		return millis;
+	}
+
+	/**
+	 * Procesos que siguen vivos y pertenecen a los scripts de carga (incluidos los nietos
+	 * huérfanos, que llevan la ruta del script en su línea de comandos).
+	 */
+	private static List<String> findLeakedProcesses() {
+		String marker = scriptsDir.toString();
+		return ProcessHandle.allProcesses()
+				.filter(p -> p.info().commandLine().map(c -> c.contains(marker)).orElse(false))
+				.map(p -> p.pid() + " " + p.info().commandLine().orElse(""))
+				.toList();
+	}
+
+	private static void write(LoadReport report) throws IOException {
+		ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+		Path dir = Path.of("target", "load-reports");
+		Files.createDirectories(dir);
+		mapper.writeValue(dir.resolve(report.name() + ".json").toFile(), report);
+		System.out.println(mapper.writeValueAsString(report));
+	}
+
+	private enum Endpoint {
+		EXECUTE, SIMPLE, STREAM
+	}
+
+	private record Scenario(String script, String arguments, int timeout, String priority) {
+	}
+
+	record LoadReport(String name, String endpoints, int concurrency, double durationSeconds, long requests,
+			double throughputPerSecond, Map<String, Long> statusCounts, Map<String, Double> latencyMillis,
+			Map<String, Map<String, Double>> latencyMillisByPriority,
+			long heapPeakBytes, int threadPeak, long childProcessPeak, List<String> leakedProcesses) {
+	}
+
+	/**
+	 * Muestrea heap, hilos y procesos hijos de la JVM (la aplicación corre en el mismo proceso)
+	 */
+	private static final class ResourceSampler {
+
+		private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		private final AtomicLong heapPeak = new AtomicLong();
+		private final AtomicInteger threadPeak = new AtomicInteger();
+		private final AtomicLong childPeak = new AtomicLong();
+
+		void start() {
+			ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+			scheduler.scheduleAtFixedRate(() -> {
+				heapPeak.accumulateAndGet(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(), Math::max);
+				threadPeak.accumulateAndGet(ManagementFactory.getThreadMXBean().getPeakThreadCount(), Math::max);
+				childPeak.accumulateAndGet(ProcessHandle.current().descendants().count(), Math::max);
+			}, 0, 100, TimeUnit.MILLISECONDS);
+		}
+
+		void stop() {
+			scheduler.shutdownNow();
+		}
+	}
+}
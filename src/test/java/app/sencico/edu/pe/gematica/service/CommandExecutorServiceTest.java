@@ -0,0 +1,115 @@
+package app.sencico.edu.pe.gematica.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import app.sencico.edu.pe.gematica.config.EnvironmentProperties;
+import app.sencico.edu.pe.gematica.config.LaneProperties;
+import app.sencico.edu.pe.gematica.config.OutputSpillProperties;
+import app.sencico.edu.pe.gematica.config.WorkingDirectoryProperties;
+import app.sencico.edu.pe.gematica.dto.CommandRequest;
+import app.sencico.edu.pe.gematica.dto.CommandResponse;
+import app.sencico.edu.pe.gematica.dto.OutputFilter;
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+import app.sencico.edu.pe.gematica.service.builtin.BuiltinCommandRegistry;
+import app.sencico.edu.pe.gematica.service.catalog.CommandCatalog;
+import app.sencico.edu.pe.gematica.service.output.OutputStore;
+import app.sencico.edu.pe.gematica.service.parser.OutputParserFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisabledOnOs(OS.WINDOWS)
+class CommandExecutorServiceTest {
+
+	@TempDir
+	Path directory;
+
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private OutputStore outputStore;
+	private CommandCatalog catalog;
+	private CommandExecutorService service;
+
+	@BeforeEach
+	void setUp() {
+		OutputSpillProperties properties = new OutputSpillProperties();
+		properties.setDirectory(directory.toString());
+		properties.setSpillThreshold(DataSize.ofBytes(256));
+		properties.setFilterMatchTimeout(Duration.ofMillis(100));
+		outputStore = new OutputStore(properties);
+		catalog = new CommandCatalog(new CommandTranslator(), false, true);
+		service = new CommandExecutorService(
+				new CommandTranslator(),
+				new OutputParserFactory(),
+				new BuiltinCommandRegistry(false, List.of(), false),
+				new WorkingDirectoryRegistry(new WorkingDirectoryProperties()),
+				new EnvironmentTemplateRegistry(new EnvironmentProperties()),
+				new ExecutionTracker(new SimpleMeterRegistry()),
+				new ExecutionScheduler(new LaneProperties(), new SimpleMeterRegistry()),
+				catalog,
+				outputStore,
+				executor);
+		ReflectionTestUtils.setField(service, "maxTimeout", 300);
+		ReflectionTestUtils.setField(service, "pollIntervalMillis", 100L);
+		ReflectionTestUtils.setField(service, "heartbeatIntervalMillis", 15000L);
+		ReflectionTestUtils.setField(service, "drainTimeoutMillis", 2000L);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+		outputStore.shutdown();
+		catalog.shutdown();
+	}
+
+	@Test
+	void largeStderrSpillsToDiskLikeStdout() throws Exception {
+		CommandResponse response = service.executeCommand(
+				new CommandRequest("seq", "1 500 1>&2", null, 30, "LINUX"));
+
+		assertThat(response.getExitCode()).isZero();
+		assertThat(response.getOutput()).isEmpty();
+		assertThat(response.getOutputHandle()).isNull();
+		assertThat(response.getErrorOutput()).isNull();
+		assertThat(response.getErrorOutputHandle()).isNotNull();
+		assertThat(response.getErrorOutputHandle().getUrl())
+				.isEqualTo(OutputStore.BASE_PATH + "/" + response.getErrorOutputHandle().getId());
+		Path stored = outputStore.get(response.getErrorOutputHandle().getId()).orElseThrow().path();
+		assertThat(Files.readAllLines(stored)).hasSize(500).startsWith("1", "2").endsWith("500");
+	}
+
+	@Test
+	void filterRegexTimeoutCancelsExecution() {
+		OutputFilter filter = new OutputFilter();
+		filter.setInclude("(.*a){20}$");
+		CommandRequest request = new CommandRequest("echo", "a".repeat(28) + "b", null, 30, "LINUX");
+		request.setFilter(filter);
+
+		assertThatThrownBy(() -> service.executeCommand(request))
+				.isInstanceOf(CommandExecutionException.class)
+				.hasMessageContaining(ExecutionContext.FILTER_TIMEOUT);
+	}
+
+	@Test
+	void smallStderrStaysInline() {
+		CommandResponse response = service.executeCommand(
+				new CommandRequest("echo", "aviso 1>&2", null, 30, "LINUX"));
+
+		assertThat(response.getErrorOutput()).isEqualTo("aviso" + System.lineSeparator());
+		assertThat(response.getErrorOutputHandle()).isNull();
+	}
+}
@@ -0,0 +1,77 @@
+package app.sencico.edu.pe.gematica.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import app.sencico.edu.pe.gematica.config.EnvironmentProperties;
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+
+class EnvironmentTemplateRegistryTest {
+
+	@Test
+	void deniedOverridesWinOverAllowedPatterns() {
+		EnvironmentProperties properties = new EnvironmentProperties();
+		properties.setAllowedOverrides(List.of("APP_*", "LD_*"));
+		EnvironmentTemplateRegistry registry = new EnvironmentTemplateRegistry(properties);
+
+		assertThatCode(() -> registry.validate(null, Map.of("APP_MODO", "prueba"))).doesNotThrowAnyException();
+		assertThatThrownBy(() -> registry.validate(null, Map.of("LD_PRELOAD", "/tmp/x.so")))
+				.isInstanceOf(CommandExecutionException.class)
+				.hasMessageContaining("LD_PRELOAD");
+		assertThatThrownBy(() -> registry.validate(null, Map.of("OTRA", "valor")))
+				.isInstanceOf(CommandExecutionException.class);
+		assertThatThrownBy(() -> registry.validate(null, Map.of("APP-MODO", "valor")))
+				.isInstanceOf(CommandExecutionException.class)
+				.hasMessageContaining("inválido");
+	}
+
+	@Test
+	void defaultTemplateAloneIsNotCustomized() {
+		EnvironmentProperties properties = new EnvironmentProperties();
+		properties.setTemplates(Map.of("base", new EnvironmentProperties.Template(),
+				"minimo", template(false, Map.of("PATH", "/usr/bin"))));
+		properties.setDefaultTemplate("base");
+		properties.setAllowedOverrides(List.of("APP_*"));
+		EnvironmentTemplateRegistry registry = new EnvironmentTemplateRegistry(properties);
+
+		assertThat(registry.isCustomized(null, null)).isFalse();
+		assertThat(registry.isCustomized("base", Map.of())).isFalse();
+		assertThat(registry.isCustomized("minimo", null)).isTrue();
+		assertThat(registry.isCustomized(null, Map.of("APP_MODO", "prueba"))).isTrue();
+	}
+
+	@Test
+	void defaultTemplateChangingPathIsCustomized() {
+		EnvironmentProperties properties = new EnvironmentProperties();
+		properties.setTemplates(Map.of("minimo", template(false, Map.of("PATH", "/opt/herramientas/bin"))));
+		properties.setDefaultTemplate("minimo");
+		EnvironmentTemplateRegistry registry = new EnvironmentTemplateRegistry(properties);
+
+		assertThat(registry.isCustomized(null, null)).isTrue();
+	}
+
+	@Test
+	void templateReplacesInheritedEnvironment() {
+		EnvironmentProperties properties = new EnvironmentProperties();
+		properties.setTemplates(Map.of("minimo", template(false, Map.of("PATH", "/usr/bin"))));
+		EnvironmentTemplateRegistry registry = new EnvironmentTemplateRegistry(properties);
+		ProcessBuilder processBuilder = new ProcessBuilder("true");
+
+		registry.apply(processBuilder, "minimo", null);
+
+		assertThat(processBuilder.environment()).containsExactly(Map.entry("PATH", "/usr/bin"));
+	}
+
+	private static EnvironmentProperties.Template template(boolean inherit, Map<String, String> variables) {
+		EnvironmentProperties.Template template = new EnvironmentProperties.Template();
+		template.setInherit(inherit);
+		template.setVariables(variables);
+		return template;
+	}
+}
@@ -0,0 +1,85 @@
+package app.sencico.edu.pe.gematica.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ExecutionContextTest {
+
+	private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+	@Test
+	void parsesDeadlineAsEpochMillisOrIso8601() {
+		assertThat(ExecutionContext.parseDeadline("1767225600000")).isEqualTo(NOW);
+		assertThat(ExecutionContext.parseDeadline(" 2026-01-01T00:00:00Z ")).isEqualTo(NOW);
+		assertThat(ExecutionContext.parseDeadline(null)).isNull();
+		assertThatThrownBy(() -> ExecutionContext.parseDeadline("mañana"))
+				.isInstanceOf(CommandExecutionException.class)
+				.hasMessageContaining(ExecutionContext.DEADLINE_HEADER);
+	}
+
+	@Test
+	void timeoutIsClampedByMaxTimeoutAndDeadline() {
+		assertThat(CommandExecutorService.effectiveTimeoutNanos(null, 300, null, NOW))
+				.isEqualTo(TimeUnit.SECONDS.toNanos(30));
+		assertThat(CommandExecutorService.effectiveTimeoutNanos(600, 300, null, NOW))
+				.isEqualTo(TimeUnit.SECONDS.toNanos(300));
+		assertThat(CommandExecutorService.effectiveTimeoutNanos(60, 300, NOW.plusSeconds(5), NOW))
+				.isEqualTo(TimeUnit.SECONDS.toNanos(5));
+		assertThat(CommandExecutorService.effectiveTimeoutNanos(2, 300, NOW.plusSeconds(5), NOW))
+				.isEqualTo(TimeUnit.SECONDS.toNanos(2));
+	}
+
+	@Test
+	void expiredDeadlineIsRejected() {
+		assertThatThrownBy(() -> CommandExecutorService.effectiveTimeoutNanos(60, 300, NOW, NOW))
+				.isInstanceOf(CommandExecutionException.class)
+				.hasMessageContaining(ExecutionContext.DEADLINE_HEADER);
+		assertThatThrownBy(() -> CommandExecutorService.effectiveTimeoutNanos(60, 300, NOW.minusSeconds(1), NOW))
+				.isInstanceOf(CommandExecutionException.class);
+	}
+
+	@Test
+	void firstCancelReasonWins() {
+		ExecutionContext context = new ExecutionContext(null);
+		assertThat(context.isCancelled()).isFalse();
+
+		context.cancel("client_disconnect");
+		context.cancel(ExecutionContext.SHUTDOWN);
+
+		assertThat(context.isCancelled()).isTrue();
+		assertThat(context.getCancelReason()).isEqualTo("client_disconnect");
+	}
+
+	@Test
+	@DisabledOnOs(OS.WINDOWS)
+	void cancellationKillsProcessTreeAndCountsReason() throws Exception {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		ExecutionTracker tracker = new ExecutionTracker(meterRegistry);
+		ExecutionContext context = new ExecutionContext(null);
+		Process process = new ProcessBuilder("/bin/sh", "-c", "sleep 30 & sleep 30").start();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (process.descendants().count() < 2 && System.nanoTime() < deadline) {
+			Thread.sleep(20);
+		}
+		ProcessHandle[] children = process.descendants().toArray(ProcessHandle[]::new);
+
+		context.cancel("deadline");
+		tracker.recordCancellation(context, process, TimeUnit.SECONDS.toNanos(30));
+
+		assertThat(process.waitFor(5, TimeUnit.SECONDS)).isTrue();
+		for (ProcessHandle child : children) {
+			assertThat(child.onExit().get(5, TimeUnit.SECONDS).isAlive()).isFalse();
+		}
+		assertThat(meterRegistry.counter("gematica.executions.cancelled", "reason", "deadline").count()).isEqualTo(1.0);
+	}
+}
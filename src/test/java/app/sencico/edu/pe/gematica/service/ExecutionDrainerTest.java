@@ -0,0 +1,67 @@
+package app.sencico.edu.pe.gematica.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+
+import app.sencico.edu.pe.gematica.config.ShutdownProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ExecutionDrainerTest {
+
+	private final ExecutionTracker tracker = new ExecutionTracker(new SimpleMeterRegistry());
+	private final List<Object> events = new CopyOnWriteArrayList<>();
+
+	@Test
+	void executionsFinishingWithinGracePeriodAreNotInterrupted() throws Exception {
+		ExecutionContext context = new ExecutionContext(null);
+		tracker.register(context);
+		Thread finisher = new Thread(() -> {
+			sleep(100);
+			tracker.unregister(context);
+		});
+		finisher.start();
+
+		drainer(Duration.ofSeconds(5)).stop();
+
+		finisher.join();
+		assertThat(context.isCancelled()).isFalse();
+		assertThat(tracker.isDraining()).isTrue();
+		assertThat(events).singleElement()
+				.satisfies(event -> assertThat(((AvailabilityChangeEvent<?>) event).getState())
+						.isEqualTo(ReadinessState.REFUSING_TRAFFIC));
+	}
+
+	@Test
+	void executionsStillRunningAfterGracePeriodAreCancelled() {
+		ExecutionContext context = new ExecutionContext(null);
+		tracker.register(context);
+
+		drainer(Duration.ofMillis(200)).stop();
+
+		assertThat(context.getCancelReason()).isEqualTo(ExecutionContext.SHUTDOWN);
+	}
+
+	private ExecutionDrainer drainer(Duration gracePeriod) {
+		ShutdownProperties properties = new ShutdownProperties();
+		properties.setGracePeriod(gracePeriod);
+		properties.setInterruptTimeout(Duration.ofMillis(100));
+		ExecutionDrainer drainer = new ExecutionDrainer(tracker, events::add, properties);
+		drainer.start();
+		return drainer;
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package app.sencico.edu.pe.gematica.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import app.sencico.edu.pe.gematica.config.LaneProperties;
+import app.sencico.edu.pe.gematica.exception.CapacityExceededException;
+import app.sencico.edu.pe.gematica.service.ExecutionScheduler.Lane;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ExecutionSchedulerTest {
+
+	private static final long POLL = TimeUnit.MILLISECONDS.toNanos(10);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void freeSlotsAreSharedByWeight() throws Exception {
+		ExecutionScheduler scheduler = new ExecutionScheduler(properties(1, 2, 1), meterRegistry);
+		scheduler.acquire(Lane.NORMAL, TimeUnit.SECONDS.toNanos(1), POLL, new ExecutionContext(null));
+
+		List<Lane> admitted = new CopyOnWriteArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+		for (Lane lane : List.of(Lane.BACKGROUND, Lane.INTERACTIVE, Lane.BACKGROUND, Lane.INTERACTIVE, Lane.BACKGROUND, Lane.INTERACTIVE)) {
+			threads.add(Thread.ofVirtual().start(() -> {
+				try {
+					scheduler.acquire(lane, TimeUnit.SECONDS.toNanos(5), POLL, new ExecutionContext(null));
+					admitted.add(lane);
+					scheduler.release(lane);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+		}
+		while (queued() < 6) {
+			Thread.sleep(5);
+		}
+
+		scheduler.release(Lane.NORMAL);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertThat(admitted).containsExactly(Lane.INTERACTIVE, Lane.BACKGROUND, Lane.INTERACTIVE,
+				Lane.INTERACTIVE, Lane.BACKGROUND, Lane.BACKGROUND);
+	}
+
+	@Test
+	void waitingBeyondTimeoutFails() throws Exception {
+		ExecutionScheduler scheduler = new ExecutionScheduler(properties(1, 2, 1), meterRegistry);
+		scheduler.acquire(Lane.BACKGROUND, TimeUnit.SECONDS.toNanos(1), POLL, new ExecutionContext(null));
+
+		assertThatThrownBy(() -> scheduler.acquire(Lane.INTERACTIVE, TimeUnit.MILLISECONDS.toNanos(50), POLL,
+				new ExecutionContext(null)))
+				.isInstanceOf(CapacityExceededException.class)
+				.satisfies(e -> assertThat(((CapacityExceededException) e).getRetryAfterSeconds()).isEqualTo(5));
+		assertThat(queued()).isZero();
+	}
+
+	@Test
+	@EnabledOnOs(OS.LINUX)
+	void backgroundLaneRunsUnderNice() {
+		ExecutionScheduler scheduler = new ExecutionScheduler(properties(1, 2, 1), meterRegistry);
+		List<String> command = List.of("/bin/sh", "-c", "find /");
+
+		assertThat(scheduler.applyNiceness(Lane.INTERACTIVE, command)).isEqualTo(command);
+		assertThat(scheduler.applyNiceness(Lane.BACKGROUND, command))
+				.endsWith("/bin/sh", "-c", "find /")
+				.anySatisfy(arg -> assertThat(arg).endsWith("nice"));
+	}
+
+	private double queued() {
+		return meterRegistry.find("gematica.lanes.queued").gauges().stream().mapToDouble(g -> g.value()).sum();
+	}
+
+	private static LaneProperties properties(int maxConcurrent, int interactiveWeight, int backgroundWeight) {
+		LaneProperties properties = new LaneProperties();
+		properties.setMaxConcurrent(maxConcurrent);
+		properties.setInteractive(new LaneProperties.Lane(interactiveWeight, null, null, null));
+		properties.setBackground(new LaneProperties.Lane(backgroundWeight, 10, 3, null));
+		return properties;
+	}
+}
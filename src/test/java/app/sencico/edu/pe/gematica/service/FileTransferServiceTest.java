@@ -0,0 +1,47 @@
+package app.sencico.edu.pe.gematica.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class FileTransferServiceTest {
+
+	@TempDir
+	Path root;
+
+	@Test
+	void longLineIsSentInPartsWithoutSplittingCharacters() throws Exception {
+		Path file = root.resolve("log.txt");
+		Files.writeString(file, "abcñdefgh\ncorta\n");
+		RecordingEmitter emitter = new RecordingEmitter();
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			new FileTransferService.FollowState(channel, 0, 4, 4).poll(emitter);
+		}
+
+		assertThat(emitter.events).containsExactly("partial:abc", "partial:ñde", "line:fgh", "partial:cort", "line:a");
+	}
+
+	private static class RecordingEmitter extends SseEmitter {
+		private final List<String> events = new ArrayList<>();
+
+		@Override
+		public void send(SseEventBuilder builder) {
+			StringBuilder event = new StringBuilder();
+			builder.build().forEach(part -> event.append(part.getData()));
+			String text = event.toString();
+			String name = text.substring("event:".length(), text.indexOf('\n'));
+			String data = text.substring(text.indexOf("data:") + "data:".length(), text.lastIndexOf("\n\n"));
+			events.add(name + ":" + data);
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package app.sencico.edu.pe.gematica.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import app.sencico.edu.pe.gematica.config.OutputSpillProperties;
+import app.sencico.edu.pe.gematica.dto.FilterStats;
+import app.sencico.edu.pe.gematica.dto.OutputFilter;
+import app.sencico.edu.pe.gematica.dto.OutputHandle;
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+import app.sencico.edu.pe.gematica.service.output.OutputStore;
+
+class LineFilterTest {
+
+	private static final String NL = System.lineSeparator();
+
+	@Test
+	void includeExcludeAndHead() throws Exception {
+		OutputFilter filter = new OutputFilter();
+		filter.setInclude("ERROR|WARN");
+		filter.setExclude("ignorar");
+		filter.setHead(2);
+
+		LineFilter lineFilter = LineFilter.of(filter, new OutputCapture(null));
+		boolean[] kept = feed(lineFilter, "INFO uno", "ERROR dos", "WARN ignorar", "WARN tres", "ERROR cuatro");
+
+		assertThat(kept).containsExactly(false, true, false, true, true);
+		assertThat(lineFilter.finish()).isEqualTo("ERROR dos" + NL + "WARN tres" + NL);
+		FilterStats stats = lineFilter.stats();
+		assertThat(stats.getTotalLines()).isEqualTo(5);
+		assertThat(stats.getMatchedLines()).isEqualTo(3);
+		assertThat(stats.getReturnedLines()).isEqualTo(2);
+		assertThat(stats.getDroppedLines()).isEqualTo(3);
+	}
+
+	@Test
+	void tailKeepsOnlyLastLinesThenMaxLines() throws Exception {
+		OutputFilter filter = new OutputFilter();
+		filter.setTail(3);
+		filter.setMaxLines(2);
+
+		LineFilter lineFilter = LineFilter.of(filter, new OutputCapture(null));
+		for (int i = 1; i <= 1000; i++) {
+			lineFilter.test("linea " + i);
+		}
+
+		assertThat(lineFilter.finish()).isEqualTo("linea 998" + NL + "linea 999" + NL);
+		assertThat(lineFilter.stats().getReturnedLines()).isEqualTo(2);
+	}
+
+	@Test
+	void byteRangeSlicesFilteredOutput() throws Exception {
+		OutputFilter filter = new OutputFilter();
+		filter.setByteOffset(2L);
+		filter.setByteLength(5L);
+
+		LineFilter lineFilter = LineFilter.of(filter, new OutputCapture(null));
+		feed(lineFilter, "abc", "defgh", "ijk");
+
+		String expected = ("abc" + NL + "defgh" + NL + "ijk" + NL).substring(2, 7);
+		assertThat(lineFilter.finish()).isEqualTo(expected);
+		assertThat(lineFilter.stats().getReturnedBytes()).isEqualTo(5);
+	}
+
+	@Test
+	void openEndedByteRangeSpillsToDisk(@TempDir Path directory) throws Exception {
+		OutputSpillProperties properties = new OutputSpillProperties();
+		properties.setDirectory(directory.toString());
+		properties.setSpillThreshold(DataSize.ofBytes(64));
+		OutputStore store = new OutputStore(properties);
+		try {
+			OutputFilter filter = new OutputFilter();
+			filter.setByteOffset(10L);
+
+			LineFilter lineFilter = LineFilter.of(filter, new OutputCapture(store));
+			for (int i = 0; i < 100; i++) {
+				lineFilter.test("linea " + i);
+			}
+
+			assertThat(lineFilter.finish()).isNull();
+			OutputHandle handle = lineFilter.getCapture().finish();
+			assertThat(handle).isNotNull();
+			assertThat(handle.getSize()).isEqualTo(lineFilter.stats().getReturnedBytes());
+		} finally {
+			store.shutdown();
+		}
+	}
+
+	@Test
+	void discardedCaptureDoesNotSpillLateOutput(@TempDir Path directory) throws Exception {
+		OutputSpillProperties properties = new OutputSpillProperties();
+		properties.setDirectory(directory.toString());
+		properties.setSpillThreshold(DataSize.ofBytes(64));
+		OutputStore store = new OutputStore(properties);
+		try {
+			OutputCapture capture = new OutputCapture(store);
+			capture.append("antes del timeout");
+			capture.discard();
+
+			// El lector sigue drenando el proceso después del timeout
+			for (int i = 0; i < 100; i++) {
+				capture.append("linea " + i);
+			}
+
+			assertThat(capture.finish()).isNull();
+			try (Stream<Path> files = Files.list(directory)) {
+				assertThat(files).isEmpty();
+			}
+		} finally {
+			store.shutdown();
+		}
+	}
+
+	@Test
+	void withoutCaptureOnlyCounts() throws Exception {
+		OutputFilter filter = new OutputFilter();
+		filter.setInclude("b");
+
+		LineFilter lineFilter = LineFilter.of(filter, null);
+		feed(lineFilter, "a", "b");
+
+		assertThat(lineFilter.finish()).isNull();
+		assertThat(lineFilter.stats().getMatchedLines()).isEqualTo(1);
+	}
+
+	@Test
+	void invalidRegexIsRejected() {
+		OutputFilter filter = new OutputFilter();
+		filter.setInclude("(");
+
+		assertThatThrownBy(() -> LineFilter.of(filter, new OutputCapture(null))).isInstanceOf(CommandExecutionException.class);
+	}
+
+	@Test
+	void tailAboveMaximumIsRejected() {
+		OutputFilter filter = new OutputFilter();
+		filter.setTail(100_000_000);
+
+		assertThatThrownBy(() -> LineFilter.of(filter, new OutputCapture(null), 10_000, LineFilter.DEFAULT_MATCH_TIMEOUT_NANOS))
+				.isInstanceOf(CommandExecutionException.class)
+				.hasMessageContaining("10000");
+	}
+
+	@Test
+	void catastrophicRegexIsCutOffPerLine() throws Exception {
+		OutputFilter filter = new OutputFilter();
+		filter.setInclude("(.*a){20}$");
+		LineFilter lineFilter = LineFilter.of(filter, new OutputCapture(null), 10, TimeUnit.MILLISECONDS.toNanos(100));
+
+		assertThat(lineFilter.test("aaab")).isFalse();
+		long start = System.nanoTime();
+		assertThatThrownBy(() -> lineFilter.test("a".repeat(28) + "b"))
+				.isInstanceOf(LineFilter.MatchTimeoutException.class)
+				.hasMessageContaining("filter.include");
+		assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+	}
+
+	private static boolean[] feed(LineFilter lineFilter, String... lines) throws Exception {
+		boolean[] kept = new boolean[lines.length];
+		for (int i = 0; i < lines.length; i++) {
+			kept[i] = lineFilter.test(lines[i]);
+		}
+		return kept;
+	}
+}
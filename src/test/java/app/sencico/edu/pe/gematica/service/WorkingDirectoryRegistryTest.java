@@ -0,0 +1,122 @@
+package app.sencico.edu.pe.gematica.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import app.sencico.edu.pe.gematica.config.WorkingDirectoryProperties;
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+
+class WorkingDirectoryRegistryTest {
+
+	@TempDir
+	Path root;
+
+	private WorkingDirectoryRegistry registry;
+
+	@AfterEach
+	void tearDown() throws IOException {
+		if (registry != null) {
+			registry.shutdown();
+		}
+	}
+
+	@Test
+	void cachedValidationIsReusedUntilTtlExpires() throws Exception {
+		Path directory = Files.createDirectory(root.resolve("trabajo"));
+		registry = new WorkingDirectoryRegistry(properties(Duration.ofMillis(200), false));
+
+		File resolved = registry.resolve(directory.toString());
+		Files.delete(directory);
+
+		// Dentro del TTL se confía en la validación anterior sin consultar el disco
+		assertThat(registry.resolve(directory.toString())).isEqualTo(resolved);
+
+		Thread.sleep(300);
+		assertThatThrownBy(() -> registry.resolve(directory.toString()))
+				.isInstanceOf(CommandExecutionException.class);
+	}
+
+	@Test
+	void invalidateAllForcesRevalidation() throws Exception {
+		Path directory = Files.createDirectory(root.resolve("trabajo"));
+		registry = new WorkingDirectoryRegistry(properties(Duration.ofHours(1), false));
+
+		registry.resolve(directory.toString());
+		Files.delete(directory);
+		registry.invalidateAll();
+
+		assertThatThrownBy(() -> registry.resolve(directory.toString()))
+				.isInstanceOf(CommandExecutionException.class)
+				.hasMessageContaining("no existe");
+	}
+
+	@Test
+	void failedValidationIsNotCached() throws Exception {
+		Path directory = root.resolve("trabajo");
+		registry = new WorkingDirectoryRegistry(properties(Duration.ofHours(1), false));
+
+		assertThatThrownBy(() -> registry.resolve(directory.toString()))
+				.isInstanceOf(CommandExecutionException.class);
+		Files.createDirectory(directory);
+
+		assertThat(registry.resolve(directory.toString())).isEqualTo(directory.toFile());
+	}
+
+	@Test
+	void watcherInvalidatesDeletedDirectory() throws Exception {
+		Path directory = Files.createDirectory(root.resolve("trabajo"));
+		registry = new WorkingDirectoryRegistry(properties(Duration.ofHours(1), true));
+
+		registry.resolve(directory.toString());
+		Files.delete(directory);
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+		boolean invalidated = false;
+		while (!invalidated && System.nanoTime() < deadline) {
+			try {
+				registry.resolve(directory.toString());
+				Thread.sleep(50);
+			} catch (CommandExecutionException e) {
+				invalidated = true;
+			}
+		}
+		assertThat(invalidated).isTrue();
+	}
+
+	@Test
+	void equivalentPathsShareOneBoundedCache() throws Exception {
+		Path directory = Files.createDirectory(root.resolve("trabajo"));
+		WorkingDirectoryProperties properties = properties(Duration.ofHours(1), false);
+		properties.setMaxEntries(2);
+		registry = new WorkingDirectoryRegistry(properties);
+
+		registry.resolve(directory.toString());
+		registry.resolve(directory + "/");
+		registry.resolve(directory + "/./");
+		registry.resolve(directory + "/../trabajo");
+		assertThat(registry.cacheSize()).isEqualTo(1);
+
+		for (int i = 0; i < 5; i++) {
+			registry.resolve(Files.createDirectory(root.resolve("otro-" + i)).toString());
+		}
+		assertThat(registry.cacheSize()).isEqualTo(2);
+	}
+
+	private static WorkingDirectoryProperties properties(Duration cacheTtl, boolean watch) {
+		WorkingDirectoryProperties properties = new WorkingDirectoryProperties();
+		properties.setCacheTtl(cacheTtl);
+		properties.setWatch(watch);
+		return properties;
+	}
+}
@@ -0,0 +1,60 @@
+package app.sencico.edu.pe.gematica.service.builtin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class BuiltinCommandRegistryTest {
+
+	private final BuiltinCommandRegistry registry = new BuiltinCommandRegistry(true,
+			List.of("hostname", "whoami", "pwd", "date", "echo", "uname", "ls"), false);
+
+	@ParameterizedTest
+	@ValueSource(strings = { "hostname", "whoami", "pwd", "echo Hola   Mundo", "uname -snrvmo", "ls -a", "date -u +%Y-%m-%d" })
+	@EnabledOnOs(OS.LINUX)
+	void builtinOutputMatchesNativeCommand(String command) throws Exception {
+		List<String> builtin = registry.tryExecute(command, null, "LINUX", null);
+
+		assertThat(builtin).isNotNull().isEqualTo(runNative(command));
+	}
+
+	@Test
+	void unsupportedArgumentsFallBackToNative() {
+		assertThat(registry.tryExecute("echo", "$HOME", "LINUX", null)).isNull();
+		assertThat(registry.tryExecute("ls", "-l", "LINUX", null)).isNull();
+		assertThat(registry.tryExecute("pwd", null, "WINDOWS", null)).isNull();
+		// -a incluye -p/-i, que dependen de la distribución
+		assertThat(registry.tryExecute("uname", "-a", "LINUX", null)).isNull();
+	}
+
+	@Test
+	@EnabledOnOs(OS.LINUX)
+	void handlersAreUsedOnlyAfterVerification() {
+		BuiltinCommandRegistry verifying = new BuiltinCommandRegistry(true, List.of("hostname", "pwd"), true);
+
+		assertThat(verifying.tryExecute("hostname", null, "LINUX", null)).isNull();
+		verifying.verifyAgainstNative();
+
+		assertThat(verifying.isEnabled("hostname")).isTrue();
+		assertThat(verifying.tryExecute("hostname", null, "LINUX", null)).isNotNull();
+	}
+
+	private static List<String> runNative(String command) throws Exception {
+		Process process = new ProcessBuilder("/bin/sh", "-c", command).start();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+			List<String> lines = reader.lines().collect(Collectors.toList());
+			process.waitFor();
+			return lines;
+		}
+	}
+
+}
@@ -0,0 +1,129 @@
+package app.sencico.edu.pe.gematica.service.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import app.sencico.edu.pe.gematica.service.CommandTranslator;
+
+@DisabledOnOs(OS.WINDOWS)
+class CommandCatalogTest {
+
+	@TempDir
+	Path first;
+
+	@TempDir
+	Path second;
+
+	private CommandCatalog catalog;
+
+	@AfterEach
+	void tearDown() {
+		if (catalog != null) {
+			catalog.shutdown();
+		}
+	}
+
+	@Test
+	void indexesExecutablesInPathOrder() throws IOException {
+		Path ls = executable(first, "ls");
+		executable(second, "ls");
+		executable(second, "herramienta");
+		Files.writeString(second.resolve("notas.txt"), "no es ejecutable");
+
+		catalog = new CommandCatalog(new CommandTranslator(), List.of(first, second), false, true);
+
+		assertThat(catalog.resolve("ls")).hasValueSatisfying(entry -> assertThat(entry.path()).isEqualTo(ls));
+		assertThat(catalog.resolve("notas.txt")).isEmpty();
+		assertThat(catalog.snapshot().commands())
+				.extracting(command -> command.getName() + "=" + command.getEquivalent())
+				.containsExactly("herramienta=null", "ls=dir");
+	}
+
+	@Test
+	void directCommandOnlyWithoutShellSyntax() throws IOException {
+		Path tool = executable(first, "herramienta");
+		catalog = new CommandCatalog(new CommandTranslator(), List.of(first), false, true);
+
+		assertThat(catalog.directCommand("herramienta", "-a  datos.txt", "LINUX"))
+				.containsExactly(tool.toString(), "-a", "datos.txt");
+		assertThat(catalog.directCommand("herramienta", "*.txt", "LINUX")).isNull();
+		assertThat(catalog.directCommand("herramienta", "a | b", "LINUX")).isNull();
+		assertThat(catalog.directCommand("herramienta", "'con espacios'", "LINUX")).isNull();
+		assertThat(catalog.directCommand("inexistente", null, "LINUX")).isNull();
+		assertThat(catalog.directCommand("herramienta", null, "WINDOWS")).isNull();
+	}
+
+	@Test
+	void shellBuiltinsAreNeverExecutedDirectly() throws IOException {
+		executable(first, "echo");
+		executable(first, "test");
+		catalog = new CommandCatalog(new CommandTranslator(), List.of(first), false, true);
+
+		assertThat(catalog.resolve("echo")).isPresent();
+		assertThat(catalog.directCommand("echo", "hola", "LINUX")).isNull();
+		assertThat(catalog.directCommand("test", "-f datos.txt", "LINUX")).isNull();
+	}
+
+	@Test
+	void watcherRefreshesIndexAndEtag() throws Exception {
+		executable(first, "herramienta");
+		catalog = new CommandCatalog(new CommandTranslator(), List.of(first), true, true);
+		String etag = catalog.snapshot().etag();
+
+		executable(first, "nueva");
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (catalog.resolve("nueva").isEmpty() && System.nanoTime() < deadline) {
+			Thread.sleep(50);
+		}
+		assertThat(catalog.resolve("nueva")).isPresent();
+		assertThat(catalog.snapshot().etag()).isNotEqualTo(etag);
+	}
+
+	@Test
+	void watcherFollowsDeletedAndRecreatedDirectory() throws Exception {
+		Path directory = Files.createDirectory(first.resolve("bin"));
+		executable(directory, "herramienta");
+		catalog = new CommandCatalog(new CommandTranslator(), List.of(directory), true, true);
+
+		Files.delete(directory.resolve("herramienta"));
+		Files.delete(directory);
+		awaitUntil(() -> catalog.resolve("herramienta").isEmpty());
+		assertThat(catalog.resolve("herramienta")).isEmpty();
+
+		Files.createDirectory(directory);
+		executable(directory, "nueva");
+		awaitUntil(() -> catalog.resolve("nueva").isPresent());
+		assertThat(catalog.resolve("nueva")).isPresent();
+
+		// El directorio recreado vuelve a estar vigilado, no solo reescaneado una vez
+		executable(directory, "otra");
+		awaitUntil(() -> catalog.resolve("otra").isPresent());
+		assertThat(catalog.resolve("otra")).isPresent();
+	}
+
+	private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+		while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+			Thread.sleep(50);
+		}
+	}
+
+	private static Path executable(Path directory, String name) throws IOException {
+		Path file = Files.writeString(directory.resolve(name), "#!/bin/sh\n");
+		assertThat(file.toFile().setExecutable(true)).isTrue();
+		return file;
+	}
+}
@@ -0,0 +1,180 @@
+package app.sencico.edu.pe.gematica.service.fleet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.ServerSocket;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import app.sencico.edu.pe.gematica.GematicaApplication;
+import app.sencico.edu.pe.gematica.config.FleetProperties;
+import app.sencico.edu.pe.gematica.dto.CommandRequest;
+import app.sencico.edu.pe.gematica.dto.FleetCommandRequest;
+import app.sencico.edu.pe.gematica.dto.FleetResponse;
+import app.sencico.edu.pe.gematica.dto.NodeResult;
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+
+/**
+ * Levanta dos instancias de la aplicación en localhost como nodos y un coordinador en el test
+ */
+class FleetExecutorServiceTest {
+
+	private static final String COORDINATOR_KEY = "clave-coordinador";
+
+	private static ConfigurableApplicationContext node1;
+	private static ConfigurableApplicationContext node2;
+	private static PeerRegistry registry;
+	private static FleetExecutorService fleet;
+
+	@BeforeAll
+	static void setUp() throws Exception {
+		node1 = startNode();
+		node2 = startNode();
+
+		FleetProperties properties = new FleetProperties();
+		properties.setNodes(Map.of(
+				"nodo-1", baseUrl(node1),
+				"nodo-2", baseUrl(node2),
+				"caido", "http://localhost:" + unusedPort() + "/geomatica"));
+		properties.setAllowedHosts(List.of("nodos.internos"));
+		properties.setApiKey(COORDINATOR_KEY);
+		HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.build();
+		registry = new PeerRegistry(properties, client);
+		fleet = new FleetExecutorService(registry, client, Jackson2ObjectMapperBuilder.json().build(), properties);
+	}
+
+	@AfterAll
+	static void tearDown() {
+		registry.shutdown();
+		node1.close();
+		node2.close();
+	}
+
+	@Test
+	void fanOutReportsEachNodeIncludingPartialFailures() {
+		List<NodeResult> streamed = new CopyOnWriteArrayList<>();
+
+		FleetResponse response = fleet.fanOut(request(List.of("nodo-1", "nodo-2", "caido")), streamed::add).join();
+
+		assertThat(response.getNodes()).isEqualTo(3);
+		assertThat(response.getSucceeded()).isEqualTo(2);
+		assertThat(response.getFailed()).isEqualTo(1);
+		assertThat(streamed).hasSize(3);
+		assertThat(response.getResults()).filteredOn(r -> r.getNode().startsWith("nodo-"))
+				.allSatisfy(r -> {
+					assertThat(r.getStatus()).isEqualTo("SUCCESS");
+					assertThat(r.getResponse().getOutput()).contains("hola flota");
+				});
+		assertThat(response.getResults()).filteredOn(r -> r.getNode().equals("caido"))
+				.singleElement()
+				.satisfies(r -> assertThat(r.getStatus()).isEqualTo("UNREACHABLE"));
+	}
+
+	@Test
+	void unknownNodeIsRejected() {
+		assertThatThrownBy(() -> fleet.execute(request(List.of("inexistente"))))
+				.isInstanceOf(CommandExecutionException.class);
+	}
+
+	@Test
+	void invalidSelectionIsRejectedBeforeSending() {
+		assertThatThrownBy(() -> fleet.plan(request(List.of("nodo-1", "inexistente"))))
+				.isInstanceOf(CommandExecutionException.class)
+				.hasMessageContaining("inexistente");
+		assertThat(fleet.plan(request(List.of("nodo-1"))).nodes()).hasSize(1);
+	}
+
+	@Test
+	void coordinatorTrafficIsNotLimitedAsOneClient() {
+		// Los nodos admiten 1 ejecución por segundo a cada cliente, salvo al coordinador
+		for (int i = 0; i < 3; i++) {
+			assertThat(fleet.execute(request(List.of("nodo-1"))).getSucceeded()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void registrationIsLimitedToAllowedHosts() {
+		assertThatThrownBy(() -> registry.register("externo", "http://169.254.169.254/latest"))
+				.isInstanceOf(CommandExecutionException.class)
+				.hasMessageContaining("allowed-hosts");
+		assertThat(registry.register("nuevo", "http://NODOS.internos:8080/geomatica").getUrl())
+				.isEqualTo("http://NODOS.internos:8080/geomatica");
+		assertThat(registry.remove("nuevo")).isTrue();
+	}
+
+	@Test
+	void heartbeatRunsOnlyWhileStarted() throws Exception {
+		FleetProperties properties = new FleetProperties();
+		properties.setNodes(Map.of("caido", "http://localhost:" + unusedPort() + "/geomatica"));
+		properties.setHeartbeatInterval(Duration.ofMillis(50));
+		properties.setUnhealthyThreshold(1);
+		PeerRegistry peers = new PeerRegistry(properties, HttpClient.newHttpClient());
+		try {
+			Thread.sleep(300);
+			assertThat(peers.isRunning()).isFalse();
+			assertThat(peers.getNodes()).singleElement()
+					.satisfies(node -> assertThat(node.getStatus()).isNotEqualTo("DOWN"));
+
+			peers.start();
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (!"DOWN".equals(peers.getNodes().get(0).getStatus()) && System.nanoTime() < deadline) {
+				Thread.sleep(50);
+			}
+			assertThat(peers.isRunning()).isTrue();
+			assertThat(peers.getNodes().get(0).getStatus()).isEqualTo("DOWN");
+
+			peers.stop();
+			assertThat(peers.isRunning()).isFalse();
+		} finally {
+			peers.shutdown();
+		}
+	}
+
+	private static FleetCommandRequest request(List<String> nodes) {
+		CommandRequest command = new CommandRequest();
+		command.setCommand("echo");
+		command.setArguments("hola flota");
+		command.setTimeout(10);
+		FleetCommandRequest request = new FleetCommandRequest();
+		request.setNodes(nodes);
+		request.setCommand(command);
+		return request;
+	}
+
+	private static ConfigurableApplicationContext startNode() {
+		// Como argumentos: properties() solo define valores por defecto y application.yml los reemplaza
+		return new SpringApplicationBuilder(GematicaApplication.class)
+				.run("--server.port=0", "--app.command.builtin.verify-on-startup=false",
+						"--app.rate-limit.endpoints.execute.limit=1", "--app.rate-limit.endpoints.execute.burst=1",
+						"--app.rate-limit.api-keys.coordinador=" + COORDINATOR_KEY,
+						"--app.rate-limit.exempt-clients=coordinador");
+	}
+
+	private static String baseUrl(ConfigurableApplicationContext context) {
+		int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+		return "http://localhost:" + port + "/geomatica";
+	}
+
+	private static int unusedPort() throws Exception {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package app.sencico.edu.pe.gematica.service.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import app.sencico.edu.pe.gematica.config.IdempotencyProperties;
+import app.sencico.edu.pe.gematica.config.RateLimitProperties;
+import app.sencico.edu.pe.gematica.dto.CommandRequest;
+import app.sencico.edu.pe.gematica.dto.CommandResponse;
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+import app.sencico.edu.pe.gematica.service.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IdempotencyStoreTest {
+
+	private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+	private final RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(), new SimpleMeterRegistry());
+	private final IdempotencyStore store = new IdempotencyStore(properties(), rateLimiter, new SimpleMeterRegistry(), now::get);
+	private final AtomicInteger executions = new AtomicInteger();
+
+	@AfterEach
+	void tearDown() {
+		store.shutdown();
+		rateLimiter.shutdown();
+	}
+
+	@Test
+	void retryAttachesToInFlightExecution() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		try {
+			CompletableFuture<CommandResponse> first = CompletableFuture.supplyAsync(() ->
+					store.execute("clave-1", request("10.0.0.1"), new MockHttpServletResponse(), command("rm"), () -> {
+						started.countDown();
+						await(release);
+						return response();
+					}), executor);
+			started.await();
+
+			MockHttpServletResponse retryResponse = new MockHttpServletResponse();
+			CompletableFuture<CommandResponse> retry = CompletableFuture.supplyAsync(() ->
+					store.execute("clave-1", request("10.0.0.1"), retryResponse, command("rm"), this::response), executor);
+			release.countDown();
+
+			assertThat(retry.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+			assertThat(retryResponse.getHeader(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+			assertThat(executions).hasValue(1);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void completedResponseIsReplayedUntilTtl() {
+		CommandResponse first = store.execute("clave-1", request("10.0.0.1"), new MockHttpServletResponse(), command("rm"), this::response);
+
+		assertThat(store.execute("clave-1", request("10.0.0.1"), new MockHttpServletResponse(), command("rm"), this::response))
+				.isSameAs(first);
+		// Cada cliente tiene sus propias claves
+		store.execute("clave-1", request("10.0.0.2"), new MockHttpServletResponse(), command("rm"), this::response);
+		assertThat(executions).hasValue(2);
+
+		now.addAndGet(Duration.ofMinutes(1).toNanos());
+		store.evictExpired();
+		assertThat(store.size()).isZero();
+		store.execute("clave-1", request("10.0.0.1"), new MockHttpServletResponse(), command("rm"), this::response);
+		assertThat(executions).hasValue(3);
+	}
+
+	@Test
+	void keyReusedWithAnotherCommandIsRejected() {
+		store.execute("clave-1", request("10.0.0.1"), new MockHttpServletResponse(), command("rm"), this::response);
+
+		assertThatThrownBy(() -> store.execute("clave-1", request("10.0.0.1"), new MockHttpServletResponse(), command("move"), this::response))
+				.isInstanceOf(CommandExecutionException.class);
+	}
+
+	@Test
+	void failedExecutionReleasesKey() {
+		assertThatThrownBy(() -> store.execute("clave-1", request("10.0.0.1"), new MockHttpServletResponse(), command("rm"), () -> {
+			throw new CommandExecutionException("fallo");
+		})).isInstanceOf(CommandExecutionException.class);
+
+		store.execute("clave-1", request("10.0.0.1"), new MockHttpServletResponse(), command("rm"), this::response);
+		assertThat(executions).hasValue(1);
+	}
+
+	@Test
+	void oldestCompletedKeysAreEvictedWhenFull() {
+		for (int i = 0; i < 5; i++) {
+			store.execute("clave-" + i, request("10.0.0.1"), new MockHttpServletResponse(), command("rm"), this::response);
+		}
+
+		assertThat(store.size()).isEqualTo(3);
+		store.execute("clave-4", request("10.0.0.1"), new MockHttpServletResponse(), command("rm"), this::response);
+		assertThat(executions).hasValue(5);
+		store.execute("clave-0", request("10.0.0.1"), new MockHttpServletResponse(), command("rm"), this::response);
+		assertThat(executions).hasValue(6);
+	}
+
+	@Test
+	void storeIsBoundedByRetainedBytes() {
+		store.execute("grande-1", request("10.0.0.1"), new MockHttpServletResponse(), command("cat"), () -> response(3_000));
+		store.execute("grande-2", request("10.0.0.1"), new MockHttpServletResponse(), command("cat"), () -> response(3_000));
+
+		// 2 x (1024 + 6000) supera los 10 KB: se descartó la primera
+		assertThat(store.size()).isEqualTo(1);
+		assertThat(store.retainedBytes()).isLessThanOrEqualTo(10 * 1024);
+		store.execute("grande-1", request("10.0.0.1"), new MockHttpServletResponse(), command("cat"), () -> response(3_000));
+		assertThat(executions).hasValue(3);
+	}
+
+	@Test
+	void responseLargerThanTheBudgetIsNotRetained() {
+		store.execute("enorme", request("10.0.0.1"), new MockHttpServletResponse(), command("cat"), () -> response(20_000));
+
+		assertThat(store.size()).isZero();
+		assertThat(store.retainedBytes()).isZero();
+	}
+
+	@Test
+	void timeoutIsPartOfTheFingerprint() {
+		CommandRequest other = command("rm");
+		other.setTimeout(5);
+
+		assertThat(IdempotencyStore.fingerprint(other)).isNotEqualTo(IdempotencyStore.fingerprint(command("rm")));
+		other.setTimeout(30);
+		other.setPriority("BACKGROUND");
+		assertThat(IdempotencyStore.fingerprint(other)).isEqualTo(IdempotencyStore.fingerprint(command("rm")));
+	}
+
+	private CommandResponse response(int outputChars) {
+		CommandResponse response = response();
+		response.setOutput("x".repeat(outputChars));
+		return response;
+	}
+
+	private CommandResponse response() {
+		executions.incrementAndGet();
+		CommandResponse response = new CommandResponse();
+		response.setStatus("SUCCESS");
+		return response;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static CommandRequest command(String command) {
+		CommandRequest request = new CommandRequest();
+		request.setCommand(command);
+		request.setArguments("temp.txt");
+		return request;
+	}
+
+	private static MockHttpServletRequest request(String remoteAddr) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setRemoteAddr(remoteAddr);
+		return request;
+	}
+
+	private static IdempotencyProperties properties() {
+		IdempotencyProperties properties = new IdempotencyProperties();
+		properties.setTtl(Duration.ofSeconds(30));
+		properties.setMaxEntries(3);
+		properties.setMaxRetainedSize(DataSize.ofKilobytes(10));
+		return properties;
+	}
+}
@@ -0,0 +1,84 @@
+package app.sencico.edu.pe.gematica.service.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import app.sencico.edu.pe.gematica.config.OutputSpillProperties;
+import app.sencico.edu.pe.gematica.dto.OutputHandle;
+
+class OutputStoreTest {
+
+	@TempDir
+	Path directory;
+
+	private OutputStore store;
+
+	@AfterEach
+	void tearDown() {
+		store.shutdown();
+	}
+
+	@Test
+	void publishedOutputIsReadableAndReleasedOnDelete() throws Exception {
+		store = new OutputStore(properties(DataSize.ofMegabytes(1)));
+		SpillFile file = store.create();
+		file.write("linea 1\n".getBytes(StandardCharsets.UTF_8));
+		file.write("linea 2\n".getBytes(StandardCharsets.UTF_8));
+
+		OutputHandle handle = file.finish();
+
+		assertThat(handle.getSize()).isEqualTo(16);
+		assertThat(handle.getTruncated()).isFalse();
+		assertThat(handle.getSha256()).hasSize(64);
+		OutputStore.StoredOutput stored = store.get(handle.getId()).orElseThrow();
+		assertThat(Files.readString(stored.path())).isEqualTo("linea 1\nlinea 2\n");
+		assertThat(store.getUsedBytes()).isEqualTo(16);
+
+		assertThat(store.delete(handle.getId())).isTrue();
+		assertThat(store.get(handle.getId())).isEmpty();
+		assertThat(Files.exists(stored.path())).isFalse();
+		assertThat(store.getUsedBytes()).isZero();
+	}
+
+	@Test
+	void outputIsTruncatedWhenQuotaRunsOut() throws Exception {
+		store = new OutputStore(properties(DataSize.ofBytes(10)));
+		SpillFile file = store.create();
+		file.write("12345678".getBytes(StandardCharsets.UTF_8));
+		file.write("90abcdef".getBytes(StandardCharsets.UTF_8));
+
+		OutputHandle handle = file.finish();
+
+		assertThat(handle.getSize()).isEqualTo(8);
+		assertThat(handle.getTruncated()).isTrue();
+	}
+
+	@Test
+	void discardedFileFreesItsQuota() throws Exception {
+		store = new OutputStore(properties(DataSize.ofMegabytes(1)));
+		SpillFile file = store.create();
+		file.write("parcial".getBytes(StandardCharsets.UTF_8));
+
+		file.discard();
+
+		assertThat(store.getUsedBytes()).isZero();
+		try (var files = Files.list(directory)) {
+			assertThat(files).isEmpty();
+		}
+	}
+
+	private OutputSpillProperties properties(DataSize quota) {
+		OutputSpillProperties properties = new OutputSpillProperties();
+		properties.setDirectory(directory.toString());
+		properties.setQuota(quota);
+		return properties;
+	}
+}
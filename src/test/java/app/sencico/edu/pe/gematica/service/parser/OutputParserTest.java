@@ -0,0 +1,160 @@
+package app.sencico.edu.pe.gematica.service.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.sencico.edu.pe.gematica.dto.StructuredOutput;
+import org.junit.jupiter.api.Test;
+
+class OutputParserTest {
+
+	private static StructuredOutput parse(OutputParser parser, String output) {
+		output.lines().forEach(parser::accept);
+		return parser.finish();
+	}
+
+	@Test
+	void psAndTasklistShareSchema() {
+		StructuredOutput ps = parse(new ProcessListParser(),
+				"USER         PID %CPU %MEM    VSZ   RSS TTY      STAT START   TIME COMMAND\n"
+				+ "root           1  0.0  0.1 167744 11520 ?        Ss   10:00   0:01 /sbin/init splash\n");
+		StructuredOutput tasklist = parse(new ProcessListParser(),
+				"\nImage Name                     PID Session Name        Session#    Mem Usage\n"
+				+ "========================= ======== ================ =========== ============\n"
+				+ "chrome.exe                    1234 Console                    1    123,456 K\n");
+
+		assertThat(ps.getRecords()).singleElement()
+				.satisfies(r -> assertThat(r).containsEntry("pid", 1L).containsEntry("memoryKb", 11520L)
+						.containsEntry("command", "/sbin/init splash"));
+		assertThat(tasklist.getRecords()).singleElement()
+				.satisfies(r -> assertThat(r).containsEntry("pid", 1234L).containsEntry("memoryKb", 123456L)
+						.containsEntry("command", "chrome.exe"));
+		assertThat(ps.getRecords().get(0).keySet()).containsExactlyElementsOf(ProcessListParser.FIELDS);
+		assertThat(tasklist.getRecords().get(0).keySet()).containsExactlyElementsOf(ProcessListParser.FIELDS);
+	}
+
+	@Test
+	void tasklistVerboseAndPsWithExtraColumnsKeepTheSchema() {
+		StructuredOutput ps = parse(new ProcessListParser(),
+				"  PID  PPID TT       STAT     VSZ NI CMD\n"
+				+ "    1     0 ?        Ss    167744  0 /sbin/init\n");
+		StructuredOutput tasklist = parse(new ProcessListParser(),
+				"Image Name PID   Session Name Session# Mem Usage Status  User Name CPU Time Window Title\n"
+				+ "========== ===== ============ ======== ========= ======= ========= ======== ============\n"
+				+ String.format("%-10s %5s %-12s %8s %9s %-7s %-9s %8s %s%n",
+						"cmd.exe", "4242", "Console", "1", "4,096 K", "Running", "PC\\ana", "0:00:01", "Simbolo"));
+
+		assertThat(ps.getRecords().get(0).keySet()).containsExactlyElementsOf(ProcessListParser.FIELDS);
+		assertThat(ps.getRecords().get(0)).containsEntry("parentPid", 0L).containsEntry("state", "Ss");
+		assertThat(tasklist.getRecords().get(0).keySet()).containsExactlyElementsOf(ProcessListParser.FIELDS);
+		assertThat(tasklist.getRecords().get(0)).containsEntry("pid", 4242L).containsEntry("memoryKb", 4096L)
+				.containsEntry("state", "Running").containsEntry("cpuTime", "0:00:01");
+	}
+
+	@Test
+	void netstatNormalizesUnixAndWindowsRows() {
+		StructuredOutput output = parse(new NetstatParser(),
+				"Proto Recv-Q Send-Q Local Address           Foreign Address         State\n"
+				+ "tcp        0      0 0.0.0.0:22              0.0.0.0:*               LISTEN\n"
+				+ "  TCP    0.0.0.0:135            0.0.0.0:0              LISTENING\n");
+
+		assertThat(output.getRecords()).hasSize(2)
+				.allSatisfy(r -> assertThat(r).containsEntry("state", "LISTEN").containsEntry("localAddress", "0.0.0.0"));
+		assertThat(output.getUnparsedLines()).isZero();
+	}
+
+	@Test
+	void netstatSplitsPortOnTheLastSeparator() {
+		StructuredOutput output = parse(new NetstatParser(),
+				"tcp6       0      0  ::1.631                *.*                    LISTEN\n"
+				+ "tcp4       0      0  192.168.1.5.52344      17.57.146.52.5223      ESTABLISHED\n"
+				+ "tcp6       0      0 :::22                   :::*                    LISTEN\n");
+
+		assertThat(output.getRecords()).hasSize(3);
+		assertThat(output.getRecords().get(0)).containsEntry("localAddress", "::1").containsEntry("localPort", 631L)
+				.containsEntry("remotePort", null);
+		assertThat(output.getRecords().get(1)).containsEntry("localAddress", "192.168.1.5").containsEntry("localPort", 52344L)
+				.containsEntry("remoteAddress", "17.57.146.52").containsEntry("remotePort", 5223L);
+		assertThat(output.getRecords().get(2)).containsEntry("localAddress", "::").containsEntry("localPort", 22L);
+	}
+
+	@Test
+	void pingCollectsRepliesAndSummary() {
+		StructuredOutput output = parse(new PingParser(),
+				"Pinging 8.8.8.8 with 32 bytes of data:\n"
+				+ "Reply from 8.8.8.8: bytes=32 time=12ms TTL=117\n"
+				+ "    Packets: Sent = 1, Received = 1, Lost = 0 (0% loss),\n"
+				+ "    Minimum = 12ms, Maximum = 12ms, Average = 12ms\n");
+
+		assertThat(output.getRecords()).singleElement()
+				.satisfies(r -> assertThat(r).containsEntry("timeMs", 12.0).containsEntry("ttl", 117L));
+		assertThat(output.getSummary()).containsEntry("received", 1L).containsEntry("avgMs", 12.0);
+	}
+
+	@Test
+	void dfConvertsBlocksToBytes() {
+		StructuredOutput output = parse(new DiskUsageParser(),
+				"Filesystem     1K-blocks    Used Available Use% Mounted on\n"
+				+ "/dev/sda1            100      50        50  50% /\n");
+
+		assertThat(output.getRecords()).singleElement()
+				.satisfies(r -> assertThat(r).containsEntry("totalBytes", 102400L).containsEntry("usePercent", 50L)
+						.containsEntry("mountPoint", "/"));
+	}
+
+	@Test
+	void dfWithTypeColumn() {
+		StructuredOutput output = parse(new DiskUsageParser(),
+				"Filesystem     Type 1K-blocks    Used Available Use% Mounted on\n"
+				+ "/dev/sda1      ext4       100      50        50  50% /\n");
+
+		assertThat(output.getRecords()).singleElement()
+				.satisfies(r -> assertThat(r).containsEntry("type", "ext4").containsEntry("totalBytes", 102400L)
+						.containsEntry("usedBytes", 51200L).containsEntry("mountPoint", "/"));
+		assertThat(output.getUnparsedLines()).isZero();
+	}
+
+	@Test
+	void lsAndDirProduceDirectoryEntries() {
+		StructuredOutput ls = parse(new DirectoryListingParser(),
+				"total 8\n"
+				+ "lrwxrwxrwx  1 root root    4 Oct 19 10:00 link -> file\n");
+		StructuredOutput dir = parse(new DirectoryListingParser(),
+				" Directory of C:\\temp\n"
+				+ "10/19/2026  10:00 AM             1,234 file.txt\n");
+
+		assertThat(ls.getRecords()).singleElement()
+				.satisfies(r -> assertThat(r).containsEntry("type", "SYMLINK").containsEntry("target", "file"));
+		assertThat(dir.getRecords()).singleElement()
+				.satisfies(r -> assertThat(r).containsEntry("type", "FILE").containsEntry("size", 1234L));
+		assertThat(ls.getRecords().get(0).keySet()).containsExactlyElementsOf(DirectoryListingParser.FIELDS);
+		assertThat(dir.getRecords().get(0).keySet()).containsExactlyElementsOf(DirectoryListingParser.FIELDS);
+	}
+
+	@Test
+	void simpleListingHasTheSameKeysAsLongFormat() {
+		StructuredOutput simple = parse(new DirectoryListingParser(), "archivo.txt\ncarpeta\n");
+
+		assertThat(simple.getRecords()).hasSize(2).allSatisfy(r -> {
+			assertThat(r.keySet()).containsExactlyElementsOf(DirectoryListingParser.FIELDS);
+			assertThat(r).containsEntry("type", null).containsEntry("size", null);
+		});
+		assertThat(simple.getRecords().get(0)).containsEntry("name", "archivo.txt");
+	}
+
+	@Test
+	void ifconfigAndIpconfigShareSchema() {
+		StructuredOutput ifconfig = parse(new NetworkInterfaceParser(),
+				"eth0: flags=4163<UP,BROADCAST,RUNNING,MULTICAST>  mtu 1500\n"
+				+ "        inet 172.17.0.2  netmask 255.255.0.0  broadcast 172.17.255.255\n");
+		StructuredOutput ipconfig = parse(new NetworkInterfaceParser(),
+				"Ethernet adapter Ethernet:\n\n"
+				+ "   IPv4 Address. . . . . . . . . . . : 192.168.1.10\n"
+				+ "   Subnet Mask . . . . . . . . . . . : 255.255.255.0\n");
+
+		assertThat(ifconfig.getRecords()).singleElement()
+				.satisfies(r -> assertThat(r).containsEntry("ipv4Address", "172.17.0.2").containsEntry("netmask", "255.255.0.0"));
+		assertThat(ipconfig.getRecords()).singleElement()
+				.satisfies(r -> assertThat(r).containsEntry("ipv4Address", "192.168.1.10").containsEntry("netmask", "255.255.255.0"));
+	}
+
+}
@@ -0,0 +1,157 @@
+package app.sencico.edu.pe.gematica.service.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import app.sencico.edu.pe.gematica.config.RateLimitProperties;
+import app.sencico.edu.pe.gematica.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+class RateLimiterTest {
+
+	private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+	private final RateLimiter limiter = new RateLimiter(properties(), new SimpleMeterRegistry(), now::get);
+
+	@AfterEach
+	void tearDown() {
+		limiter.shutdown();
+	}
+
+	@Test
+	void burstIsAllowedThenRejectedUntilRefill() {
+		for (int i = 0; i < 3; i++) {
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			limiter.check(request("cliente-a"), response, "execute", "echo");
+			assertThat(response.getHeader("RateLimit-Remaining")).isEqualTo(String.valueOf(2 - i));
+		}
+
+		assertThatThrownBy(() -> limiter.check(request("cliente-a"), new MockHttpServletResponse(), "execute", "echo"))
+				.isInstanceOf(RateLimitExceededException.class)
+				.satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfterSeconds()).isEqualTo(1));
+
+		// Otro cliente tiene su propio bucket
+		limiter.check(request("cliente-b"), new MockHttpServletResponse(), "execute", "echo");
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		limiter.check(request("cliente-a"), new MockHttpServletResponse(), "execute", "echo");
+	}
+
+	@Test
+	void commandClassLimitAppliesOnTopOfEndpoint() {
+		limiter.check(request("cliente-a"), new MockHttpServletResponse(), "execute", "ping");
+
+		assertThatThrownBy(() -> limiter.check(request("cliente-a"), new MockHttpServletResponse(), "execute", "PING"))
+				.isInstanceOf(RateLimitExceededException.class);
+		limiter.check(request("cliente-a"), new MockHttpServletResponse(), "execute", "echo");
+	}
+
+	@Test
+	void commandClassIgnoresArgumentsPathsAndExtensions() {
+		for (String command : List.of("ping", "ping google.com", "ping -n 100 x", "/usr/bin/ping", "PING.EXE",
+				"C:\\Windows\\System32\\PING.EXE -t x", "\"ping\" x", "echo a && ping x", "echo a;ping x")) {
+			assertThat(limiter.commandClassOf(command)).as(command).isEqualTo("network");
+		}
+		assertThat(limiter.commandClassOf("echo hola")).isNull();
+		assertThat(limiter.commandClassOf("pingx")).isNull();
+		assertThat(limiter.commandClassOf(null)).isNull();
+	}
+
+	@Test
+	void commandWithArgumentsCannotSkipTheClassLimit() {
+		limiter.check(request("cliente-a"), new MockHttpServletResponse(), "execute", "ping google.com");
+
+		assertThatThrownBy(() -> limiter.check(request("cliente-a"), new MockHttpServletResponse(), "execute", "/usr/bin/ping -c 1 x"))
+				.isInstanceOf(RateLimitExceededException.class);
+	}
+
+	@Test
+	void idleBucketsAreEvicted() {
+		limiter.check(request("cliente-a"), new MockHttpServletResponse(), "execute", "echo");
+		limiter.evictIdle();
+		assertThat(limiter.size()).isEqualTo(1);
+
+		now.addAndGet(TimeUnit.MINUTES.toNanos(2));
+		limiter.evictIdle();
+		assertThat(limiter.size()).isZero();
+	}
+
+	@Test
+	void clientFallsBackToRemoteAddress() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setRemoteAddr("10.0.0.7");
+
+		assertThat(limiter.resolveClient(request)).isEqualTo("ip:10.0.0.7");
+		assertThat(limiter.resolveClient(request("cliente-a"))).isEqualTo("client:a");
+		assertThat(limiter.resolveClient(request("desconocida"))).isEqualTo("ip:127.0.0.1");
+	}
+
+	@Test
+	void rotatingUnknownKeysDoesNotBypassTheLimit() {
+		for (int i = 0; i < 3; i++) {
+			limiter.check(request("clave-" + i), new MockHttpServletResponse(), "execute", "echo");
+		}
+
+		assertThatThrownBy(() -> limiter.check(request("clave-3"), new MockHttpServletResponse(), "execute", "echo"))
+				.isInstanceOf(RateLimitExceededException.class);
+		assertThat(limiter.size()).isEqualTo(1);
+	}
+
+	@Test
+	void exemptClientIsNotLimited() {
+		RateLimitProperties properties = properties();
+		properties.setExemptClients(List.of("a"));
+		RateLimiter exempting = new RateLimiter(properties, new SimpleMeterRegistry(), now::get);
+		try {
+			for (int i = 0; i < 10; i++) {
+				exempting.check(request("cliente-a"), new MockHttpServletResponse(), "execute", "ping");
+			}
+			assertThat(exempting.size()).isZero();
+		} finally {
+			exempting.shutdown();
+		}
+	}
+
+	@Test
+	void zeroLimitIsRejectedByValidation() {
+		RateLimitProperties properties = properties();
+		properties.setEndpoints(Map.of("execute", new RateLimitProperties.Limit(0, Duration.ofSeconds(1))));
+
+		try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+			assertThat(factory.getValidator().validate(properties))
+					.extracting(violation -> violation.getPropertyPath().toString())
+					.containsExactly("endpoints[execute].limit");
+		}
+	}
+
+	private static MockHttpServletRequest request(String apiKey) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader("X-API-Key", apiKey);
+		return request;
+	}
+
+	private static RateLimitProperties properties() {
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.setIdleTimeout(Duration.ofMinutes(1));
+		properties.setApiKeys(Map.of("a", "cliente-a", "b", "cliente-b"));
+		properties.setEndpoints(Map.of("execute", new RateLimitProperties.Limit(3, Duration.ofSeconds(3))));
+		RateLimitProperties.CommandClass network = new RateLimitProperties.CommandClass();
+		network.setCommands(List.of("ping"));
+		network.setLimit(1);
+		network.setPeriod(Duration.ofSeconds(10));
+		properties.setCommandClasses(Map.of("network", network));
+		return properties;
+	}
+}
@@ -0,0 +1,125 @@
+package app.sencico.edu.pe.gematica.service.script;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import app.sencico.edu.pe.gematica.config.ScriptProperties;
+import app.sencico.edu.pe.gematica.dto.ScriptInfo;
+import app.sencico.edu.pe.gematica.dto.ScriptUploadRequest;
+import app.sencico.edu.pe.gematica.exception.CommandExecutionException;
+
+class ScriptRegistryTest {
+
+	private static final String SCRIPT = "#!/bin/sh\nprintf '%s|%s\\n' \"$ORIGEN\" \"$2\"\n";
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void sameContentIsRegisteredOnce() {
+		ScriptRegistry registry = registry();
+
+		ScriptRegistry.Registration first = registry.register(upload(SCRIPT, List.of("ORIGEN", "DESTINO")));
+		ScriptRegistry.Registration second = registry.register(upload(SCRIPT, List.of("ORIGEN", "DESTINO")));
+
+		assertThat(first.created()).isTrue();
+		assertThat(second.created()).isFalse();
+		assertThat(second.script().getId()).isEqualTo(first.script().getId()).hasSize(64);
+		assertThat(registry.list()).hasSize(1);
+	}
+
+	@Test
+	void indexIsReloadedFromDiskAndTamperedScriptsDiscarded() throws Exception {
+		ScriptInfo kept = registry().register(upload(SCRIPT, List.of())).script();
+		ScriptInfo tampered = registry().register(upload("echo otro\n", List.of())).script();
+		Files.writeString(directory.resolve(tampered.getId() + ".sh"), "echo modificado\n");
+
+		ScriptRegistry reloaded = registry();
+
+		assertThat(reloaded.get(kept.getId())).isNotNull();
+		assertThat(reloaded.get(tampered.getId())).isNull();
+	}
+
+	@Test
+	void policiesAreCheckedOnRegistration() {
+		ScriptRegistry registry = registry();
+
+		assertThatThrownBy(() -> registry.register(upload("rm -rf /\n", List.of())))
+				.isInstanceOf(CommandExecutionException.class);
+		assertThatThrownBy(() -> registry.register(upload(SCRIPT, List.of("PATH"))))
+				.isInstanceOf(CommandExecutionException.class);
+		assertThatThrownBy(() -> registry.register(upload(SCRIPT, List.of("LD_PRELOAD"))))
+				.isInstanceOf(CommandExecutionException.class);
+		assertThatThrownBy(() -> registry.register(upload(SCRIPT, List.of("origen"))))
+				.isInstanceOf(CommandExecutionException.class);
+	}
+
+	@Test
+	void prepareValidatesParameters() {
+		ScriptRegistry registry = registry();
+		String id = registry.register(upload(SCRIPT, List.of("ORIGEN", "DESTINO"))).script().getId();
+
+		assertThatThrownBy(() -> registry.prepare(id, Map.of("ORIGEN", "a")))
+				.isInstanceOf(CommandExecutionException.class);
+		assertThatThrownBy(() -> registry.prepare(id, Map.of("ORIGEN", "a", "DESTINO", "b", "OTRO", "c")))
+				.isInstanceOf(CommandExecutionException.class);
+		assertThatThrownBy(() -> registry.prepare("0".repeat(64), Map.of()))
+				.isInstanceOf(CommandExecutionException.class);
+	}
+
+	@Test
+	@DisabledOnOs(OS.WINDOWS)
+	void parametersAreNeverInterpretedByTheShell() throws Exception {
+		ScriptRegistry registry = registry();
+		String id = registry.register(upload(SCRIPT, List.of("ORIGEN", "DESTINO"))).script().getId();
+		String hostile = "$(touch " + directory.resolve("inyectado") + "); `id`";
+
+		PreparedScript script = registry.prepare(id, Map.of("ORIGEN", hostile, "DESTINO", "b c"));
+		ProcessBuilder builder = new ProcessBuilder(script.command()).redirectErrorStream(true);
+		builder.environment().putAll(script.environment());
+		Process process = builder.start();
+		String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+		assertThat(process.waitFor()).isZero();
+		assertThat(output).isEqualTo(hostile + "|b c\n");
+		assertThat(directory.resolve("inyectado")).doesNotExist();
+	}
+
+	@Test
+	void cmdParametersRejectMetacharactersAndAreNotPassedAsArguments() {
+		ScriptRegistry registry = registry();
+		String id = registry.register(new ScriptUploadRequest("prueba", "cmd", "@echo %ORIGEN%\r\n", List.of("ORIGEN")))
+				.script().getId();
+
+		for (String hostile : List.of("x & calc", "a | b", "a > b", "a < b", "a ^ b", "%PATH%", "\"a\"", "(a)", "a\r\nb")) {
+			assertThatThrownBy(() -> registry.prepare(id, Map.of("ORIGEN", hostile)))
+					.isInstanceOf(CommandExecutionException.class);
+		}
+		PreparedScript script = registry.prepare(id, Map.of("ORIGEN", "C:\\datos\\capa 1.shp"));
+		assertThat(script.environment()).containsEntry("ORIGEN", "C:\\datos\\capa 1.shp");
+		assertThat(script.command()).doesNotContain("C:\\datos\\capa 1.shp").startsWith("cmd", "/d", "/c");
+	}
+
+	private ScriptRegistry registry() {
+		ScriptProperties properties = new ScriptProperties();
+		properties.setDirectory(directory.toString());
+		properties.setDeniedPatterns(List.of("rm\\s+-rf\\s+/(\\s|$)"));
+		return new ScriptRegistry(properties, Jackson2ObjectMapperBuilder.json().build());
+	}
+
+	private static ScriptUploadRequest upload(String content, List<String> parameters) {
+		return new ScriptUploadRequest("prueba", "sh", content, parameters);
+	}
+}
@@ -0,0 +1,11 @@
+#!/bin/sh
+# Emite un volumen controlado de salida
+# Uso: emit.sh <lineas stdout> [bytes por linea] [lineas stderr]
+lines=${1:-100}
+width=${2:-80}
+errors=${3:-0}
+line=$(head -c "$width" /dev/zero | tr '\0' 'x')
+yes "$line" | head -n "$lines"
+if [ "$errors" -gt 0 ]; then
+    yes "$line" | head -n "$errors" >&2
+fi
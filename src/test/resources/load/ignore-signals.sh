@@ -0,0 +1,8 @@
+#!/bin/sh
+# Ignora SIGTERM/SIGINT/SIGHUP; solo termina con SIGKILL o al agotar el tiempo
+# Uso: ignore-signals.sh [segundos]
+trap '' TERM INT HUP
+end=$(( $(date +%s) + ${1:-60} ))
+while [ "$(date +%s)" -lt "$end" ]; do
+    sleep 1
+done
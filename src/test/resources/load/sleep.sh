@@ -0,0 +1,4 @@
+#!/bin/sh
+# Duerme sin producir salida
+# Uso: sleep.sh [segundos]
+sleep "${1:-1}"
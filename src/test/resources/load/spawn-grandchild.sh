@@ -0,0 +1,16 @@
+#!/bin/sh
+# Lanza un proceso nieto que sobrevive al script
+# Uso: spawn-grandchild.sh [segundos] [wait|detach]
+#   wait   - el script espera al nieto (el nieto hereda stdout)
+#   detach - el script termina enseguida y el nieto queda huerfano sin stdout
+# El nieto lleva la ruta de este script en su linea de comandos para poder detectarlo como fuga.
+seconds=${1:-30}
+mode=${2:-wait}
+if [ "$mode" = "detach" ]; then
+    sh -c 'trap "" HUP; sleep "$1"; :' "$0" "$seconds" >/dev/null 2>&1 &
+    echo "nieto $!"
+else
+    sh -c 'sleep "$1"; :' "$0" "$seconds" &
+    echo "nieto $!"
+    wait
+fi